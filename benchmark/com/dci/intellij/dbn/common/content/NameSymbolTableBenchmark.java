@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.common.content;
+
+import gnu.trove.THashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the {@link NameSymbolTable} effects:
+ * - heap held by the names of a data dictionary where the same table and column names show up in many schemas,
+ *   with every name read as a new string (as returned by the drivers) and with the names interned
+ * - name lookup rate of the case insensitive index, compared with upper-casing the names on index and lookup
+ *
+ * Usage: NameSymbolTableBenchmark [schemaCount] [tableCount] [columnsPerTable]
+ */
+public class NameSymbolTableBenchmark {
+    private static final int COLUMN_NAMES = 300;
+    private static final int LOOKUPS = 5000000;
+
+    public static void main(String[] args) {
+        int schemaCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int tableCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int columnsPerTable = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        long baseline = usedMemory();
+        List<String> names = readNames(schemaCount, tableCount, columnsPerTable, null);
+        long plainMemory = usedMemory() - baseline;
+        System.out.println(names.size() + " names, not interned: " + plainMemory / 1024 + " KB");
+        names = null;
+
+        baseline = usedMemory();
+        NameSymbolTable symbolTable = new NameSymbolTable();
+        names = readNames(schemaCount, tableCount, columnsPerTable, symbolTable);
+        long internedMemory = usedMemory() - baseline;
+        System.out.println(names.size() + " names, interned (" + symbolTable.size() + " symbols): " + internedMemory / 1024 + " KB");
+
+        // identifiers as typed in the editor, in both cases
+        char[][] lookupNames = new char[tableCount][];
+        for (int i = 0; i < tableCount; i++) {
+            String name = "TABLE_" + i;
+            lookupNames[i] = (i % 2 == 0 ? name : name.toLowerCase()).toCharArray();
+        }
+
+        Map<String, String> caseInsensitiveIndex = new THashMap<String, String>(tableCount, NameSymbolTable.CASE_INSENSITIVE);
+        Map<String, String> upperCaseIndex = new HashMap<String, String>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            String name = symbolTable.intern("TABLE_" + i);
+            caseInsensitiveIndex.put(name, name);
+            upperCaseIndex.put(name.toUpperCase(), name);
+        }
+
+        for (int run = 0; run < 5; run++) {
+            Random random = new Random(0);
+            int found = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                String name = new String(lookupNames[random.nextInt(tableCount)]);
+                if (caseInsensitiveIndex.get(name) != null) found++;
+            }
+            long caseInsensitiveTime = System.nanoTime() - start;
+
+            random = new Random(0);
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                String name = new String(lookupNames[random.nextInt(tableCount)]);
+                if (upperCaseIndex.get(name.toUpperCase()) != null) found++;
+            }
+            long upperCaseTime = System.nanoTime() - start;
+
+            System.out.println("run " + run + " (" + found + " found): " +
+                    "case insensitive index " + rate(caseInsensitiveTime) + " lookups/s, " +
+                    "upper-cased names " + rate(upperCaseTime) + " lookups/s");
+        }
+    }
+
+    /**
+     * Names as loaded from the data dictionary: the table names repeat in every schema, the column names in every table.
+     */
+    private static List<String> readNames(int schemaCount, int tableCount, int columnsPerTable, NameSymbolTable symbolTable) {
+        Random random = new Random(0);
+        List<String> names = new ArrayList<String>(schemaCount * tableCount * (columnsPerTable + 1));
+        for (int schema = 0; schema < schemaCount; schema++) {
+            for (int table = 0; table < tableCount; table++) {
+                names.add(read("TABLE_" + table, symbolTable));
+                for (int column = 0; column < columnsPerTable; column++) {
+                    names.add(read("COLUMN_" + random.nextInt(COLUMN_NAMES), symbolTable));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String read(String name, NameSymbolTable symbolTable) {
+        // drivers return a new instance for every value read
+        String value = new String(name.toCharArray());
+        return symbolTable == null ? value : symbolTable.intern(value);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long rate(long nanos) {
+        return LOOKUPS * 1000000000L / nanos;
+    }
+}
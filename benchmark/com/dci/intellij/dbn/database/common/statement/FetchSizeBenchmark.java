@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.database.common.statement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Reads a data dictionary sized result set through a stub JDBC connection simulating the network latency
+ * of a fetch round-trip, with the fetch sizes used by the metadata queries:
+ * - 0: driver default (10 rows per round-trip, as the Oracle thin driver)
+ * - 500: default "Metadata Fetch Size" of the connections
+ * - 2000: "fetch-size" of the bulk column, relation and argument queries
+ *
+ * Usage: FetchSizeBenchmark [rowCount] [roundTripMillis]
+ */
+public class FetchSizeBenchmark {
+    private static final int DRIVER_DEFAULT_FETCH_SIZE = 10;
+    private static final int[] FETCH_SIZES = {0, 100, 500, 2000};
+
+    public static void main(String[] args) throws SQLException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        long roundTripMillis = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        Connection connection = createConnection(rowCount, roundTripMillis);
+        for (int fetchSize : FETCH_SIZES) {
+            long start = System.nanoTime();
+            Statement statement = connection.createStatement();
+            if (fetchSize > 0) statement.setFetchSize(fetchSize);
+            statement.execute("select * from ALL_TAB_COLUMNS");
+            ResultSet resultSet = statement.getResultSet();
+            int rows = 0;
+            int roundTrips = 0;
+            try {
+                while (resultSet.next()) {
+                    resultSet.getString("COLUMN_NAME");
+                    rows++;
+                }
+                roundTrips = resultSet.getInt(0);
+            } finally {
+                resultSet.close();
+                statement.close();
+            }
+            long time = System.nanoTime() - start;
+            System.out.println(
+                    "fetch size " + (fetchSize == 0 ? "default (" + DRIVER_DEFAULT_FETCH_SIZE + ")" : fetchSize) + ": " +
+                    rows + " rows, " + roundTrips + " round-trips, " + String.format("%.1f", time / 1000000.0) + " ms");
+        }
+    }
+
+    /**
+     * Stub connection returning "rowCount" rows for any query. Each fetch of "fetch size" rows costs one round-trip.
+     * The result set reports the number of round-trips it took through getInt(0).
+     */
+    private static Connection createConnection(final int rowCount, final long roundTripMillis) {
+        return (Connection) createProxy(Connection.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.getName().equals("createStatement")) return createStatement(rowCount, roundTripMillis);
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static Statement createStatement(final int rowCount, final long roundTripMillis) {
+        return (Statement) createProxy(Statement.class, new InvocationHandler() {
+            private int fetchSize = DRIVER_DEFAULT_FETCH_SIZE;
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws InterruptedException {
+                String methodName = method.getName();
+                if (methodName.equals("setFetchSize")) {
+                    fetchSize = (Integer) args[0];
+                    return null;
+                }
+                if (methodName.equals("execute")) {
+                    // execution and first fetch
+                    Thread.sleep(roundTripMillis);
+                    return Boolean.TRUE;
+                }
+                if (methodName.equals("getResultSet")) return createResultSet(rowCount, fetchSize, roundTripMillis);
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static ResultSet createResultSet(final int rowCount, final int fetchSize, final long roundTripMillis) {
+        return (ResultSet) createProxy(ResultSet.class, new InvocationHandler() {
+            private int row;
+            private int fetched = fetchSize;
+            private int roundTrips = 1;
+
+            public Object invoke(Object proxy, Method method, Object[] args) throws InterruptedException {
+                String methodName = method.getName();
+                if (methodName.equals("next")) {
+                    if (row == rowCount) return Boolean.FALSE;
+                    if (row == fetched) {
+                        Thread.sleep(roundTripMillis);
+                        fetched += fetchSize;
+                        roundTrips++;
+                    }
+                    row++;
+                    return Boolean.TRUE;
+                }
+                if (methodName.equals("getString")) return "COLUMN_" + row;
+                if (methodName.equals("getInt")) return roundTrips;
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object createProxy(Class type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(FetchSizeBenchmark.class.getClassLoader(), new Class[]{type}, handler);
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        String methodName = method.getName();
+        if (methodName.equals("hashCode")) return System.identityHashCode(proxy);
+        if (methodName.equals("equals")) return proxy == args[0];
+        if (methodName.equals("toString")) return "stub";
+        Class returnType = method.getReturnType();
+        if (returnType == boolean.class) return Boolean.FALSE;
+        if (returnType == int.class) return 0;
+        if (returnType == long.class) return 0L;
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.navigation;
+
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import gnu.trove.THashSet;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Measures the "Go to database object" lookups against an {@link ObjectNameIndex} holding 500k synthetic objects:
+ * - building the index and the (cached) name array
+ * - a middle match over the name array, as done by the chooser on every keystroke
+ * - the exact name lookups resolving the chosen names to objects
+ *
+ * Usage: ObjectNameIndexBenchmark [objectCount]
+ */
+public class ObjectNameIndexBenchmark {
+    private static final String[] PREFIXES = {"CUSTOMER", "ORDER", "INVOICE", "PRODUCT", "SHIPMENT", "ACCOUNT", "PAYMENT", "EMPLOYEE", "AUDIT", "STOCK"};
+    private static final String[] SUFFIXES = {"", "_HIST", "_ITEM", "_STATUS", "_ARCHIVE", "_LOG", "_TMP", "_V"};
+    private static final DBObjectType[] OBJECT_TYPES = {DBObjectType.TABLE, DBObjectType.VIEW, DBObjectType.COLUMN, DBObjectType.INDEX, DBObjectType.FUNCTION, DBObjectType.PROCEDURE};
+    private static final String[] PATTERNS = {"c", "ord", "_hist", "item_1", "status_12345", "xyz"};
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+    private static final int LOOKUPS = 1000000;
+
+    public static void main(String[] args) {
+        int objectCount = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        List<DBObject> objects = createObjects(objectCount);
+        Set<DBObjectType> objectTypes = new THashSet<DBObjectType>();
+        Collections.addAll(objectTypes, OBJECT_TYPES);
+
+        ObjectNameIndex index = new ObjectNameIndex();
+        long start = System.nanoTime();
+        index.update(Collections.<DBObject>emptyList(), objects);
+        print("index build (" + objectCount + " objects)", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        String[] names = index.getNames(objectTypes);
+        print("getNames, uncached (" + names.length + " names)", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            index.getNames(objectTypes);
+        }
+        print("getNames, cached (per call)", (System.nanoTime() - start) / 1000);
+
+        for (String pattern : PATTERNS) {
+            int matches = 0;
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                matches = middleMatch(names, pattern);
+            }
+            long best = Long.MAX_VALUE;
+            long total = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                start = System.nanoTime();
+                middleMatch(names, pattern);
+                long time = System.nanoTime() - start;
+                best = Math.min(best, time);
+                total += time;
+            }
+            print("middle match \"" + pattern + "\" (" + matches + " matches) avg", total / MEASURED_RUNS);
+            print("middle match \"" + pattern + "\" best", best);
+        }
+
+        Random random = new Random(0);
+        int found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.getObjects(names[random.nextInt(names.length)], objectTypes).size();
+        }
+        long time = System.nanoTime() - start;
+        print("getObjects (per lookup, " + found + " objects found)", time / LOOKUPS);
+    }
+
+    /**
+     * Stand-in for the platform chooser matching: case insensitive "contains" over all the names.
+     */
+    private static int middleMatch(String[] names, String pattern) {
+        int matches = 0;
+        int patternLength = pattern.length();
+        for (String name : names) {
+            int last = name.length() - patternLength;
+            for (int i = 0; i <= last; i++) {
+                if (name.regionMatches(true, i, pattern, 0, patternLength)) {
+                    matches++;
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static List<DBObject> createObjects(int count) {
+        Random random = new Random(0);
+        List<DBObject> objects = new ArrayList<DBObject>(count);
+        for (int i = 0; i < count; i++) {
+            String name = PREFIXES[random.nextInt(PREFIXES.length)] + SUFFIXES[random.nextInt(SUFFIXES.length)] + "_" + i;
+            objects.add(createObject(name, OBJECT_TYPES[random.nextInt(OBJECT_TYPES.length)]));
+        }
+        return objects;
+    }
+
+    private static DBObject createObject(final String name, final DBObjectType objectType) {
+        InvocationHandler handler = new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String methodName = method.getName();
+                if (methodName.equals("getName")) return name;
+                if (methodName.equals("getObjectType")) return objectType;
+                if (methodName.equals("isDisposed")) return Boolean.FALSE;
+                if (methodName.equals("hashCode")) return System.identityHashCode(proxy);
+                if (methodName.equals("equals")) return proxy == args[0];
+                if (methodName.equals("toString")) return name;
+                throw new UnsupportedOperationException(methodName);
+            }
+        };
+        return (DBObject) Proxy.newProxyInstance(DBObject.class.getClassLoader(), new Class[]{DBObject.class}, handler);
+    }
+
+    private static void print(String label, long nanos) {
+        System.out.println(label + ": " + String.format("%.3f", nanos / 1000000.0) + " ms");
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common;
+
+import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
+import com.dci.intellij.dbn.editor.DBContentType;
+import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
+import com.dci.intellij.dbn.object.common.property.DBObjectProperties;
+import com.dci.intellij.dbn.object.common.property.DBObjectProperty;
+import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
+import com.dci.intellij.dbn.object.common.status.DBObjectStatusHolder;
+import gnu.trove.THashSet;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+/**
+ * Measures the bytes per object of the per-object structures of 100k synthetic schema objects (half tables,
+ * half packages), in their current form and in the form they had before:
+ * - the referenced / referencing object lists, now created on first access (0 bytes for the objects never looked at)
+ * - the object properties (bit mask, previously a set of properties)
+ * - the object status (bit sets, previously a set of status entries)
+ *
+ * Usage: ObjectFootprintBenchmark [objectCount]
+ */
+public class ObjectFootprintBenchmark {
+    public static void main(String[] args) {
+        int objectCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+        BrowserTreeNode treeParent = createTreeParent();
+        Object[] holders = new Object[objectCount];
+        long baseline = usedMemory();
+        for (int i = 0; i < objectCount; i++) {
+            // as DBSchemaObjectImpl used to do on creation
+            DBObjectListContainer childObjects = new DBObjectListContainer(treeParent);
+            childObjects.createObjectList(DBObjectType.ANY, treeParent, null, false, true);
+            childObjects.createObjectList(DBObjectType.ANY, treeParent, null, false, true);
+            holders[i] = childObjects;
+        }
+        print("dependency lists, eager (before)", usedMemory() - baseline, holders);
+        print("dependency lists, on first access (now)", 0, holders);
+
+        holders = new Object[objectCount];
+        baseline = usedMemory();
+        for (int i = 0; i < objectCount; i++) {
+            LegacyObjectProperties properties = new LegacyObjectProperties();
+            properties.set(DBObjectProperty.EDITABLE);
+            properties.set(DBObjectProperty.REFERENCEABLE);
+            properties.set(DBObjectProperty.SCHEMA_OBJECT);
+            holders[i] = properties;
+        }
+        print("properties, set (before)", usedMemory() - baseline, holders);
+
+        holders = new Object[objectCount];
+        baseline = usedMemory();
+        for (int i = 0; i < objectCount; i++) {
+            DBObjectProperties properties = new DBObjectProperties();
+            properties.set(DBObjectProperty.EDITABLE);
+            properties.set(DBObjectProperty.REFERENCEABLE);
+            properties.set(DBObjectProperty.SCHEMA_OBJECT);
+            holders[i] = properties;
+        }
+        print("properties, bit mask (now)", usedMemory() - baseline, holders);
+
+        holders = new Object[objectCount];
+        baseline = usedMemory();
+        for (int i = 0; i < objectCount; i++) {
+            LegacyObjectStatusHolder status;
+            if (i % 2 == 0) {
+                status = new LegacyObjectStatusHolder();
+                status.set(DBContentType.DATA, DBObjectStatus.PRESENT, true);
+                status.set(DBContentType.DATA, DBObjectStatus.VALID, true);
+            } else {
+                status = new LegacyObjectStatusHolder();
+                for (DBContentType contentType : DBContentType.CODE_SPEC_AND_BODY.getSubContentTypes()) {
+                    status.set(contentType, DBObjectStatus.VALID, true);
+                    status.set(contentType, DBObjectStatus.DEBUG, false);
+                }
+            }
+            holders[i] = status;
+        }
+        print("status, set of entries (before)", usedMemory() - baseline, holders);
+
+        holders = new Object[objectCount];
+        baseline = usedMemory();
+        for (int i = 0; i < objectCount; i++) {
+            DBObjectStatusHolder status;
+            if (i % 2 == 0) {
+                status = new DBObjectStatusHolder(DBContentType.DATA);
+                status.set(DBObjectStatus.PRESENT, true);
+                status.set(DBObjectStatus.VALID, true);
+            } else {
+                status = new DBObjectStatusHolder(DBContentType.CODE_SPEC_AND_BODY);
+                status.set(DBObjectStatus.VALID, true);
+                status.set(DBObjectStatus.DEBUG, false);
+            }
+            holders[i] = status;
+        }
+        print("status, bit sets (now)", usedMemory() - baseline, holders);
+    }
+
+    /**
+     * DBObjectProperties before the bit mask.
+     */
+    private static class LegacyObjectProperties {
+        private Set<DBObjectProperty> properties;
+
+        public void set(DBObjectProperty property) {
+            if (properties == null) {
+                properties = new THashSet<DBObjectProperty>();
+            }
+            properties.add(property);
+        }
+    }
+
+    /**
+     * DBObjectStatusHolder before the bit sets (the status entry creation path only).
+     */
+    private static class LegacyObjectStatusHolder {
+        private Set<StatusEntry> statusEntries;
+
+        public void set(DBContentType contentType, DBObjectStatus status, boolean value) {
+            if (statusEntries != null) {
+                for (StatusEntry statusEntry : statusEntries) {
+                    if (statusEntry.contentType == contentType && statusEntry.status == status) {
+                        statusEntry.value = value;
+                        return;
+                    }
+                }
+            }
+            if (statusEntries == null) statusEntries = new THashSet<StatusEntry>();
+            statusEntries.add(new StatusEntry(contentType, status, value));
+        }
+
+        private class StatusEntry {
+            private DBContentType contentType;
+            private DBObjectStatus status;
+            private boolean value;
+
+            private StatusEntry(DBContentType contentType, DBObjectStatus status, boolean value) {
+                this.contentType = contentType;
+                this.status = status;
+                this.value = value;
+            }
+        }
+    }
+
+    private static BrowserTreeNode createTreeParent() {
+        return (BrowserTreeNode) Proxy.newProxyInstance(ObjectFootprintBenchmark.class.getClassLoader(), new Class[]{BrowserTreeNode.class}, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String methodName = method.getName();
+                if (methodName.equals("hashCode")) return System.identityHashCode(proxy);
+                if (methodName.equals("equals")) return proxy == args[0];
+                if (method.getReturnType() == int.class) return 0;
+                if (method.getReturnType() == boolean.class) return Boolean.FALSE;
+                return null;
+            }
+        });
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Takes the measured objects, so that they are still reachable when the heap is measured.
+     */
+    private static void print(String label, long bytes, Object[] objects) {
+        System.out.println(label + ": " + bytes / objects.length + " bytes per object");
+    }
+}
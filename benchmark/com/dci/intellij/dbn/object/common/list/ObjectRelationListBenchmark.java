@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.list;
+
+import com.dci.intellij.dbn.common.filter.Filter;
+import com.dci.intellij.dbn.connection.GenericDatabaseElement;
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectRelationType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the source / target name lookups of a {@link DBObjectRelationListImpl} holding 500k constraint-column
+ * relations with the linear scan they replaced.
+ *
+ * Usage: ObjectRelationListBenchmark [relationCount]
+ */
+public class ObjectRelationListBenchmark {
+    private static final int INDEXED_LOOKUPS = 1000000;
+    private static final int SCANNED_LOOKUPS = 200;
+
+    public static void main(String[] args) {
+        int relationCount = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        int constraintCount = relationCount / 2;
+        int columnCount = relationCount / 4;
+
+        List<DBObject> constraints = createObjects("CONSTRAINT_", constraintCount);
+        List<DBObject> columns = createObjects("COLUMN_", columnCount);
+        Random random = new Random(0);
+        final List<DBObjectRelation> relations = new ArrayList<DBObjectRelation>(relationCount);
+        for (int i = 0; i < relationCount; i++) {
+            relations.add(createRelation(constraints.get(i % constraintCount), columns.get(random.nextInt(columnCount))));
+        }
+
+        DBObjectRelationListImpl<DBObjectRelation> relationList = new DBObjectRelationListImpl<DBObjectRelation>(
+                DBObjectRelationType.CONSTRAINT_COLUMN, createParent(), "constraint relations", null, null) {
+            {
+                // loaded state, without the loader and the ui notifications
+                elements = relations;
+            }
+
+            @Override
+            public boolean shouldLoad() {
+                return false;
+            }
+
+            @Override
+            public Filter getFilter() {
+                return null;
+            }
+        };
+
+        long start = System.nanoTime();
+        relationList.getRelationBySourceName("CONSTRAINT_0");
+        print("source name index build (" + relationCount + " relations)", System.nanoTime() - start);
+        start = System.nanoTime();
+        relationList.getRelationByTargetName("COLUMN_0");
+        print("target name index build", System.nanoTime() - start);
+
+        int found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < INDEXED_LOOKUPS; i++) {
+            found += relationList.getRelationBySourceName("CONSTRAINT_" + random.nextInt(constraintCount)).size();
+            found += relationList.getRelationByTargetName("COLUMN_" + random.nextInt(columnCount)).size();
+        }
+        print("indexed lookup (per source + target lookup, " + found + " relations found)", (System.nanoTime() - start) / INDEXED_LOOKUPS);
+
+        found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < SCANNED_LOOKUPS; i++) {
+            found += scanBySourceName(relations, "CONSTRAINT_" + random.nextInt(constraintCount)).size();
+            found += scanByTargetName(relations, "COLUMN_" + random.nextInt(columnCount)).size();
+        }
+        print("linear scan (per source + target lookup, " + found + " relations found)", (System.nanoTime() - start) / SCANNED_LOOKUPS);
+    }
+
+    private static List<DBObjectRelation> scanBySourceName(List<DBObjectRelation> relations, String sourceName) {
+        List<DBObjectRelation> objectRelations = new ArrayList<DBObjectRelation>();
+        for (DBObjectRelation objectRelation : relations) {
+            if (objectRelation.getSourceObject().getName().equals(sourceName)) {
+                objectRelations.add(objectRelation);
+            }
+        }
+        return objectRelations;
+    }
+
+    private static List<DBObjectRelation> scanByTargetName(List<DBObjectRelation> relations, String targetName) {
+        List<DBObjectRelation> objectRelations = new ArrayList<DBObjectRelation>();
+        for (DBObjectRelation objectRelation : relations) {
+            if (objectRelation.getTargetObject().getName().equals(targetName)) {
+                objectRelations.add(objectRelation);
+            }
+        }
+        return objectRelations;
+    }
+
+    private static List<DBObject> createObjects(String prefix, int count) {
+        List<DBObject> objects = new ArrayList<DBObject>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = prefix + i;
+            objects.add((DBObject) createProxy(DBObject.class, new InvocationHandler() {
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    return method.getName().equals("getName") ? name : defaultValue(proxy, method, args);
+                }
+            }));
+        }
+        return objects;
+    }
+
+    private static DBObjectRelation createRelation(final DBObject sourceObject, final DBObject targetObject) {
+        return (DBObjectRelation) createProxy(DBObjectRelation.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                String methodName = method.getName();
+                if (methodName.equals("getSourceObject")) return sourceObject;
+                if (methodName.equals("getTargetObject")) return targetObject;
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static GenericDatabaseElement createParent() {
+        return (GenericDatabaseElement) createProxy(GenericDatabaseElement.class, new InvocationHandler() {
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static Object createProxy(Class type, InvocationHandler handler) {
+        return Proxy.newProxyInstance(ObjectRelationListBenchmark.class.getClassLoader(), new Class[]{type}, handler);
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        String methodName = method.getName();
+        if (methodName.equals("hashCode")) return System.identityHashCode(proxy);
+        if (methodName.equals("equals")) return proxy == args[0];
+        if (methodName.equals("isDisposed")) return Boolean.FALSE;
+        return null;
+    }
+
+    private static void print(String label, long nanos) {
+        System.out.println(label + ": " + String.format("%.4f", nanos / 1000000.0) + " ms");
+    }
+}
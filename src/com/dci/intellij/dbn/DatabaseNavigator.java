@@ -19,6 +19,7 @@ package com.dci.intellij.dbn;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
 import com.intellij.ide.fileTemplates.FileTemplateManager;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.ApplicationComponent;
@@ -41,6 +42,7 @@ public class DatabaseNavigator implements ApplicationComponent, JDOMExternalizab
 	}
 
 	private boolean debugModeEnabled;
+	private int slowQueryThreshold = 5000;
 
 	@Override
 	public void initComponent()
@@ -50,6 +52,7 @@ public class DatabaseNavigator implements ApplicationComponent, JDOMExternalizab
 		{
 			templateManager.addTemplate("SQL Script", "sql");
 		}
+		StatementExecutionStatistics.getInstance().setSlowQueryThreshold(slowQueryThreshold);
 	}
 
 	public boolean isDebugModeEnabled()
@@ -63,6 +66,20 @@ public class DatabaseNavigator implements ApplicationComponent, JDOMExternalizab
 		SettingsUtil.isDebugEnabled = debugModeEnabled;
 	}
 
+	/**
+	 * Execution time (milliseconds) above which data dictionary statements are logged. 0 disables the slow query log.
+	 */
+	public int getSlowQueryThreshold()
+	{
+		return slowQueryThreshold;
+	}
+
+	public void setSlowQueryThreshold(int slowQueryThreshold)
+	{
+		this.slowQueryThreshold = slowQueryThreshold;
+		StatementExecutionStatistics.getInstance().setSlowQueryThreshold(slowQueryThreshold);
+	}
+
 	@Override
 	public void disposeComponent()
 	{
@@ -73,12 +90,14 @@ public class DatabaseNavigator implements ApplicationComponent, JDOMExternalizab
 	{
 		debugModeEnabled = SettingsUtil.getBoolean(element, "enable-debug-mode", false);
 		SettingsUtil.isDebugEnabled = debugModeEnabled;
+		setSlowQueryThreshold(SettingsUtil.getInteger(element, "slow-query-threshold", slowQueryThreshold));
 	}
 
 	@Override
 	public void writeExternal(Element element) throws WriteExternalException
 	{
 		SettingsUtil.setBoolean(element, "enable-debug-mode", debugModeEnabled);
+		SettingsUtil.setInteger(element, "slow-query-threshold", slowQueryThreshold);
 	}
 }
 
@@ -16,13 +16,23 @@
 
 package com.dci.intellij.dbn.browser;
 
+import com.dci.intellij.dbn.browser.model.BrowserTreeChangeListener;
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
+import com.dci.intellij.dbn.common.event.EventManager;
 import com.dci.intellij.dbn.common.filter.Filter;
+import com.dci.intellij.dbn.common.thread.SimpleLaterInvocator;
+import com.dci.intellij.dbn.common.ui.tree.TreeEventType;
 import com.dci.intellij.dbn.object.common.DBObjectBundle;
+import com.intellij.openapi.project.Project;
+import gnu.trove.THashMap;
+import gnu.trove.TIntObjectHashMap;
 
 import javax.swing.tree.TreePath;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public class DatabaseBrowserUtils {
     public static TreePath createTreePath(BrowserTreeNode treeNode) {
@@ -65,4 +75,50 @@ public class DatabaseBrowserUtils {
         }
         return treeNodeList;
     }
+
+    /**
+     * Publishes the change of the given nodes, as one NODES_CHANGED event per tree parent (dispatched in the UI thread).
+     */
+    public static void notifyNodesChanged(final Project project, Collection<? extends BrowserTreeNode> treeNodes) {
+        if (project == null || treeNodes.isEmpty()) return;
+
+        final Map<BrowserTreeNode, List<BrowserTreeNode>> changedNodes = new THashMap<BrowserTreeNode, List<BrowserTreeNode>>();
+        for (BrowserTreeNode treeNode : treeNodes) {
+            BrowserTreeNode treeParent = treeNode.getTreeParent();
+            if (treeParent != null) {
+                List<BrowserTreeNode> children = changedNodes.get(treeParent);
+                if (children == null) {
+                    children = new ArrayList<BrowserTreeNode>();
+                    changedNodes.put(treeParent, children);
+                }
+                children.add(treeNode);
+            }
+        }
+
+        new SimpleLaterInvocator() {
+            public void run() {
+                if (project.isDisposed()) return;
+                BrowserTreeChangeListener listener = EventManager.notify(project, BrowserTreeChangeListener.TOPIC);
+                for (BrowserTreeNode treeParent : changedNodes.keySet()) {
+                    if (treeParent.isDisposed()) continue;
+
+                    List<BrowserTreeNode> children = changedNodes.get(treeParent);
+                    TIntObjectHashMap<BrowserTreeNode> indexedChildren = new TIntObjectHashMap<BrowserTreeNode>();
+                    for (BrowserTreeNode child : children) {
+                        int index = treeParent.getIndexOfTreeChild(child);
+                        if (index > -1) indexedChildren.put(index, child);
+                    }
+                    if (indexedChildren.isEmpty()) continue;
+
+                    int[] childIndices = indexedChildren.keys();
+                    Arrays.sort(childIndices);
+                    BrowserTreeNode[] changedChildren = new BrowserTreeNode[childIndices.length];
+                    for (int i = 0; i < childIndices.length; i++) {
+                        changedChildren[i] = indexedChildren.get(childIndices[i]);
+                    }
+                    listener.nodesChanged(treeParent, TreeEventType.NODES_CHANGED, childIndices, changedChildren);
+                }
+            }
+        }.start();
+    }
 }
@@ -26,4 +26,11 @@ public interface BrowserTreeChangeListener extends EventListener{
 
     void nodeChanged(BrowserTreeNode node, TreeEventType eventType);
 
+    /**
+     * Fine grained notification of children added to, removed from or changed in the given node.
+     * Indices are ascending and refer to the children list after the change (NODES_ADDED, NODES_CHANGED)
+     * or before the change (NODES_REMOVED).
+     */
+    void nodesChanged(BrowserTreeNode parentNode, TreeEventType eventType, int[] childIndices, BrowserTreeNode[] children);
+
 }
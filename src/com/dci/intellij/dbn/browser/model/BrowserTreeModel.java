@@ -59,6 +59,13 @@ public abstract class BrowserTreeModel implements TreeModel, Disposable {
         }
     }
 
+    public void notifyListeners(final BrowserTreeNode parentNode, final TreeEventType eventType, int[] childIndices, BrowserTreeNode[] children) {
+        if (!isDisposed && !parentNode.isDisposed()) {
+            TreePath treePath = DatabaseBrowserUtils.createTreePath(parentNode);
+            TreeUtil.notifyTreeModelListeners(this, treeModelListeners, treePath, eventType, childIndices, children);
+        }
+    }
+
     public Project getProject() {
         return root.getProject();
     }
@@ -156,6 +163,13 @@ public abstract class BrowserTreeModel implements TreeModel, Disposable {
                 notifyListeners(node, eventType);
             }
         }
+
+        @Override
+        public void nodesChanged(BrowserTreeNode parentNode, TreeEventType eventType, int[] childIndices, BrowserTreeNode[] children) {
+            if (contains(parentNode)) {
+                notifyListeners(parentNode, eventType, childIndices, children);
+            }
+        }
     };
 
 
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.browser.model;
+
+import com.dci.intellij.dbn.code.sql.color.SQLTextAttributesKeys;
+import com.dci.intellij.dbn.common.content.DynamicContent;
+import com.dci.intellij.dbn.common.content.DynamicContentType;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.GenericDatabaseElement;
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.FileStatus;
+
+import javax.swing.Icon;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Last child of a paged tree node, standing for the children which are not materialized yet.
+ * It shows the alphabetical range and the number of the remaining children; the next page is loaded
+ * when the node is selected (or activated).
+ */
+public class LoadMoreTreeNode implements BrowserTreeNode {
+    private BrowserTreeNode parent;
+    private int remainingCount;
+    private String firstName;
+    private String lastName;
+    private boolean loadRequested;
+    private boolean disposed;
+
+    public LoadMoreTreeNode(BrowserTreeNode parent) {
+        this.parent = parent;
+    }
+
+    public void update(int remainingCount, String firstName, String lastName) {
+        this.remainingCount = remainingCount;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.loadRequested = false;
+    }
+
+    /**
+     * Returns true only for the first request after the last update, so the page is loaded once
+     * no matter how often the node gets selected in the meantime.
+     */
+    public synchronized boolean requestLoad() {
+        if (loadRequested) return false;
+        loadRequested = true;
+        return true;
+    }
+
+    public int getRemainingCount() {
+        return remainingCount;
+    }
+
+    public boolean isTreeStructureLoaded() {
+        return true;
+    }
+
+    public void initTreeElement() {}
+
+    public boolean canExpand() {
+        return false;
+    }
+
+    public int getTreeDepth() {
+        return parent.getTreeDepth() + 1;
+    }
+
+    public BrowserTreeNode getTreeChild(int index) {
+        return null;
+    }
+
+    public BrowserTreeNode getTreeParent() {
+        return parent;
+    }
+
+    public List<? extends BrowserTreeNode> getTreeChildren() {
+        return Collections.emptyList();
+    }
+
+    public void rebuildTreeChildren() {
+    }
+
+    public int getTreeChildCount() {
+        return 0;
+    }
+
+    public boolean isLeafTreeElement() {
+        return true;
+    }
+
+    public int getIndexOfTreeChild(BrowserTreeNode child) {
+        return -1;
+    }
+
+    public Icon getIcon(int flags) {
+        return null;
+    }
+
+    public String getPresentableText() {
+        return firstName.equals(lastName) ? firstName : firstName + " ... " + lastName;
+    }
+
+    public String getPresentableTextDetails() {
+        return "(" + remainingCount + " more)";
+    }
+
+    public String getPresentableTextConditionalDetails() {
+        return null;
+    }
+
+    public ConnectionHandler getConnectionHandler() {
+        return parent.getConnectionHandler();
+    }
+
+    public Project getProject() {
+        return parent.getProject();
+    }
+
+    public GenericDatabaseElement getUndisposedElement() {
+        return this;
+    }
+
+    public DynamicContent getDynamicContent(DynamicContentType dynamicContentType) {
+        return null;
+    }
+
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    /*********************************************************
+    *                    ItemPresentation                    *
+    *********************************************************/
+    public String getLocationString() {
+        return null;
+    }
+
+    public Icon getIcon(boolean open) {
+        return null;
+    }
+
+    public TextAttributesKey getTextAttributesKey() {
+        return SQLTextAttributesKeys.IDENTIFIER;
+    }
+
+    /*********************************************************
+    *                    NavigationItem                      *
+    *********************************************************/
+    public void navigate(boolean requestFocus) {}
+    public boolean canNavigate() { return false;}
+    public boolean canNavigateToSource() {return false;}
+
+    public String getName() {
+        return null;
+    }
+
+    public ItemPresentation getPresentation() {
+        return this;
+    }
+
+    public FileStatus getFileStatus() {
+        return FileStatus.NOT_CHANGED;
+    }
+
+    /*********************************************************
+    *                    ToolTipProvider                    *
+    *********************************************************/
+    public String getToolTip() {
+        return remainingCount + " more objects. Select to load them.";
+    }
+
+    public void dispose() {
+        disposed = true;
+    }
+}
@@ -28,6 +28,8 @@ import java.awt.event.MouseListener;
 import java.util.List;
 
 import javax.swing.JPopupMenu;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.event.TreeSelectionEvent;
 import javax.swing.event.TreeSelectionListener;
 import javax.swing.tree.DefaultTreeModel;
@@ -39,6 +41,7 @@ import com.dci.intellij.dbn.browser.DatabaseBrowserUtils;
 import com.dci.intellij.dbn.browser.TreeNavigationHistory;
 import com.dci.intellij.dbn.browser.model.BrowserTreeModel;
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
+import com.dci.intellij.dbn.browser.model.LoadMoreTreeNode;
 import com.dci.intellij.dbn.common.event.EventManager;
 import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.common.thread.BackgroundTask;
@@ -56,6 +59,7 @@ import com.dci.intellij.dbn.object.common.DBObjectBundle;
 import com.dci.intellij.dbn.object.common.DBSchemaObject;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.action.ObjectListActionGroup;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
 import com.dci.intellij.dbn.object.common.property.DBObjectProperties;
 import com.dci.intellij.dbn.object.common.property.DBObjectProperty;
 import com.dci.intellij.dbn.vfs.DatabaseFileSystem;
@@ -84,6 +88,7 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
         addKeyListener(keyListener);
         addMouseListener(mouseListener);
         addTreeSelectionListener(treeSelectionListener);
+        addTreeExpansionListener(treeExpansionListener);
 
         setToggleClickCount(0);
         setRootVisible(false);
@@ -139,6 +144,7 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
     public synchronized void scrollToSelectedElement() {
         if (getProject().isOpen() && targetSelection != null) {
             targetSelection = (BrowserTreeNode) targetSelection.getUndisposedElement();
+            revealTreeNode(targetSelection);
             TreePath treePath = DatabaseBrowserUtils.createTreePath(targetSelection);
             for (Object object : treePath.getPath()) {
                 if (object == null) {
@@ -165,6 +171,45 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
 
 
 
+    /**
+     * Large object lists only materialize their first pages of children. Makes sure the pages containing
+     * the node (and its parents) are loaded before building its tree path.
+     */
+    private static void revealTreeNode(BrowserTreeNode treeNode) {
+        BrowserTreeNode treeParent = treeNode.getTreeParent();
+        while (treeParent != null) {
+            if (treeParent instanceof DBObjectList) {
+                DBObjectList objectList = (DBObjectList) treeParent;
+                objectList.revealTreeChild(treeNode);
+            }
+            treeNode = treeParent;
+            treeParent = treeNode.getTreeParent();
+        }
+    }
+
+    /**
+     * Loads the next page of the object list of the given "load more" node (when selected or activated).
+     * The selection moves to the first child of the loaded page.
+     */
+    private void loadNextTreePage(final LoadMoreTreeNode loadMoreTreeNode) {
+        if (loadMoreTreeNode.requestLoad()) {
+            new SimpleLaterInvocator() {
+                public void run() {
+                    BrowserTreeNode treeParent = loadMoreTreeNode.getTreeParent();
+                    if (!isDisposed && !treeParent.isDisposed() && treeParent instanceof DBObjectList) {
+                        DBObjectList objectList = (DBObjectList) treeParent;
+                        int index = treeParent.getIndexOfTreeChild(loadMoreTreeNode);
+                        boolean selected = getSelectedNode() == loadMoreTreeNode;
+                        objectList.loadNextTreePage();
+                        if (selected && index > -1 && index < treeParent.getTreeChildCount()) {
+                            setSelectionPath(DatabaseBrowserUtils.createTreePath(treeParent.getTreeChild(index)));
+                        }
+                    }
+                }
+            }.start();
+        }
+    }
+
     public BrowserTreeNode getSelectedNode() {
         TreePath selectionPath = getSelectionPath();
         return selectionPath == null ? null : (BrowserTreeNode) selectionPath.getLastPathComponent();
@@ -286,6 +331,8 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
                 ConnectionHandler connectionHandler = objectBundle.getConnectionHandler();
                 FileEditorManager fileEditorManager = FileEditorManager.getInstance(connectionHandler.getProject());
                 fileEditorManager.openFile(connectionHandler.getSQLConsoleFile(), true);
+            } else if (lastPathEntity instanceof LoadMoreTreeNode) {
+                loadNextTreePage((LoadMoreTreeNode) lastPathEntity);
             }
         }
     }
@@ -331,6 +378,9 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
         public void valueChanged(TreeSelectionEvent e) {
             if (!isDisposed && listenersEnabled) {
                 Object object = e.getPath().getLastPathComponent();
+                if (object instanceof LoadMoreTreeNode && e.isAddedPath()) {
+                    loadNextTreePage((LoadMoreTreeNode) object);
+                }
                 if (object != null && object instanceof BrowserTreeNode) {
                     BrowserTreeNode treeNode = (BrowserTreeNode) object;
                     if (targetSelection == null || treeNode.equals(targetSelection)) {
@@ -411,4 +461,31 @@ public class DatabaseBrowserTree extends DBNTree implements Disposable {
             }
         }
     };
+
+    /********************************************************
+     *                 TreeExpansionListener                *
+     ********************************************************/
+    private TreeExpansionListener treeExpansionListener = new TreeExpansionListener() {
+        public void treeExpanded(TreeExpansionEvent event) {}
+
+        /**
+         * Loads requested for the collapsed node (and its children) which did not start yet are not needed anymore.
+         */
+        public void treeCollapsed(TreeExpansionEvent event) {
+            Object lastPathEntity = event.getPath().getLastPathComponent();
+            if (lastPathEntity instanceof BrowserTreeNode) {
+                BrowserTreeNode treeNode = (BrowserTreeNode) lastPathEntity;
+                ConnectionHandler connectionHandler = treeNode.getConnectionHandler();
+                if (connectionHandler != null && !treeNode.isDisposed()) {
+                    DatabaseLoaderScheduler loaderScheduler = connectionHandler.getLoaderScheduler();
+                    loaderScheduler.cancel(treeNode);
+                    if (treeNode.isTreeStructureLoaded()) {
+                        for (BrowserTreeNode treeChild : treeNode.getTreeChildren()) {
+                            loaderScheduler.cancel(treeChild);
+                        }
+                    }
+                }
+            }
+        }
+    };
 }
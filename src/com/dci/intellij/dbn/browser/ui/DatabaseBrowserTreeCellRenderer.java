@@ -18,6 +18,7 @@ package com.dci.intellij.dbn.browser.ui;
 
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.browser.model.LoadInProgressTreeNode;
+import com.dci.intellij.dbn.browser.model.LoadMoreTreeNode;
 import com.dci.intellij.dbn.browser.options.DatabaseBrowserSettings;
 import com.dci.intellij.dbn.common.util.StringUtil;
 import com.dci.intellij.dbn.connection.ModuleConnectionBundle;
@@ -108,6 +109,8 @@ public class DatabaseBrowserTreeCellRenderer implements TreeCellRenderer {
                                 setToolTipText(null);
                             }
                 */
+            } else if (treeNode instanceof LoadMoreTreeNode) {
+                append(displayName, SimpleTextAttributes.GRAY_ITALIC_ATTRIBUTES);
             } else {
                 boolean showBold = false;
                 boolean isError = false;
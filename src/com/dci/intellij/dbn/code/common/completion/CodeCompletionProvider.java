@@ -26,6 +26,7 @@ import com.dci.intellij.dbn.code.common.completion.options.filter.CodeCompletion
 import com.dci.intellij.dbn.code.common.lookup.AliasLookupItemFactory;
 import com.dci.intellij.dbn.code.common.lookup.LookupItemFactory;
 import com.dci.intellij.dbn.code.common.lookup.VariableLookupItemFactory;
+import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.lookup.ConsumerStoppedException;
 import com.dci.intellij.dbn.common.lookup.LookupConsumer;
 import com.dci.intellij.dbn.common.util.NamingUtil;
@@ -209,7 +210,7 @@ public class CodeCompletionProvider extends CompletionProvider<CompletionParamet
                                 BasePsiElement scope = element.getEnclosingScopePsiElement();
                                 collectObjectMatchingScope(consumer, identifierElementType, filterSettings, scope, context);
                             } else {
-                                for (DBObject object : parentObject.getChildObjects(identifierElementType.getObjectType())) {
+                                for (DBObject object : parentObject.getChildObjects(identifierElementType.getObjectType(), DynamicContent.EDITOR_LOAD_TIMEOUT)) {
                                     consumer.check();
                                     consumer.consume(object);
                                 }
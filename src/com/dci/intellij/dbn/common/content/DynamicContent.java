@@ -18,6 +18,7 @@ package com.dci.intellij.dbn.common.content;
 
 import com.dci.intellij.dbn.common.content.dependency.ContentDependencyAdapter;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
+import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.GenericDatabaseElement;
 import com.intellij.openapi.Disposable;
@@ -26,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 public interface DynamicContent<T extends DynamicContentElement> extends Disposable {
     /**
@@ -40,6 +42,12 @@ public interface DynamicContent<T extends DynamicContentElement> extends Disposa
      */
     void load();
 
+    /**
+     * Starts loading the content in background if required. Concurrent load requests share the same load.
+     * @return the future of the load in progress, or null if no load is required
+     */
+    @Nullable Future loadInBackground();
+
     /**
      * Rebuilds the content. This method is called when reloading the content
      * is triggered deliberately by the user directly or by a ddl change.
@@ -76,7 +84,25 @@ public interface DynamicContent<T extends DynamicContentElement> extends Disposa
     Project getProject();
     String getContentDescription();
 
+    /**
+     * Time (milliseconds) code completion and annotation wait for a content to load, before working with the last known elements.
+     */
+    long EDITOR_LOAD_TIMEOUT = 500;
+
     @NotNull List<T> getElements();
+
+    /**
+     * Returns the elements without blocking for longer than the given number of milliseconds.
+     * If the content still needs to be loaded, it is loaded in background and the last known elements are returned
+     * when the timeout expires (0 returns the last known elements immediately).
+     */
+    @NotNull List<T> getElements(long timeout);
+
+    /**
+     * Loads the content if needed and returns the elements having the given group key, as an unmodifiable list
+     * shared by all callers. The group index is built on first request for a grouping, and discarded when the elements change.
+     */
+    @NotNull List<T> getElementGroup(DynamicContentGrouping<T> grouping, Object groupKey);
     T getElement(String name);
     void setElements(@Nullable List<T> elements);
     int size();
@@ -94,4 +120,7 @@ public interface DynamicContent<T extends DynamicContentElement> extends Disposa
 
     boolean accepts(T element);
 
+    @Nullable
+    Filter getFilter();
+
 }
@@ -23,4 +23,11 @@ public interface DynamicContentElement extends Disposable, Comparable {
     String getName();                                                            
     String getDescription();
     void reload();
+
+    /**
+     * Fingerprint of the data the element was built from (0 if unknown).
+     * Used when reloading, to reuse the unchanged elements instead of building them again.
+     */
+    long getFingerprint();
+    void setFingerprint(long fingerprint);
 }
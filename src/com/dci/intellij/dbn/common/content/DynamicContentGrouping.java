@@ -0,0 +1,25 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.common.content;
+
+/**
+ * Partitions the elements of a dynamic content in groups (e.g. the columns of a schema by dataset).
+ * Used to build the group index of a source content, from which the sub-contents are sliced.
+ */
+public interface DynamicContentGrouping<T extends DynamicContentElement> {
+    Object getGroupKey(T element);
+}
@@ -16,24 +16,46 @@
 
 package com.dci.intellij.dbn.common.content;
 
+import com.dci.intellij.dbn.common.LoggerFactory;
 import com.dci.intellij.dbn.common.content.dependency.ContentDependencyAdapter;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoaderException;
 import com.dci.intellij.dbn.common.dispose.DisposeUtil;
 import com.dci.intellij.dbn.common.filter.Filter;
+import com.dci.intellij.dbn.common.thread.SimpleLaterInvocator;
 import com.dci.intellij.dbn.common.util.CollectionUtil;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.GenericDatabaseElement;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
 import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import gnu.trove.TObjectHashingStrategy;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class DynamicContentImpl<T extends DynamicContentElement> implements DynamicContent<T> {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
     public static final List EMPTY_LIST = new ArrayList(0);
+    /**
+     * Maximum time the dispatch thread waits for a load running in another thread, before falling back to the last known elements.
+     */
+    private static final long DISPATCH_THREAD_LOAD_TIMEOUT = 200;
 
     private long changeTimestamp = 0;
     private volatile boolean isLoading = false;
@@ -46,10 +68,18 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
     protected DynamicContentLoader<T> loader;
     protected ContentDependencyAdapter dependencyAdapter;
     private boolean indexed;
-    private Map<String, T> index;
+    private volatile Map<String, T> index;
+    private volatile Map<String, Map<String, T>> parentIndex;
+    private Map<DynamicContentGrouping<T>, Map<Object, List<T>>> groupIndexes;
     private int filterHashCode = 0;
 
-    protected List<T> elements = EMPTY_LIST;
+    private final Object loadLock = new Object();
+    private ContentLoadTask loadTask;
+    private volatile Thread loadingThread;
+
+    protected volatile List<T> elements = EMPTY_LIST;
+    private List<T> disposableElements = new ArrayList<T>();
+    private boolean publishPending;
 
     protected DynamicContentImpl(GenericDatabaseElement parent, DynamicContentLoader<T> loader, ContentDependencyAdapter dependencyAdapter, boolean indexed) {
         this.parent = parent;
@@ -119,12 +149,120 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
         isDirty = dirty;
     }
 
-    public final synchronized void load() {
-        if (!isLoading && shouldLoad()) {
-            isLoading = true;
+    /**
+     * Loads the content in the calling thread. If a load of this content is already in progress in another thread,
+     * the call joins it (waits for it to complete) instead of starting a new one.
+     */
+    public final void load() {
+        if (isLoadingThread() || !shouldLoad()) return;
+
+        ContentLoadTask task;
+        synchronized (loadLock) {
+            task = loadTask;
+            if (task == null) {
+                if (!shouldLoad()) return;
+                task = new ContentLoadTask(false, false);
+                loadTask = task;
+            }
+            task.joinCount++;
+        }
+        try {
+            // runs the task if it was not started yet (i.e. still queued in the loader scheduler), no-op otherwise
+            task.run();
+            waitFor(task, 0);
+        } finally {
+            leave(task);
+        }
+    }
+
+    /**
+     * Schedules the load of the content in the prefetch lane of the connection loader scheduler,
+     * or returns the load already in progress.
+     * @return the future of the load or null if the content does not need to be loaded
+     */
+    @Nullable
+    public Future loadInBackground() {
+        return loadInBackground(DatabaseLoaderScheduler.Priority.PREFETCH, false);
+    }
+
+    /**
+     * @param join whether the caller is going to wait for the load (must leave() the returned task when done waiting)
+     */
+    @Nullable
+    private ContentLoadTask loadInBackground(DatabaseLoaderScheduler.Priority priority, boolean join) {
+        final ContentLoadTask task;
+        final ConnectionHandler connectionHandler;
+        synchronized (loadLock) {
+            // dispose() releases the connection handler
+            connectionHandler = this.connectionHandler;
+            if (isDisposed || connectionHandler == null) return null;
+            if (loadTask == null) {
+                if (!shouldLoad()) return null;
+                loadTask = new ContentLoadTask(false, false);
+            }
+            task = loadTask;
+            if (join) task.joinCount++;
+        }
+
+        // scheduling an already pending load only raises its priority
+        connectionHandler.getLoaderScheduler().schedule(this, priority, new DatabaseLoaderScheduler.LoadTask() {
+            protected void execute(@NotNull ProgressIndicator progressIndicator) {
+                task.run();
+            }
+
+            @Override
+            protected void cancelled() {
+                synchronized (loadLock) {
+                    // threads waiting for the load keep it (load() runs it by itself)
+                    if (task.joinCount == 0) task.cancel(false);
+                }
+            }
+        });
+        return task;
+    }
+
+    private void leave(ContentLoadTask task) {
+        synchronized (loadLock) {
+            task.joinCount--;
+        }
+    }
+
+    private boolean isLoadingThread() {
+        return loadingThread == Thread.currentThread();
+    }
+
+    /**
+     * Waits for the given load to complete, at most "timeout" milliseconds (0 waits without limit).
+     * Runtime exceptions thrown by the load are propagated to the waiting threads.
+     */
+    private void waitFor(Future task, long timeout) {
+        try {
+            if (timeout > 0)
+                task.get(timeout, TimeUnit.MILLISECONDS); else
+                task.get();
+        } catch (TimeoutException e) {
+            // caller gets the last known elements
+        } catch (CancellationException e) {
+            // background load discarded (connection disposed). Caller gets the last known elements
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            LOGGER.warn("Error loading " + getContentDescription(), cause);
+        }
+    }
+
+    private void doLoad() {
+        isLoading = true;
+        loadingThread = Thread.currentThread();
+        try {
             performLoad();
             isLoaded = true;
             updateChangeTimestamp();
+        } finally {
+            loadingThread = null;
             isLoading = false;
         }
     }
@@ -151,13 +289,49 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
         }
     }
 
-    public final synchronized void reload(boolean recursive) {
-        if (!isDisposed) {
-            isLoading = true;
+    /**
+     * Reloads the content in the calling thread. A load or reload already in progress is awaited first,
+     * as it may have been started before the changes which triggered this reload.
+     */
+    public final void reload(boolean recursive) {
+        if (isDisposed || isLoadingThread()) return;
+
+        ContentLoadTask task = null;
+        while (task == null) {
+            ContentLoadTask currentTask;
+            synchronized (loadLock) {
+                currentTask = loadTask;
+                if (currentTask == null) {
+                    task = new ContentLoadTask(true, recursive);
+                    loadTask = task;
+                } else {
+                    currentTask.joinCount++;
+                }
+            }
+            if (currentTask != null) {
+                try {
+                    currentTask.run();
+                    waitFor(currentTask, 0);
+                } finally {
+                    leave(currentTask);
+                }
+                if (isDisposed) return;
+            }
+        }
+        task.run();
+        waitFor(task, 0);
+    }
+
+    private void doReload(boolean recursive) {
+        isLoading = true;
+        loadingThread = Thread.currentThread();
+        try {
             performReload(recursive);
             isLoaded = true;
-            isLoading = false;
             updateChangeTimestamp();
+        } finally {
+            loadingThread = null;
+            isLoading = false;
         }
     }
 
@@ -188,6 +362,48 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
      */
     public abstract void notifyChangeListeners();
 
+    /**
+     * Invoked in the dispatch thread after the elements changed, for publishing them to the ui. Changes done in a row
+     * may be published at once, and the given elements are always the current ones, so implementations tracking
+     * the elements shown in the ui compute the changes against what they published last.
+     * The elements removed by the changes are disposed after this call.
+     */
+    protected void publishElements(List<T> elements) {
+        notifyChangeListeners();
+    }
+
+    /**
+     * Listeners are notified asynchronously so that the loading thread does not wait for the ui to process the changes.
+     */
+    private void publishElementsLater() {
+        if (publishPending) return;
+        publishPending = true;
+        new SimpleLaterInvocator() {
+            public void run() {
+                List<T> elements;
+                List<T> disposableElements;
+                synchronized (DynamicContentImpl.this) {
+                    publishPending = false;
+                    elements = DynamicContentImpl.this.elements;
+                    disposableElements = DynamicContentImpl.this.disposableElements;
+                    DynamicContentImpl.this.disposableElements = new ArrayList<T>();
+                }
+                try {
+                    if (!isDisposed) publishElements(elements);
+                } finally {
+                    DisposeUtil.disposeCollection(disposableElements);
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Invoked synchronously (while holding the content lock) whenever elements are added to or removed from the content,
+     * for maintaining structures derived from the elements. Must not call back into the content.
+     */
+    protected void elementsChanged(List<T> removedElements, List<T> addedElements) {
+    }
+
     public synchronized void setElements(List<T> elements) {
         filterHashCode = getFilter() == null ? 0 : getFilter().hashCode();
 
@@ -199,54 +415,224 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
 
         }
         List<T> oldElements = this.elements;
+        if (oldElements.size() == 0 || elements.size() == 0) {
+            updateElements(elements, oldElements, elements, true);
+        } else {
+            mergeElements(oldElements, elements);
+        }
+    }
+
+    /**
+     * Elements surviving a reload (i.e. reused by the loader) keep their identity, hence their child contents,
+     * tree state and psi references. Only the elements which are not part of the new list any more are disposed.
+     */
+    private void mergeElements(List<T> oldElements, List<T> newElements) {
+        Set<T> oldElementsSet = createIdentitySet(oldElements);
+        Set<T> newElementsSet = createIdentitySet(newElements);
+
+        List<T> removedElements = new ArrayList<T>();
+        for (T element : oldElements) {
+            if (!newElementsSet.contains(element)) removedElements.add(element);
+        }
+
+        List<T> addedElements = new ArrayList<T>();
+        for (T element : newElements) {
+            if (!oldElementsSet.contains(element)) addedElements.add(element);
+        }
+        updateElements(newElements, removedElements, addedElements, true);
+    }
+
+    protected static <E> Set<E> createIdentitySet(List<E> elements) {
+        Set<E> set = new THashSet<E>(elements.size(), TObjectHashingStrategy.IDENTITY);
+        set.addAll(elements);
+        return set;
+    }
+
+    /**
+     * Element lists are never modified once published (they are read without locking), changes are applied
+     * on a copy replacing the current list. Must be called while holding the content lock.
+     */
+    private void updateElements(List<T> elements, List<T> removedElements, List<T> addedElements, boolean dispose) {
         this.elements = elements;
         updateIndex();
-        if (oldElements.size() != 0 || elements.size() != 0 ){
-            notifyChangeListeners();
-        }
-        if (!dependencyAdapter.isSubContent() && oldElements.size() > 0 ) {
-            DisposeUtil.disposeCollection(oldElements);
+        groupIndexes = null;
+        if (removedElements.size() > 0 || addedElements.size() > 0) {
+            elementsChanged(removedElements, addedElements);
+            if (dispose && isElementOwner()) {
+                disposableElements.addAll(removedElements);
+            }
+            publishElementsLater();
         }
     }
 
+    /**
+     * Whether the elements are owned (hence disposed) by this content.
+     * Subcontents only reference the elements of their source content.
+     */
+    protected boolean isElementOwner() {
+        return !dependencyAdapter.isSubContent();
+    }
+
     public synchronized void removeElements(List<T> elements) {
-        this.elements.removeAll(elements);
-        updateIndex();
+        if (isDisposed) return;
+        Set<T> removedElementsSet = createIdentitySet(elements);
+        List<T> newElements = new ArrayList<T>(this.elements.size());
+        List<T> removedElements = new ArrayList<T>();
+        for (T element : this.elements) {
+            if (removedElementsSet.contains(element))
+                removedElements.add(element); else
+                newElements.add(element);
+        }
+        if (removedElements.size() > 0) {
+            updateElements(newElements.size() == 0 ? EMPTY_LIST : newElements, removedElements, EMPTY_LIST, false);
+        }
     }
 
     public synchronized void addElements(List<T> elements) {
-        this.elements.addAll(elements);
-        updateIndex();
+        if (isDisposed || elements.size() == 0) return;
+        List<T> newElements = new ArrayList<T>(this.elements.size() + elements.size());
+        newElements.addAll(this.elements);
+        newElements.addAll(elements);
+        Collections.sort(newElements);
+        updateElements(newElements, EMPTY_LIST, new ArrayList<T>(elements), false);
     }
 
+    /**
+     * Loads the content if needed and returns the elements. When invoked from the dispatch thread, the load is
+     * scheduled in background and awaited only for a short time, after which the last known elements are returned.
+     */
     @NotNull
-    public synchronized List<T> getElements() {
+    public List<T> getElements() {
+        Application application = ApplicationManager.getApplication();
+        if (application != null && application.isDispatchThread() && !isLoadingThread()) {
+            return getElements(DISPATCH_THREAD_LOAD_TIMEOUT);
+        }
         load();
         return elements;
     }
 
+    @NotNull
+    public List<T> getElements(long timeout) {
+        if (!isLoadingThread() && shouldLoad()) {
+            boolean join = timeout > 0;
+            ContentLoadTask task = loadInBackground(DatabaseLoaderScheduler.Priority.EDITOR_RESOLUTION, join);
+            if (task != null && join) {
+                try {
+                    waitFor(task, timeout);
+                } finally {
+                    leave(task);
+                }
+            }
+        }
+        return elements;
+    }
+
+    @NotNull
+    public List<T> getElementGroup(DynamicContentGrouping<T> grouping, Object groupKey) {
+        getElements();
+        List<T> group = groupKey == null ? null : getGroupIndex(grouping).get(groupKey);
+        return group == null ? EMPTY_LIST : group;
+    }
+
+    /**
+     * Groups do not need to be contiguous in the element list. Elements keep their relative order within the group.
+     */
+    private synchronized Map<Object, List<T>> getGroupIndex(DynamicContentGrouping<T> grouping) {
+        if (groupIndexes == null) {
+            groupIndexes = new THashMap<DynamicContentGrouping<T>, Map<Object, List<T>>>(2);
+        }
+        Map<Object, List<T>> groupIndex = groupIndexes.get(grouping);
+        if (groupIndex == null) {
+            Map<Object, List<T>> groups = new THashMap<Object, List<T>>();
+            for (T element : elements) {
+                Object groupKey = grouping.getGroupKey(element);
+                if (groupKey == null) continue;
+                List<T> group = groups.get(groupKey);
+                if (group == null) {
+                    group = new ArrayList<T>(4);
+                    groups.put(groupKey, group);
+                }
+                group.add(element);
+            }
+
+            // groups are shared by all callers
+            groupIndex = new THashMap<Object, List<T>>(groups.size());
+            for (Object groupKey : groups.keySet()) {
+                groupIndex.put(groupKey, Collections.unmodifiableList(groups.get(groupKey)));
+            }
+            groupIndexes.put(grouping, groupIndex);
+        }
+        return groupIndex;
+    }
+
     protected void updateIndex() {
+        parentIndex = null;
         if (indexed) {
             if (elements.size() > 0) {
-                if (index == null)
-                    index = new THashMap<String, T>(); else
-                    index.clear();
-
+                // index is read without locking. Build it aside and publish it when complete
+                Map<String, T> index = new THashMap<String, T>(elements.size(), NameSymbolTable.CASE_INSENSITIVE);
                 for (T element : elements) {
-                    String name = element.getName().toUpperCase();
-                    index.put(name, element);
+                    index.put(element.getName(), element);
                 }
+                this.index = index;
             } else {
                 index = null;
             }
         }
     }
 
-    public synchronized T getElement(String name) {
+    /**
+     * Name of the parent of the given element, for the contents holding elements of different parents
+     * (e.g. all the columns of a schema). Contents supporting {@link #getElement(String, String)} must override this.
+     */
+    @Nullable
+    protected String getElementParentName(T element) {
+        return null;
+    }
+
+    /**
+     * Looks up an element by name and parent name (case insensitive), without loading the content.
+     * The (parent, name) index is built on first lookup and rebuilt after the elements change.
+     */
+    @Nullable
+    public T getElement(String name, String parentName) {
+        Map<String, Map<String, T>> parentIndex = this.parentIndex;
+        if (parentIndex == null) {
+            parentIndex = buildParentIndex();
+        }
+        Map<String, T> parentElements = parentIndex.get(parentName);
+        return parentElements == null ? null : parentElements.get(name);
+    }
+
+    private synchronized Map<String, Map<String, T>> buildParentIndex() {
+        Map<String, Map<String, T>> parentIndex = this.parentIndex;
+        if (parentIndex == null) {
+            parentIndex = new THashMap<String, Map<String, T>>(NameSymbolTable.CASE_INSENSITIVE);
+            for (T element : elements) {
+                String parentName = getElementParentName(element);
+                if (parentName == null) continue;
+                Map<String, T> parentElements = parentIndex.get(parentName);
+                if (parentElements == null) {
+                    parentElements = new THashMap<String, T>(NameSymbolTable.CASE_INSENSITIVE);
+                    parentIndex.put(parentName, parentElements);
+                }
+                String name = element.getName();
+                if (!parentElements.containsKey(name)) {
+                    // keep the first match, as the former linear lookup did
+                    parentElements.put(name, element);
+                }
+            }
+            this.parentIndex = parentIndex;
+        }
+        return parentIndex;
+    }
+
+    public T getElement(String name) {
+        List<T> elements = getElements();
+        Map<String, T> index = this.index;
         if (indexed && index != null) {
-            return index.get(name.toUpperCase());
+            return index.get(name);
         } else {
-            List<T> elements = getElements();
             for (T element : elements) {
                 if (element.getName().equalsIgnoreCase(name)) {
                     return element;
@@ -256,7 +642,7 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
         return null;
     }
 
-    public synchronized int size() {
+    public int size() {
         return getElements().size();
     }
 
@@ -270,13 +656,42 @@ public abstract class DynamicContentImpl<T extends DynamicContentElement> implem
     public void dispose() {
         if (!isDisposed) {
             isDisposed = true;
-            if (dependencyAdapter.isSubContent())
-                elements.clear(); else
+            if (elements.size() > 0) {
+                elementsChanged(elements, EMPTY_LIST);
+            }
+            if (isElementOwner()) {
                 DisposeUtil.disposeCollection(elements);
+            }
+            elements = EMPTY_LIST;
             CollectionUtil.clearMap(index);
+            groupIndexes = null;
             dependencyAdapter.dispose();
             connectionHandler = null;
             parent = null;
         }
     }
+
+    /**
+     * The load (or reload) of the content shared by all the threads requesting it while in progress.
+     */
+    private class ContentLoadTask extends FutureTask<Object> {
+        private int joinCount; // threads waiting for the load, guarded by loadLock
+
+        private ContentLoadTask(final boolean reload, final boolean recursive) {
+            super(new Runnable() {
+                public void run() {
+                    if (reload)
+                        doReload(recursive); else
+                        doLoad();
+                }
+            }, null);
+        }
+
+        @Override
+        protected void done() {
+            synchronized (loadLock) {
+                if (loadTask == this) loadTask = null;
+            }
+        }
+    }
 }
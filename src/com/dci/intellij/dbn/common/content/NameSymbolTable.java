@@ -0,0 +1,84 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.common.content;
+
+import gnu.trove.THashMap;
+import gnu.trove.TObjectHashingStrategy;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Canonical instances of the object names of a connection. The same names show up in many places
+ * (e.g. table names in every schema, column names in every table, names of synonyms and referenced objects),
+ * so the objects share one string instance per distinct name instead of one per loaded row.
+ *
+ * Also provides the case insensitive hashing strategy used to index elements by name
+ * without case-folding (i.e. allocating) the names on every index update and lookup.
+ */
+public class NameSymbolTable {
+    public static final TObjectHashingStrategy<String> CASE_INSENSITIVE = new TObjectHashingStrategy<String>() {
+        public int computeHashCode(String string) {
+            if (string == null) return 0;
+            int hashCode = 0;
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                // fold consistently with String.equalsIgnoreCase() (ascii names without the Character lookups)
+                if (c < 128) {
+                    if (c >= 'A' && c <= 'Z') c += 'a' - 'A';
+                } else {
+                    c = Character.toLowerCase(Character.toUpperCase(c));
+                }
+                hashCode = 31 * hashCode + c;
+            }
+            return hashCode;
+        }
+
+        public boolean equals(String string1, String string2) {
+            return string1 == string2 || (string1 != null && string1.equalsIgnoreCase(string2));
+        }
+    };
+
+    private final Map<String, String> symbols = new THashMap<String, String>();
+
+    /**
+     * Returns the canonical instance of the given name.
+     */
+    public String intern(@Nullable String name) {
+        if (name == null) return null;
+        synchronized (symbols) {
+            String symbol = symbols.get(name);
+            if (symbol == null) {
+                symbols.put(name, name);
+                symbol = name;
+            }
+            return symbol;
+        }
+    }
+
+    public int size() {
+        synchronized (symbols) {
+            return symbols.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (symbols) {
+            symbols.clear();
+        }
+    }
+}
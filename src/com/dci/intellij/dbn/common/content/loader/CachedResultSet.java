@@ -0,0 +1,978 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.common.content.loader;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+import com.dci.intellij.dbn.common.content.NameSymbolTable;
+import gnu.trove.TObjectIntHashMap;
+
+/**
+ * Read-only, detached copy of a metadata result set.
+ * It can be replayed any number of times (see {@link #beforeFirst()}) and written to / read from
+ * a compact binary representation, which makes it suitable for caching data dictionary query results.
+ */
+public class CachedResultSet implements ResultSet {
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte DECIMAL_VALUE = 3;
+    private static final byte TIMESTAMP_VALUE = 4;
+    private static final String CHARSET = "UTF-8";
+
+    private String[] columnLabels;
+    private TObjectIntHashMap<String> columnIndexes;
+    private List<Object[]> rows;
+    private int cursor = -1;
+    private boolean wasNull;
+
+    private CachedResultSet(String[] columnLabels, List<Object[]> rows) {
+        this.columnLabels = columnLabels;
+        this.rows = rows;
+        columnIndexes = new TObjectIntHashMap<String>(columnLabels.length, NameSymbolTable.CASE_INSENSITIVE);
+        for (int i = 0; i < columnLabels.length; i++) {
+            columnIndexes.put(columnLabels[i], i + 1);
+        }
+    }
+
+    /**
+     * Reads all the rows of the given result set. The result set is NOT closed by this operation.
+     */
+    public static CachedResultSet create(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] columnLabels = new String[columnCount];
+        int[] columnTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1).toUpperCase();
+            columnTypes[i] = metaData.getColumnType(i + 1);
+        }
+
+        List<Object[]> rows = new ArrayList<Object[]>();
+        while (resultSet.next()) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = readValue(resultSet, i + 1, columnTypes[i]);
+            }
+            rows.add(row);
+        }
+        return new CachedResultSet(columnLabels, rows);
+    }
+
+    private static Object readValue(ResultSet resultSet, int columnIndex, int columnType) throws SQLException {
+        switch (columnType) {
+            case Types.BIT:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT: {
+                long value = resultSet.getLong(columnIndex);
+                return resultSet.wasNull() ? null : value;
+            }
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE: {
+                BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                if (value == null) return null;
+                try {
+                    return value.longValueExact();
+                } catch (ArithmeticException e) {
+                    return value;
+                }
+            }
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return resultSet.getTimestamp(columnIndex);
+            default:
+                return resultSet.getString(columnIndex);
+        }
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    public int getColumnCount() {
+        return columnLabels.length;
+    }
+
+    /*********************************************************
+     *                     Serialization                     *
+     *********************************************************/
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(columnLabels.length);
+        for (String columnLabel : columnLabels) {
+            output.writeUTF(columnLabel);
+        }
+        output.writeInt(rows.size());
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                if (value == null) {
+                    output.writeByte(NULL_VALUE);
+                } else if (value instanceof Long) {
+                    output.writeByte(LONG_VALUE);
+                    output.writeLong((Long) value);
+                } else if (value instanceof BigDecimal) {
+                    output.writeByte(DECIMAL_VALUE);
+                    output.writeUTF(((BigDecimal) value).toString());
+                } else if (value instanceof Timestamp) {
+                    output.writeByte(TIMESTAMP_VALUE);
+                    output.writeLong(((Timestamp) value).getTime());
+                } else {
+                    output.writeByte(STRING_VALUE);
+                    // not writeUTF(), which is limited to 64KB (e.g. long view or check constraint texts)
+                    byte[] bytes = value.toString().getBytes(CHARSET);
+                    output.writeInt(bytes.length);
+                    output.write(bytes);
+                }
+            }
+        }
+    }
+
+    public static CachedResultSet read(DataInput input) throws IOException {
+        int columnCount = input.readInt();
+        String[] columnLabels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnLabels[i] = input.readUTF();
+        }
+        int rowCount = input.readInt();
+        List<Object[]> rows = new ArrayList<Object[]>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                byte valueType = input.readByte();
+                switch (valueType) {
+                    case NULL_VALUE: row[i] = null; break;
+                    case LONG_VALUE: row[i] = input.readLong(); break;
+                    case DECIMAL_VALUE: row[i] = new BigDecimal(input.readUTF()); break;
+                    case TIMESTAMP_VALUE: row[i] = new Timestamp(input.readLong()); break;
+                    case STRING_VALUE: row[i] = readString(input); break;
+                    default: throw new IOException("Invalid value type " + valueType);
+                }
+            }
+            rows.add(row);
+        }
+        return new CachedResultSet(columnLabels, rows);
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, CHARSET);
+    }
+
+    /*********************************************************
+     *                       ResultSet                       *
+     *********************************************************/
+    private Object getValue(int columnIndex) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("No current row");
+        }
+        if (columnIndex < 1 || columnIndex > columnLabels.length) {
+            throw new SQLException("Invalid column index " + columnIndex);
+        }
+        Object value = rows.get(cursor)[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private Number getNumber(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null) return null;
+        if (value instanceof Number) return (Number) value;
+        if (value instanceof Timestamp) return ((Timestamp) value).getTime();
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Invalid number \"" + value + "\"");
+        }
+    }
+
+    public boolean next() throws SQLException {
+        if (cursor < rows.size()) cursor++;
+        return cursor < rows.size();
+    }
+
+    public void close() throws SQLException {
+        cursor = -1;
+    }
+
+    public boolean wasNull() throws SQLException {
+        return wasNull;
+    }
+
+    public int findColumn(String columnLabel) throws SQLException {
+        int columnIndex = columnIndexes.get(columnLabel);
+        if (columnIndex == 0) {
+            throw new SQLException("Invalid column label " + columnLabel);
+        }
+        return columnIndex;
+    }
+
+    public String getString(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        return value == null ? null :
+               value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() :
+               value.toString();
+    }
+
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        if (value == null) return false;
+        if (value instanceof Number) return ((Number) value).intValue() != 0;
+        String stringValue = value.toString().trim();
+        return stringValue.equals("1") || stringValue.equalsIgnoreCase("true") || stringValue.equalsIgnoreCase("Y");
+    }
+
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    public short getShort(int columnIndex) throws SQLException {
+        Number value = getNumber(columnIndex);
+        return value == null ? 0 : value.shortValue();
+    }
+
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    public int getInt(int columnIndex) throws SQLException {
+        Number value = getNumber(columnIndex);
+        return value == null ? 0 : value.intValue();
+    }
+
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    public long getLong(int columnIndex) throws SQLException {
+        Number value = getNumber(columnIndex);
+        return value == null ? 0 : value.longValue();
+    }
+
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    public double getDouble(int columnIndex) throws SQLException {
+        Number value = getNumber(columnIndex);
+        return value == null ? 0 : value.doubleValue();
+    }
+
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Number value = getNumber(columnIndex);
+        return value == null ? null :
+               value instanceof BigDecimal ? (BigDecimal) value :
+               new BigDecimal(value.toString());
+    }
+
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        Object value = getValue(columnIndex);
+        return value == null ? null :
+               value instanceof Timestamp ? (Timestamp) value :
+               value instanceof Number ? new Timestamp(((Number) value).longValue()) :
+               Timestamp.valueOf(value.toString());
+    }
+
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    public Date getDate(int columnIndex) throws SQLException {
+        Timestamp timestamp = getTimestamp(columnIndex);
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    public Object getObject(int columnIndex) throws SQLException {
+        return getValue(columnIndex);
+    }
+
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    public void beforeFirst() throws SQLException {
+        cursor = -1;
+    }
+
+    public boolean isBeforeFirst() throws SQLException {
+        return cursor < 0 && rows.size() > 0;
+    }
+
+    public boolean isAfterLast() throws SQLException {
+        return cursor >= rows.size() && rows.size() > 0;
+    }
+
+    public int getRow() throws SQLException {
+        return cursor < 0 || cursor >= rows.size() ? 0 : cursor + 1;
+    }
+
+    public int getType() throws SQLException {
+        return TYPE_SCROLL_INSENSITIVE;
+    }
+
+    public int getConcurrency() throws SQLException {
+        return CONCUR_READ_ONLY;
+    }
+
+    /*****************************************************************/
+    public byte getByte(int columnIndex) throws SQLException {
+        return 0;
+    }
+
+    public float getFloat(int columnIndex) throws SQLException {
+        return 0;
+    }
+
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        return null;
+    }
+
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return new byte[0];
+    }
+
+    public Time getTime(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public byte getByte(String columnLabel) throws SQLException {
+        return 0;
+    }
+
+    public float getFloat(String columnLabel) throws SQLException {
+        return 0;
+    }
+
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        return null;
+    }
+
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return new byte[0];
+    }
+
+    public Time getTime(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+
+    public void clearWarnings() throws SQLException {
+
+    }
+
+    public String getCursorName() throws SQLException {
+        return null;
+    }
+
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return null;
+    }
+
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public boolean isFirst() throws SQLException {
+        return false;
+    }
+
+    public boolean isLast() throws SQLException {
+        return false;
+    }
+
+    public void afterLast() throws SQLException {
+
+    }
+
+    public boolean first() throws SQLException {
+        return false;
+    }
+
+    public boolean last() throws SQLException {
+        return false;
+    }
+
+    public boolean absolute(int row) throws SQLException {
+        return false;
+    }
+
+    public boolean relative(int rows) throws SQLException {
+        return false;
+    }
+
+    public boolean previous() throws SQLException {
+        return false;
+    }
+
+    public void setFetchDirection(int direction) throws SQLException {
+
+    }
+
+    public int getFetchDirection() throws SQLException {
+        return 0;
+    }
+
+    public void setFetchSize(int rows) throws SQLException {
+
+    }
+
+    public int getFetchSize() throws SQLException {
+        return 0;
+    }
+
+    public boolean rowUpdated() throws SQLException {
+        return false;
+    }
+
+    public boolean rowInserted() throws SQLException {
+        return false;
+    }
+
+    public boolean rowDeleted() throws SQLException {
+        return false;
+    }
+
+    public void updateNull(int columnIndex) throws SQLException {
+
+    }
+
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+
+    }
+
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+
+    }
+
+    public void updateShort(int columnIndex, short x) throws SQLException {
+
+    }
+
+    public void updateInt(int columnIndex, int x) throws SQLException {
+
+    }
+
+    public void updateLong(int columnIndex, long x) throws SQLException {
+
+    }
+
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+
+    }
+
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+
+    }
+
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+
+    }
+
+    public void updateString(int columnIndex, String x) throws SQLException {
+
+    }
+
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+
+    }
+
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+
+    }
+
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+
+    }
+
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+
+    }
+
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+
+    }
+
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+
+    }
+
+    public void updateNull(String columnLabel) throws SQLException {
+
+    }
+
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+
+    }
+
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+
+    }
+
+    public void updateShort(String columnLabel, short x) throws SQLException {
+
+    }
+
+    public void updateInt(String columnLabel, int x) throws SQLException {
+
+    }
+
+    public void updateLong(String columnLabel, long x) throws SQLException {
+
+    }
+
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+
+    }
+
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+
+    }
+
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+
+    }
+
+    public void updateString(String columnLabel, String x) throws SQLException {
+
+    }
+
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+
+    }
+
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+
+    }
+
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+
+    }
+
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+
+    }
+
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+
+    }
+
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+
+    }
+
+    public void insertRow() throws SQLException {
+
+    }
+
+    public void updateRow() throws SQLException {
+
+    }
+
+    public void deleteRow() throws SQLException {
+
+    }
+
+    public void refreshRow() throws SQLException {
+
+    }
+
+    public void cancelRowUpdates() throws SQLException {
+
+    }
+
+    public void moveToInsertRow() throws SQLException {
+
+    }
+
+    public void moveToCurrentRow() throws SQLException {
+
+    }
+
+    public Statement getStatement() throws SQLException {
+        return null;
+    }
+
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        return null;
+    }
+
+    public Ref getRef(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Blob getBlob(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Clob getClob(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Array getArray(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        return null;
+    }
+
+    public Ref getRef(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public Blob getBlob(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public Clob getClob(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public Array getArray(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        return null;
+    }
+
+    public URL getURL(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public URL getURL(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+
+    }
+
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+
+    }
+
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+
+    }
+
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+
+    }
+
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+
+    }
+
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+
+    }
+
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+
+    }
+
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+
+    }
+
+    public RowId getRowId(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public RowId getRowId(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+    }
+
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+    }
+
+    public int getHoldability() throws SQLException {
+        return 0;
+    }
+
+    public boolean isClosed() throws SQLException {
+        return false;
+    }
+
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+    }
+
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+    }
+
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+    }
+
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+    }
+
+    public NClob getNClob(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public NClob getNClob(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+    }
+
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+    }
+
+    public String getNString(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public String getNString(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        return null;
+    }
+
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        return null;
+    }
+
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+    }
+
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+    }
+
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+    }
+
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+    }
+
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+    }
+
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+    }
+
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+    }
+
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+    }
+
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+    }
+
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+    }
+
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+    }
+
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+    }
+
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+    }
+
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+    }
+
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+    }
+
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+    }
+
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+    }
+
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+    }
+
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {return null;}
+
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {return null;}
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {return null;}
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {return false;}
+}
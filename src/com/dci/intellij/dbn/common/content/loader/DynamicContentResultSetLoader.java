@@ -19,18 +19,29 @@ package com.dci.intellij.dbn.common.content.loader;
 import com.dci.intellij.dbn.common.LoggerFactory;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentElement;
+import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
 import com.dci.intellij.dbn.common.util.StringUtil;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.ConnectionUtil;
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
 import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.list.DBObjectRelation;
+import com.dci.intellij.dbn.object.common.loader.DatabaseMetadataCache;
+import com.dci.intellij.dbn.object.filter.name.FilterCondition;
 import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
+import gnu.trove.TLongObjectHashMap;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -67,6 +78,10 @@ public abstract class DynamicContentResultSetLoader<T extends DynamicContentElem
     }
 
     public void loadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
+        loadContent(dynamicContent, false);
+    }
+
+    private void loadContent(DynamicContent<T> dynamicContent, boolean forceReload) throws DynamicContentLoaderException {
         DebugInfo debugInfo = preLoadContent(dynamicContent);
 
         ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
@@ -80,16 +95,64 @@ public abstract class DynamicContentResultSetLoader<T extends DynamicContentElem
         int count = 0;
         try {
             connection = connectionHandler.getPoolConnection();
-            resultSet = createResultSet(dynamicContent, connection);
+            DatabaseMetadataCache metadataCache = connectionHandler.getMetadataCache();
+            if (metadataCache != null && !forceReload) {
+                resultSet = metadataCache.getResultSet(dynamicContent);
+            }
+
+            StatementExecutionStatistics statistics = StatementExecutionStatistics.getInstance();
+            StatementExecutionStatistics.Entry execution = null;
+            long fetchTime = 0;
+            int rowCount = 0;
+            DatabaseMetadataCache.SchemaSnapshot snapshot = null;
+            if (resultSet == null) {
+                snapshot = metadataCache == null ? null : metadataCache.getSchemaSnapshot(dynamicContent, connection);
+
+                statistics.captureLastExecution();
+                try {
+                    resultSet = createResultSet(dynamicContent, connection);
+                } finally {
+                    execution = statistics.takeLastExecution();
+                }
+
+                if (resultSet != null && snapshot != null) {
+                    long fetchStartTimestamp = System.nanoTime();
+                    CachedResultSet cachedResultSet = CachedResultSet.create(resultSet);
+                    fetchTime = System.nanoTime() - fetchStartTimestamp;
+                    ConnectionUtil.closeResultSet(resultSet);
+                    resultSet = cachedResultSet;
+                }
+            }
             List<T> list = null;
-            while (resultSet != null && resultSet.next()) {
+            int fingerprintColumnCount = resultSet == null ? 0 : getFingerprintColumnCount(resultSet);
+            TLongObjectHashMap<T> oldElements = fingerprintColumnCount == 0 ? null : createFingerprintIndex(dynamicContent);
+            while (resultSet != null) {
+                long fetchStartTimestamp = System.nanoTime();
+                boolean hasNext = resultSet.next();
+                fetchTime += System.nanoTime() - fetchStartTimestamp;
+                if (!hasNext) break;
                 if (dynamicContent.isDisposed()) return;
-                
+                if (progressIndicator != null) progressIndicator.checkCanceled();
+
+                rowCount++;
                 T element = null;
-                try {
-                    element = createElement(dynamicContent, resultSet, loaderCache);
-                } catch (RuntimeException e){
-                    System.out.println("RuntimeException: " + e.getMessage());
+                long fingerprint = 0;
+                if (fingerprintColumnCount > 0) {
+                    fingerprint = computeFingerprint(resultSet, fingerprintColumnCount);
+                    if (oldElements != null) {
+                        // removed from the (local) index, so that duplicate rows do not share the element
+                        T oldElement = oldElements.remove(fingerprint);
+                        if (isReusable(oldElement)) element = oldElement;
+                    }
+                }
+
+                if (element == null) {
+                    try {
+                        element = createElement(dynamicContent, resultSet, loaderCache);
+                        if (element != null) element.setFingerprint(fingerprint);
+                    } catch (RuntimeException e){
+                        System.out.println("RuntimeException: " + e.getMessage());
+                    }
                 }
 
                 if (element != null && dynamicContent.accepts(element)) {
@@ -104,8 +167,18 @@ public abstract class DynamicContentResultSetLoader<T extends DynamicContentElem
                 }
             }
             dynamicContent.setElements(list);
+            if (snapshot != null && resultSet instanceof CachedResultSet) {
+                // written once the elements are available
+                metadataCache.store(dynamicContent, snapshot, (CachedResultSet) resultSet);
+            }
+            if (execution != null) {
+                statistics.recordFetch(execution, dynamicContent.getContentDescription(), fetchTime / 1000000, rowCount);
+            }
 
             postLoadContent(dynamicContent, debugInfo);
+        } catch (ProcessCanceledException e) {
+            // load cancelled (e.g. tree node collapsed), the content stays dirty
+            throw new DynamicContentLoaderException(e);
         } catch (Exception e) {
             LOGGER.warn("Error loading database content (" + dynamicContent.getContentDescription() + "): " + StringUtil.trim(e.getMessage()));
             throw new DynamicContentLoaderException(e);
@@ -116,7 +189,99 @@ public abstract class DynamicContentResultSetLoader<T extends DynamicContentElem
     }
 
     public void reloadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
-        loadContent(dynamicContent);
+        loadContent(dynamicContent, true);
+    }
+
+    /**
+     * The object name filter of the content compiled to SQL, to be applied by the metadata query
+     * (if it supports it) instead of transferring all the rows and filtering them in memory.
+     */
+    @Nullable
+    public static String getNameCondition(DynamicContent dynamicContent) {
+        Filter filter = dynamicContent.getFilter();
+        if (filter instanceof FilterCondition) {
+            DatabaseCompatibilityInterface compatibilityInterface = DatabaseCompatibilityInterface.getInstance(dynamicContent.getConnectionHandler());
+            return ((FilterCondition) filter).getSqlCondition(compatibilityInterface);
+        }
+        return null;
+    }
+
+    /**
+     * Number of columns to be considered when fingerprinting the rows of the result set.
+     * Returns 0 (fingerprinting disabled) if the columns are unknown or if they contain long / lob values
+     * which may not be readable more than once (e.g. oracle LONG columns).
+     */
+    private static int getFingerprintColumnCount(ResultSet resultSet) throws SQLException {
+        if (resultSet instanceof CachedResultSet) {
+            return ((CachedResultSet) resultSet).getColumnCount();
+        }
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        if (metaData == null) return 0;
+
+        int columnCount = metaData.getColumnCount();
+        for (int i = 1; i <= columnCount; i++) {
+            switch (metaData.getColumnType(i)) {
+                case Types.LONGVARCHAR:
+                case Types.LONGNVARCHAR:
+                case Types.LONGVARBINARY:
+                case Types.CLOB:
+                case Types.NCLOB:
+                case Types.BLOB: return 0;
+            }
+        }
+        return columnCount;
+    }
+
+    /**
+     * Current elements of the content by fingerprint. Built for each load, so that the content itself is not
+     * modified before the new elements are set (a failed or cancelled load leaves it unchanged).
+     */
+    @Nullable
+    private static <T extends DynamicContentElement> TLongObjectHashMap<T> createFingerprintIndex(DynamicContent<T> dynamicContent) {
+        List<T> elements = dynamicContent.getElements();
+        if (elements.isEmpty()) return null;
+
+        TLongObjectHashMap<T> fingerprintIndex = new TLongObjectHashMap<T>(elements.size());
+        for (T element : elements) {
+            long fingerprint = element.getFingerprint();
+            if (fingerprint != 0) fingerprintIndex.put(fingerprint, element);
+        }
+        return fingerprintIndex;
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the values of the current row.
+     * Elements built from rows with the same fingerprint are reused when the content is reloaded.
+     */
+    private static long computeFingerprint(ResultSet resultSet, int columnCount) throws SQLException {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 1; i <= columnCount; i++) {
+            String value = resultSet.getString(i);
+            if (value == null) {
+                hash = (hash ^ 0xFFFF) * 0x100000001b3L;
+            } else {
+                for (int j = 0; j < value.length(); j++) {
+                    hash = (hash ^ value.charAt(j)) * 0x100000001b3L;
+                }
+            }
+            hash = (hash ^ 0xFFFE) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static boolean isReusable(DynamicContentElement element) {
+        if (element == null || element.isDisposed()) {
+            return false;
+        }
+        if (element instanceof DBObject) {
+            DBObject parentObject = ((DBObject) element).getParentObject();
+            return parentObject == null || !parentObject.isDisposed();
+        }
+        if (element instanceof DBObjectRelation) {
+            DBObjectRelation objectRelation = (DBObjectRelation) element;
+            return !objectRelation.getSourceObject().isDisposed() && !objectRelation.getTargetObject().isDisposed();
+        }
+        return true;
     }
 
     public class LoaderCache {
@@ -26,6 +26,14 @@ import java.util.List;
 public abstract class DynamicSubcontentCustomLoader<T extends DynamicContentElement> implements DynamicContentLoader<T> {
     public abstract T resolveElement(DynamicContent<T> dynamicContent, DynamicContentElement sourceElement);
 
+    /**
+     * The elements of the source content to be resolved. Loaders able to narrow down
+     * the candidates (e.g. by using an index of the source content) may override this.
+     */
+    protected List getSourceElements(DynamicContent<T> dynamicContent, DynamicContent sourceContent) {
+        return sourceContent.getElements();
+    }
+
     public void reloadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
         loadContent(dynamicContent);
     }
@@ -33,7 +41,7 @@ public abstract class DynamicSubcontentCustomLoader<T extends DynamicContentElem
     public void loadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
         List<T> list = null;
         SubcontentDependencyAdapter dependencyAdapter = (SubcontentDependencyAdapter) dynamicContent.getDependencyAdapter();
-        for (Object object : dependencyAdapter.getSourceContent().getElements()) {
+        for (Object object : getSourceElements(dynamicContent, dependencyAdapter.getSourceContent())) {
             if (dynamicContent.isDisposed()) return;
             DynamicContentElement sourceElement = (DynamicContentElement) object;
             T element = resolveElement(dynamicContent, sourceElement);
@@ -18,7 +18,9 @@ package com.dci.intellij.dbn.common.content.loader;
 
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentElement;
+import com.dci.intellij.dbn.common.content.DynamicContentGrouping;
 import com.dci.intellij.dbn.common.content.dependency.SubcontentDependencyAdapter;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,22 +31,48 @@ import java.util.List;
  */
 public abstract class DynamicSubcontentLoader<T extends DynamicContentElement> implements DynamicContentLoader<T> {
     private boolean optimized;
+    private DynamicContentGrouping grouping;
 
     protected DynamicSubcontentLoader(boolean optimized) {
         this.optimized = optimized;
     }
 
+    /**
+     * @param grouping grouping of the source content elements by the parent of the dynamic content they belong to.
+     *                 The elements are then sliced from the group index of the source content,
+     *                 instead of matching all elements of the source content.
+     */
+    protected DynamicSubcontentLoader(boolean optimized, DynamicContentGrouping grouping) {
+        this.optimized = optimized;
+        this.grouping = grouping;
+    }
+
     /**
      * Check if the source element matches the criteria of the dynamic content.
      * If it matches, it will be added as
      */
     public abstract boolean match(T sourceElement, DynamicContent dynamicContent);
 
+    /**
+     * Loader reading the elements of one single content straight from database (e.g. the columns of one table),
+     * used when the content is reloaded on its own. The dependency adapter then replaces the elements of the
+     * content in the source content, which stays loaded.
+     * @return null if the content can only be loaded from the source content
+     */
+    @Nullable
+    public DynamicContentLoader<T> getAlternativeLoader() {
+        return null;
+    }
+
     public void loadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
         List<T> list = null;
         boolean matchedOnce = false;
         SubcontentDependencyAdapter dependencyAdapter = (SubcontentDependencyAdapter) dynamicContent.getDependencyAdapter();
-        for (Object object : dependencyAdapter.getSourceContent().getElements()) {
+        DynamicContent sourceContent = dependencyAdapter.getSourceContent();
+        List sourceElements = grouping == null ?
+                sourceContent.getElements() :
+                sourceContent.getElementGroup(grouping, dynamicContent.getParent());
+        for (Object object : sourceElements) {
             if (dynamicContent.isDisposed()) return; // stop if disposed during loading
 
             T element = (T) object;
@@ -66,6 +94,9 @@ public abstract class DynamicSubcontentLoader<T extends DynamicContentElement> i
     }
 
     public void reloadContent(DynamicContent<T> dynamicContent) throws DynamicContentLoaderException {
-
+        DynamicContentLoader<T> alternativeLoader = getAlternativeLoader();
+        if (alternativeLoader != null) {
+            alternativeLoader.reloadContent(dynamicContent);
+        }
     }
 }
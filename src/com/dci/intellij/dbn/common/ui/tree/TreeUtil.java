@@ -70,6 +70,11 @@ public class TreeUtil {
         notifyTreeModelListeners(treeModelListeners, eventType, event);
     }
 
+    public static void notifyTreeModelListeners(Object source, Set<TreeModelListener> treeModelListeners, TreePath path, TreeEventType eventType, int[] childIndices, Object[] children) {
+        TreeModelEvent event = new TreeModelEvent(source, path, childIndices, children);
+        notifyTreeModelListeners(treeModelListeners, eventType, event);
+    }
+
     private static void notifyTreeModelListeners(final Set<TreeModelListener> treeModelListeners, final TreeEventType eventType, final TreeModelEvent event) {
         new ConditionalLaterInvocator() {
             @Override
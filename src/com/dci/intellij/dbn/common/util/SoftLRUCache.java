@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.common.util;
+
+import com.dci.intellij.dbn.common.dispose.DisposeUtil;
+import com.intellij.openapi.Disposable;
+import gnu.trove.THashMap;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size bounded cache keeping the most recently used entries strongly reachable.
+ * Entries evicted from the recently used set are only softly reachable: they are served (and promoted back)
+ * as long as the garbage collector did not reclaim them, so values still referenced elsewhere keep their identity.
+ * {@link Disposable} values dropped by the cache while still reachable (replaced or cleared) are disposed.
+ * All operations are synchronized.
+ */
+public class SoftLRUCache<K, V> {
+    private final int maxSize;
+    private final Map<K, V> recentEntries;
+    private final Map<K, SoftValue<K, V>> softEntries = new THashMap<K, SoftValue<K, V>>();
+    private final ReferenceQueue<V> referenceQueue = new ReferenceQueue<V>();
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public SoftLRUCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.recentEntries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > SoftLRUCache.this.maxSize) {
+                    K key = eldest.getKey();
+                    softEntries.put(key, new SoftValue<K, V>(key, eldest.getValue(), referenceQueue));
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        purgeCollectedEntries();
+        V value = recentEntries.get(key);
+        if (value == null) {
+            SoftValue<K, V> softValue = softEntries.remove(key);
+            value = softValue == null ? null : softValue.get();
+            if (value == null) {
+                missCount++;
+                return null;
+            }
+            recentEntries.put(key, value);
+        }
+        hitCount++;
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        purgeCollectedEntries();
+        SoftValue<K, V> softValue = softEntries.remove(key);
+        if (softValue != null) release(softValue.get(), value);
+        release(recentEntries.put(key, value), value);
+    }
+
+    /**
+     * The values currently in the cache (strongly or softly reachable).
+     */
+    public synchronized List<V> values() {
+        List<V> values = new ArrayList<V>(recentEntries.values());
+        for (SoftValue<K, V> softValue : softEntries.values()) {
+            V value = softValue.get();
+            if (value != null) values.add(value);
+        }
+        return values;
+    }
+
+    public synchronized void clear() {
+        for (V value : values()) {
+            release(value, null);
+        }
+        recentEntries.clear();
+        softEntries.clear();
+        while (referenceQueue.poll() != null) {
+            // drain
+        }
+    }
+
+    private void release(V value, V replacement) {
+        if (value instanceof Disposable && value != replacement) {
+            DisposeUtil.dispose((Disposable) value);
+        }
+    }
+
+    private void purgeCollectedEntries() {
+        Object reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            SoftValue softValue = (SoftValue) reference;
+            if (softEntries.get(softValue.key) == softValue) {
+                softEntries.remove(softValue.key);
+            }
+        }
+    }
+
+    /*********************************************************
+     *                       Statistics                      *
+     *********************************************************/
+    public synchronized int getSize() {
+        return recentEntries.size();
+    }
+
+    public synchronized int getSoftSize() {
+        purgeCollectedEntries();
+        return softEntries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return recentEntries.size() + " entries (" + softEntries.size() + " soft), " +
+                "hits " + hitCount + ", misses " + missCount + ", evictions " + evictionCount;
+    }
+
+    private static class SoftValue<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private SoftValue(K key, V value, ReferenceQueue<V> referenceQueue) {
+            super(value, referenceQueue);
+            this.key = key;
+        }
+    }
+}
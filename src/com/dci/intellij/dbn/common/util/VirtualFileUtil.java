@@ -21,6 +21,7 @@ import com.dci.intellij.dbn.vfs.DatabaseFileSystem;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -81,7 +82,7 @@ public class VirtualFileUtil {
     }
 
     public static VirtualFile[] lookupFilesForName(Module module, String name) {
-        ProjectRootManager rootManager = ProjectRootManager.getInstance(module.getProject());
+        ModuleRootManager rootManager = ModuleRootManager.getInstance(module);
         VirtualFile[] contentRoots = rootManager.getContentRoots();
         return lookupFilesForName(contentRoots, name);
     }
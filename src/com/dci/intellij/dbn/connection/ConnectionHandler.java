@@ -22,16 +22,21 @@ import java.sql.SQLException;
 import javax.swing.Icon;
 
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
+import com.dci.intellij.dbn.common.content.NameSymbolTable;
 import com.dci.intellij.dbn.common.environment.EnvironmentType;
 import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.connection.config.ConnectionSettings;
 import com.dci.intellij.dbn.connection.transaction.UncommittedChangeBundle;
 import com.dci.intellij.dbn.database.DatabaseInterfaceProvider;
+import com.dci.intellij.dbn.editor.code.SourceCodeChangeChecker;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguage;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguageVersion;
+import com.dci.intellij.dbn.navigation.ObjectNameIndex;
 import com.dci.intellij.dbn.navigation.psi.NavigationPsiCache;
 import com.dci.intellij.dbn.object.DBSchema;
 import com.dci.intellij.dbn.object.common.DBObjectBundle;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
+import com.dci.intellij.dbn.object.common.loader.DatabaseMetadataCache;
 import com.dci.intellij.dbn.vfs.SQLConsoleFile;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.module.Module;
@@ -86,6 +91,11 @@ public interface ConnectionHandler extends Disposable{
 
     Filter<BrowserTreeNode> getObjectFilter();
     NavigationPsiCache getPsiCache();
+    DatabaseMetadataCache getMetadataCache();
+    NameSymbolTable getNameSymbolTable();
+    ObjectNameIndex getObjectNameIndex();
+    SourceCodeChangeChecker getSourceCodeChangeChecker();
+    DatabaseLoaderScheduler getLoaderScheduler();
 
     EnvironmentType getEnvironmentType();
     UncommittedChangeBundle getUncommittedChanges();
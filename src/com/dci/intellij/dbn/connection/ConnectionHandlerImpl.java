@@ -29,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import com.dci.intellij.dbn.browser.model.BrowserTreeChangeListener;
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.common.Icons;
+import com.dci.intellij.dbn.common.content.NameSymbolTable;
 import com.dci.intellij.dbn.common.dispose.DisposeUtil;
 import com.dci.intellij.dbn.common.environment.EnvironmentType;
 import com.dci.intellij.dbn.common.event.EventManager;
@@ -38,12 +39,18 @@ import com.dci.intellij.dbn.common.ui.tree.TreeEventType;
 import com.dci.intellij.dbn.connection.config.ConnectionSettings;
 import com.dci.intellij.dbn.connection.transaction.UncommittedChangeBundle;
 import com.dci.intellij.dbn.database.DatabaseInterfaceProvider;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import com.dci.intellij.dbn.editor.code.SourceCodeChangeChecker;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguage;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguageVersion;
+import com.dci.intellij.dbn.navigation.ObjectNameIndex;
 import com.dci.intellij.dbn.navigation.psi.NavigationPsiCache;
 import com.dci.intellij.dbn.object.DBSchema;
 import com.dci.intellij.dbn.object.common.DBObjectBundle;
 import com.dci.intellij.dbn.object.common.DBObjectBundleImpl;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
+import com.dci.intellij.dbn.object.common.loader.DatabaseMetadataCache;
+import com.dci.intellij.dbn.object.common.status.DBObjectStatusPoller;
 import com.dci.intellij.dbn.vfs.SQLConsoleFile;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.progress.ProgressIndicator;
@@ -65,12 +72,21 @@ public class ConnectionHandlerImpl implements ConnectionHandler {
 
     private SQLConsoleFile sqlConsoleFile;
     private NavigationPsiCache psiCache = new NavigationPsiCache(this);
+    private DatabaseMetadataCache metadataCache = new DatabaseMetadataCache(this);
+    private NameSymbolTable nameSymbolTable = new NameSymbolTable();
+    private ObjectNameIndex objectNameIndex = new ObjectNameIndex();
+    private DatabaseLoaderScheduler loaderScheduler;
+    private DBObjectStatusPoller statusPoller;
+    private SourceCodeChangeChecker sourceCodeChangeChecker;
 
     public ConnectionHandlerImpl(ConnectionBundle connectionBundle, ConnectionSettings connectionSettings) {
         this.connectionBundle = connectionBundle;
         this.connectionSettings = connectionSettings;
         connectionStatus = new ConnectionStatus();
         connectionPool = new ConnectionPool(this);
+        loaderScheduler = new DatabaseLoaderScheduler(getName(), connectionSettings.getDetailSettings().getMetadataLoadParallelism());
+        statusPoller = new DBObjectStatusPoller(this);
+        sourceCodeChangeChecker = new SourceCodeChangeChecker(this);
     }
 
     public ConnectionBundle getConnectionBundle() {
@@ -109,6 +125,30 @@ public class ConnectionHandlerImpl implements ConnectionHandler {
         return psiCache;
     }
 
+    @Override
+    public DatabaseMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
+    @Override
+    public NameSymbolTable getNameSymbolTable() {
+        return nameSymbolTable;
+    }
+
+    @Override
+    public ObjectNameIndex getObjectNameIndex() {
+        return objectNameIndex;
+    }
+
+    public SourceCodeChangeChecker getSourceCodeChangeChecker() {
+        return sourceCodeChangeChecker;
+    }
+
+    @Override
+    public DatabaseLoaderScheduler getLoaderScheduler() {
+        return loaderScheduler;
+    }
+
     @Override
     public EnvironmentType getEnvironmentType() {
         return getSettings().getDetailSettings().getEnvironmentType();
@@ -363,10 +403,17 @@ public class ConnectionHandlerImpl implements ConnectionHandler {
     public void dispose() {
         if (!isDisposed) {
             isDisposed = true;
+            DisposeUtil.dispose(statusPoller);
+            DisposeUtil.dispose(sourceCodeChangeChecker);
+            DisposeUtil.dispose(loaderScheduler);
             DisposeUtil.dispose(objectBundle);
             DisposeUtil.dispose(connectionPool);
             DisposeUtil.dispose(sqlConsoleFile);
             DisposeUtil.dispose(psiCache);
+            DisposeUtil.dispose(metadataCache);
+            StatementExecutionStatistics.getInstance().purge(getId());
+            nameSymbolTable.clear();
+            objectNameIndex.clear();
             connectionPool = null;
             changesBundle = null;
         }
@@ -379,8 +426,13 @@ public class ConnectionHandlerImpl implements ConnectionHandler {
     public void setConnectionConfig(final ConnectionSettings connectionSettings) {
         boolean refresh = this.connectionSettings.getDatabaseSettings().hashCode() != connectionSettings.getDatabaseSettings().hashCode();
         this.connectionSettings = connectionSettings;
+        loaderScheduler.setParallelism(connectionSettings.getDetailSettings().getMetadataLoadParallelism());
+        statusPoller.reschedule();
+        sourceCodeChangeChecker.reschedule();
         if (refresh) {
             connectionPool.closeConnectionsSilently();
+            metadataCache.clear();
+            nameSymbolTable.clear();
 
             final Project project = getProject();
             new BackgroundTask(getProject(), "Trying to connect to " + getName(), false) {
@@ -21,6 +21,7 @@ import com.dci.intellij.dbn.common.TimeUtil;
 import com.dci.intellij.dbn.common.event.EventManager;
 import com.dci.intellij.dbn.common.notification.NotificationUtil;
 import com.dci.intellij.dbn.database.DatabaseMetadataInterface;
+import com.dci.intellij.dbn.driver.DatabaseDriverManager;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.diagnostic.Logger;
 
@@ -146,6 +147,8 @@ public class ConnectionPool implements Disposable {
                     connectionWrapper.getConnection().close();
                 } catch (SQLException e) {
                     exception = e;
+                } finally {
+                    DatabaseDriverManager.getInstance().releaseConnection(connectionWrapper.getConnection());
                 }
             }
 
@@ -154,6 +157,8 @@ public class ConnectionPool implements Disposable {
                     standaloneConnection.getConnection().close();
                 } catch (SQLException e) {
                     exception = e;
+                } finally {
+                    DatabaseDriverManager.getInstance().releaseConnection(standaloneConnection.getConnection());
                 }
                 standaloneConnection = null;
             }
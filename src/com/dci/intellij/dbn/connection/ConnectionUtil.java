@@ -20,13 +20,14 @@ import com.dci.intellij.dbn.common.LoggerFactory;
 import com.dci.intellij.dbn.connection.config.ConnectionDatabaseSettings;
 import com.dci.intellij.dbn.connection.config.ConnectionDetailSettings;
 import com.dci.intellij.dbn.connection.config.ConnectionSettings;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionProcessor;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
 import com.dci.intellij.dbn.driver.DatabaseDriverManager;
 import com.intellij.openapi.diagnostic.Logger;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.Driver;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -70,6 +71,8 @@ public class ConnectionUtil {
                 connection.close();
             } catch (SQLException e) {
                 LOGGER.warn("Error closing connection", e);
+            } finally {
+                DatabaseDriverManager.getInstance().releaseConnection(connection);
             }
         }
     }
@@ -79,15 +82,15 @@ public class ConnectionUtil {
         ConnectionSettings connectionSettings = connectionHandler.getSettings();
         ConnectionDatabaseSettings databaseSettings = connectionSettings.getDatabaseSettings();
         ConnectionDetailSettings detailSettings = connectionSettings.getDetailSettings();
-        return connect(databaseSettings, detailSettings.getProperties(), detailSettings.isAutoCommit(), connectionStatus);
+        return connect(databaseSettings, detailSettings.getProperties(), detailSettings.isAutoCommit(), detailSettings.getMetadataFetchSize(), connectionStatus);
     }
 
     public static Connection connect(ConnectionDatabaseSettings databaseSettings, @Nullable Map<String, String> connectionProperties, boolean autoCommit, @Nullable ConnectionStatus connectionStatus) throws SQLException {
-        try {
-            Driver driver = DatabaseDriverManager.getInstance().getDriver(
-                    databaseSettings.getDriverLibrary(),
-                    databaseSettings.getDriver());
+        return connect(databaseSettings, connectionProperties, autoCommit, 0, connectionStatus);
+    }
 
+    public static Connection connect(ConnectionDatabaseSettings databaseSettings, @Nullable Map<String, String> connectionProperties, boolean autoCommit, int fetchSize, @Nullable ConnectionStatus connectionStatus) throws SQLException {
+        try {
             Properties properties = new Properties();
             if (!databaseSettings.isOsAuthentication()) {
                 properties.put("user", databaseSettings.getUser());
@@ -97,10 +100,16 @@ public class ConnectionUtil {
                 properties.putAll(connectionProperties);
             }
 
-            Connection connection = driver.connect(databaseSettings.getDatabaseUrl(), properties);
+            Connection connection = DatabaseDriverManager.getInstance().connect(
+                    databaseSettings.getDriverLibrary(),
+                    databaseSettings.getDriver(),
+                    databaseSettings.getDatabaseUrl(),
+                    properties);
             if (connection == null) {
                 throw new SQLException("Unknown reason.");
             }
+            StatementExecutionStatistics.getInstance().registerConnection(connection, databaseSettings.getId());
+            StatementExecutionProcessor.setDefaultFetchSize(connection, fetchSize);
             connection.setAutoCommit(autoCommit);
             if (connectionStatus != null) {
                 connectionStatus.setStatusMessage(null);
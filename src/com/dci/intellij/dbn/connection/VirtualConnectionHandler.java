@@ -25,16 +25,21 @@ import javax.swing.Icon;
 
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.common.Icons;
+import com.dci.intellij.dbn.common.content.NameSymbolTable;
 import com.dci.intellij.dbn.common.environment.EnvironmentType;
 import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.connection.config.ConnectionSettings;
 import com.dci.intellij.dbn.connection.transaction.UncommittedChangeBundle;
 import com.dci.intellij.dbn.database.DatabaseInterfaceProvider;
+import com.dci.intellij.dbn.editor.code.SourceCodeChangeChecker;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguage;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguageVersion;
+import com.dci.intellij.dbn.navigation.ObjectNameIndex;
 import com.dci.intellij.dbn.navigation.psi.NavigationPsiCache;
 import com.dci.intellij.dbn.object.DBSchema;
 import com.dci.intellij.dbn.object.common.DBObjectBundle;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
+import com.dci.intellij.dbn.object.common.loader.DatabaseMetadataCache;
 import com.dci.intellij.dbn.vfs.SQLConsoleFile;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
@@ -48,12 +53,16 @@ public class VirtualConnectionHandler implements ConnectionHandler {
     private DatabaseInterfaceProvider interfaceProvider;
     private Map<String, String> properties = new HashMap<String, String>();
     private NavigationPsiCache psiCache = new NavigationPsiCache(this);
+    private NameSymbolTable nameSymbolTable = new NameSymbolTable();
+    private ObjectNameIndex objectNameIndex = new ObjectNameIndex();
+    private DatabaseLoaderScheduler loaderScheduler;
 
     public VirtualConnectionHandler(String id, String name, DatabaseType databaseType, Project project){
         this.id = id;
         this.name = name;
         this.project = project;
         this.databaseType = databaseType;
+        this.loaderScheduler = new DatabaseLoaderScheduler(name, 1);
     }
 
     public DatabaseType getDatabaseType() {return databaseType;}
@@ -67,6 +76,31 @@ public class VirtualConnectionHandler implements ConnectionHandler {
         return psiCache;
     }
 
+    @Override
+    public DatabaseMetadataCache getMetadataCache() {
+        return null;
+    }
+
+    @Override
+    public NameSymbolTable getNameSymbolTable() {
+        return nameSymbolTable;
+    }
+
+    @Override
+    public ObjectNameIndex getObjectNameIndex() {
+        return objectNameIndex;
+    }
+
+    @Override
+    public SourceCodeChangeChecker getSourceCodeChangeChecker() {
+        return null;
+    }
+
+    @Override
+    public DatabaseLoaderScheduler getLoaderScheduler() {
+        return loaderScheduler;
+    }
+
     @Override
     public EnvironmentType getEnvironmentType() {
         return null;
@@ -145,5 +179,8 @@ public class VirtualConnectionHandler implements ConnectionHandler {
     public boolean hasUncommittedChanges() {return false;}
     public void commit() throws SQLException {}
     public void rollback() throws SQLException {}
-    public void dispose() {}
+    public void dispose() {
+        loaderScheduler.dispose();
+        objectNameIndex.clear();
+    }
 }
@@ -34,6 +34,7 @@ public class ConnectionActionGroup extends DefaultActionGroup {
         add(new OpenSQLConsoleAction(connectionHandler));
         addSeparator();
         add(new ShowDatabaseInformationAction(connectionHandler));
+        add(new ShowStatementStatisticsAction(connectionHandler));
         add(new DisconnectAction(connectionHandler));
         add(new TestConnectivityAction(connectionHandler));
         addSeparator();
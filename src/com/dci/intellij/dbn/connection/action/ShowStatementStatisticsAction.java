@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.connection.action;
+
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.ui.StatementExecutionStatisticsDialog;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAwareAction;
+
+public class ShowStatementStatisticsAction extends DumbAwareAction {
+    private ConnectionHandler connectionHandler;
+
+    public ShowStatementStatisticsAction(ConnectionHandler connectionHandler) {
+        super("Query Statistics", null, null);
+        this.connectionHandler = connectionHandler;
+    }
+
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        StatementExecutionStatisticsDialog dialog = new StatementExecutionStatisticsDialog(connectionHandler);
+        dialog.show();
+    }
+}
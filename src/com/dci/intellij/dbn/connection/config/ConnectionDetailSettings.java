@@ -37,6 +37,10 @@ public class ConnectionDetailSettings extends ProjectConfiguration<ConnectionDet
     private String environmentTypeId = EnvironmentType.DEFAULT.getId();
     private boolean autoCommit;
     private int idleTimeToDisconnect = 30;
+    private int metadataLoadParallelism = 3;
+    private boolean metadataCacheEnabled = true;
+    private int metadataFetchSize = 500;
+    private int objectStatusPollInterval = 0;
 
     public ConnectionDetailSettings(Project project) {
         super(project);
@@ -99,6 +103,52 @@ public class ConnectionDetailSettings extends ProjectConfiguration<ConnectionDet
         this.idleTimeToDisconnect = idleTimeToDisconnect;
     }
 
+    /**
+     * Maximum number of pool connections used concurrently when loading
+     * the data dictionary of a schema. Values lower than 2 disable parallel loading.
+     */
+    public int getMetadataLoadParallelism() {
+        return metadataLoadParallelism;
+    }
+
+    public void setMetadataLoadParallelism(int metadataLoadParallelism) {
+        this.metadataLoadParallelism = metadataLoadParallelism;
+    }
+
+    /**
+     * Keep a copy of the loaded data dictionary on disk, to be reused (after revalidation) on next startup.
+     */
+    public boolean isMetadataCacheEnabled() {
+        return metadataCacheEnabled;
+    }
+
+    public void setMetadataCacheEnabled(boolean metadataCacheEnabled) {
+        this.metadataCacheEnabled = metadataCacheEnabled;
+    }
+
+    /**
+     * Number of rows fetched per round-trip when reading the data dictionary.
+     * Statements declaring their own fetch size in the interface definition are not affected. 0 leaves the driver default.
+     */
+    public int getMetadataFetchSize() {
+        return metadataFetchSize;
+    }
+
+    public void setMetadataFetchSize(int metadataFetchSize) {
+        this.metadataFetchSize = metadataFetchSize;
+    }
+
+    /**
+     * Interval (seconds) at which the status (valid / debug) of the loaded objects is refreshed in the background. 0 disables polling.
+     */
+    public int getObjectStatusPollInterval() {
+        return objectStatusPollInterval;
+    }
+
+    public void setObjectStatusPollInterval(int objectStatusPollInterval) {
+        this.objectStatusPollInterval = objectStatusPollInterval;
+    }
+
     /*********************************************************
      *                     Configuration                     *
      *********************************************************/
@@ -120,6 +170,10 @@ public class ConnectionDetailSettings extends ProjectConfiguration<ConnectionDet
         autoCommit = SettingsUtil.getBoolean(element, "auto-commit", autoCommit);
         environmentTypeId = SettingsUtil.getString(element, "environment-type", EnvironmentType.DEFAULT.getId());
         idleTimeToDisconnect = SettingsUtil.getInteger(element, "idle-time-to-disconnect", idleTimeToDisconnect);
+        metadataLoadParallelism = SettingsUtil.getInteger(element, "metadata-load-parallelism", metadataLoadParallelism);
+        metadataCacheEnabled = SettingsUtil.getBoolean(element, "metadata-cache", metadataCacheEnabled);
+        metadataFetchSize = SettingsUtil.getInteger(element, "metadata-fetch-size", metadataFetchSize);
+        objectStatusPollInterval = SettingsUtil.getInteger(element, "object-status-poll-interval", objectStatusPollInterval);
 
         Element propertiesElement = element.getChild("properties");
         if (propertiesElement != null) {
@@ -139,6 +193,10 @@ public class ConnectionDetailSettings extends ProjectConfiguration<ConnectionDet
         SettingsUtil.setBoolean(element, "auto-commit", autoCommit);
         SettingsUtil.setString(element, "environment-type", environmentTypeId);
         SettingsUtil.setInteger(element, "idle-time-to-disconnect", idleTimeToDisconnect);
+        SettingsUtil.setInteger(element, "metadata-load-parallelism", metadataLoadParallelism);
+        SettingsUtil.setBoolean(element, "metadata-cache", metadataCacheEnabled);
+        SettingsUtil.setInteger(element, "metadata-fetch-size", metadataFetchSize);
+        SettingsUtil.setInteger(element, "object-status-poll-interval", objectStatusPollInterval);
 
         if (properties.size() > 0) {
             Element propertiesElement = new Element("properties");
@@ -62,6 +62,10 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
     private JPanel generalGroupPanel;
     private JPanel propertiesGroupPanel;
     private JTextField idleTimeTextField;
+    private JTextField metadataLoadParallelismTextField;
+    private JTextField metadataFetchSizeTextField;
+    private JTextField objectStatusPollIntervalTextField;
+    private JCheckBox metadataCacheCheckBox;
     private DBNHeaderForm headerForm;
 
 
@@ -92,6 +96,10 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         registerComponent(encodingComboBox);
         registerComponent(autoCommitCheckBox);
         registerComponent(idleTimeTextField);
+        registerComponent(metadataLoadParallelismTextField);
+        registerComponent(metadataFetchSizeTextField);
+        registerComponent(objectStatusPollIntervalTextField);
+        registerComponent(metadataCacheCheckBox);
         registerComponent(environmentTypesComboBox);
 
         environmentTypesComboBox.setRenderer(environmentTypeCellRenderer);
@@ -171,11 +179,13 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         boolean newAutoCommit = autoCommitCheckBox.isSelected();
         EnvironmentType newEnvironmentType = (EnvironmentType) environmentTypesComboBox.getSelectedItem();
         String newEnvironmentTypeId = newEnvironmentType.getId();
+        int newMetadataFetchSize = ConfigurationEditorUtil.validateIntegerInputValue(metadataFetchSizeTextField, "Metadata Fetch Size", 0, 100000, "");
 
         boolean settingsChanged =
                 !configuration.getProperties().equals(newProperties) ||
                 !configuration.getCharset().equals(newCharset) ||
-                configuration.isAutoCommit() != newAutoCommit;
+                configuration.isAutoCommit() != newAutoCommit ||
+                configuration.getMetadataFetchSize() != newMetadataFetchSize;
 
         boolean environmentChanged =
                 !configuration.getEnvironmentType().getId().equals(newEnvironmentTypeId);
@@ -187,6 +197,12 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         configuration.setAutoCommit(newAutoCommit);
         int idleTimeToDisconnect = ConfigurationEditorUtil.validateIntegerInputValue(idleTimeTextField, "Idle Time to Disconnect (minutes)", 0, 60, "");
         configuration.setIdleTimeToDisconnect(idleTimeToDisconnect);
+        int metadataLoadParallelism = ConfigurationEditorUtil.validateIntegerInputValue(metadataLoadParallelismTextField, "Parallel Metadata Loads", 1, 16, "");
+        configuration.setMetadataLoadParallelism(metadataLoadParallelism);
+        configuration.setMetadataFetchSize(newMetadataFetchSize);
+        int objectStatusPollInterval = ConfigurationEditorUtil.validateIntegerInputValue(objectStatusPollIntervalTextField, "Object Status Poll Interval (seconds)", 0, 3600, "");
+        configuration.setObjectStatusPollInterval(objectStatusPollInterval);
+        configuration.setMetadataCacheEnabled(metadataCacheCheckBox.isSelected());
 
         Project project = getConfiguration().getProject();
         if (environmentChanged) {
@@ -209,6 +225,10 @@ public class ConnectionDetailSettingsForm extends ConfigurationEditorForm<Connec
         autoCommitCheckBox.setSelected(configuration.isAutoCommit());
         environmentTypesComboBox.setSelectedItem(configuration.getEnvironmentType());
         idleTimeTextField.setText(Integer.toString(configuration.getIdleTimeToDisconnect()));
+        metadataLoadParallelismTextField.setText(Integer.toString(configuration.getMetadataLoadParallelism()));
+        metadataFetchSizeTextField.setText(Integer.toString(configuration.getMetadataFetchSize()));
+        objectStatusPollIntervalTextField.setText(Integer.toString(configuration.getObjectStatusPollInterval()));
+        metadataCacheCheckBox.setSelected(configuration.isMetadataCacheEnabled());
     }
 
     @Override
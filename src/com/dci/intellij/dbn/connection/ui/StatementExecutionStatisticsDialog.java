@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.connection.ui;
+
+import com.dci.intellij.dbn.common.ui.dialog.DBNDialog;
+import com.dci.intellij.dbn.common.util.MessageUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.JComponent;
+import java.awt.Toolkit;
+import java.awt.datatransfer.Clipboard;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+
+public class StatementExecutionStatisticsDialog extends DBNDialog {
+    private StatementExecutionStatisticsForm mainComponent;
+    private ConnectionHandler connectionHandler;
+
+    public StatementExecutionStatisticsDialog(ConnectionHandler connectionHandler) {
+        super(connectionHandler.getProject(), "Query Statistics", true);
+        this.connectionHandler = connectionHandler;
+        mainComponent = new StatementExecutionStatisticsForm(connectionHandler);
+        setModal(false);
+        setResizable(true);
+        init();
+    }
+
+    protected String getDimensionServiceKey() {
+        return "DBNavigator.QueryStatistics";
+    }
+
+    protected final Action[] createActions() {
+        return new Action[]{
+                new ExportAction(),
+                new ResetAction(),
+                getCancelAction(),
+                getHelpAction()
+        };
+    }
+
+    private class ExportAction extends AbstractAction {
+        public ExportAction() {
+            super("Copy Report");
+        }
+
+        public void actionPerformed(ActionEvent e) {
+            String report = StatementExecutionStatistics.getInstance().createReport(connectionHandler.getId());
+            Clipboard clipboard = Toolkit.getDefaultToolkit().getSystemClipboard();
+            clipboard.setContents(new StringSelection(report), null);
+            MessageUtil.showInfoMessage("Query statistics report exported to clipboard.", "Query Statistics");
+        }
+    }
+
+    private class ResetAction extends AbstractAction {
+        public ResetAction() {
+            super("Reset");
+        }
+
+        public void actionPerformed(ActionEvent e) {
+            StatementExecutionStatistics.getInstance().reset(connectionHandler.getId());
+            mainComponent.refresh();
+        }
+    }
+
+    @Nullable
+    protected JComponent createCenterPanel() {
+        return mainComponent.getComponent();
+    }
+
+    @Override
+    protected void dispose() {
+        super.dispose();
+        mainComponent.dispose();
+        mainComponent = null;
+        connectionHandler = null;
+    }
+}
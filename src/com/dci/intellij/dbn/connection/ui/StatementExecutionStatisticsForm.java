@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.connection.ui;
+
+import com.dci.intellij.dbn.common.ui.DBNFormImpl;
+import com.dci.intellij.dbn.common.ui.DBNHeaderForm;
+import com.dci.intellij.dbn.common.ui.table.DBNTable;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.ui.UIUtil;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTable;
+import java.awt.BorderLayout;
+import java.awt.Color;
+
+public class StatementExecutionStatisticsForm extends DBNFormImpl {
+    private JPanel mainPanel;
+    private JPanel headerPanel;
+    private JBScrollPane statisticsTableScrollPane;
+    private JTable statisticsTable;
+    private JLabel thresholdLabel;
+
+    private ConnectionHandler connectionHandler;
+
+    public StatementExecutionStatisticsForm(ConnectionHandler connectionHandler) {
+        this.connectionHandler = connectionHandler;
+
+        Color headerBackground = UIUtil.getPanelBackground();
+        if (getEnvironmentSettings(connectionHandler.getProject()).getVisibilitySettings().getDialogHeaders().value()) {
+            headerBackground = connectionHandler.getEnvironmentType().getColor();
+        }
+        DBNHeaderForm headerForm = new DBNHeaderForm(
+                connectionHandler.getName(),
+                connectionHandler.getIcon(),
+                headerBackground);
+        headerPanel.add(headerForm.getComponent(), BorderLayout.CENTER);
+
+        int slowQueryThreshold = StatementExecutionStatistics.getInstance().getSlowQueryThreshold();
+        thresholdLabel.setText(slowQueryThreshold == 0 ?
+                "Slow query log is disabled" :
+                "Statements slower than " + slowQueryThreshold + "ms are logged to the IDE log");
+
+        statisticsTableScrollPane.getViewport().setBackground(statisticsTable.getBackground());
+    }
+
+    private void createUIComponents() {
+        StatementExecutionStatisticsTableModel model = new StatementExecutionStatisticsTableModel(connectionHandler);
+        DBNTable table = new DBNTable(model.getProject(), model, true);
+        table.accommodateColumnsSize();
+        statisticsTable = table;
+    }
+
+    public void refresh() {
+        StatementExecutionStatisticsTableModel model = new StatementExecutionStatisticsTableModel(connectionHandler);
+        statisticsTable.setModel(model);
+        ((DBNTable) statisticsTable).accommodateColumnsSize();
+    }
+
+    @Override
+    public JComponent getComponent() {
+        return mainPanel;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        connectionHandler = null;
+    }
+}
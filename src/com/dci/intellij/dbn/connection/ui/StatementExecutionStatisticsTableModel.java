@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.connection.ui;
+
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import com.intellij.openapi.project.Project;
+
+import javax.swing.event.TableModelListener;
+import javax.swing.table.TableModel;
+import java.util.List;
+
+public class StatementExecutionStatisticsTableModel implements TableModel {
+    private static final String[] COLUMN_NAMES = new String[]{
+            "Statement",
+            "Executions",
+            "Failures",
+            "Total Time (ms)",
+            "Max Time (ms)",
+            "Avg Time (ms)",
+            "Fetch Time (ms)",
+            "Rows"};
+
+    private ConnectionHandler connectionHandler;
+    private List<StatementExecutionStatistics.Entry> entries;
+
+    public StatementExecutionStatisticsTableModel(ConnectionHandler connectionHandler) {
+        this.connectionHandler = connectionHandler;
+        entries = StatementExecutionStatistics.getInstance().getEntries(connectionHandler.getId());
+    }
+
+    public Project getProject() {
+        return connectionHandler.getProject();
+    }
+
+    public int getRowCount() {
+        return entries.size();
+    }
+
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    public String getColumnName(int columnIndex) {
+        return COLUMN_NAMES[columnIndex];
+    }
+
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnIndex == 0 ? String.class : Long.class;
+    }
+
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        StatementExecutionStatistics.Entry entry = entries.get(rowIndex);
+        switch (columnIndex) {
+            case 0: return entry.getProcessorId();
+            case 1: return (long) entry.getExecutionCount();
+            case 2: return (long) entry.getFailureCount();
+            case 3: return entry.getTotalExecutionTime();
+            case 4: return entry.getMaxExecutionTime();
+            case 5: return entry.getAverageExecutionTime();
+            case 6: return entry.getTotalFetchTime();
+            case 7: return entry.getRowCount();
+        }
+        return null;
+    }
+
+    public void setValueAt(Object aValue, int rowIndex, int columnIndex) {}
+    public void addTableModelListener(TableModelListener l) {}
+    public void removeTableModelListener(TableModelListener l) {}
+}
@@ -169,6 +169,14 @@ public class DBNativeDataType implements DynamicContentElement {
         return null;
     }
 
+    public long getFingerprint() {
+        // not loaded from result sets
+        return 0;
+    }
+
+    public void setFingerprint(long fingerprint) {
+    }
+
     public DynamicContent getOwnerContent() {
         return null;
     }
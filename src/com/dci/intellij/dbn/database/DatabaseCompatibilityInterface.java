@@ -34,4 +34,11 @@ public abstract class DatabaseCompatibilityInterface {
 
     public abstract char getIdentifierQuotes();
 
+    /**
+     * Escapes the given value for being embedded in a single quoted string literal.
+     */
+    public String escapeStringLiteral(String value) {
+        return value.replace("'", "''");
+    }
+
 }
@@ -24,7 +24,8 @@ public enum DatabaseFeature {
     OBJECT_DISABLING("Disabling objects"),
     AUTHID_METHOD_EXECUTION("AUDHID method execution (execution on different schema)"),
     FUNCTION_OUT_ARGUMENTS("OUT arguments for functions"),
-    DEBUGGING("Program execution debugging");
+    DEBUGGING("Program execution debugging"),
+    BULK_SOURCE_EXTRACTION("Bulk source code extraction");
 
     private String description;
 
@@ -115,27 +115,27 @@ public interface DatabaseMetadataInterface {
     ResultSet loadClusters(String ownerName, Connection connection) throws SQLException;
 
     /**
-     * Loads the tables of the given owner<br>
+     * Loads the tables of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> TABLE_NAME (char)
      *  <li> IS_TEMPORARY (Y/N)
      */
-    ResultSet loadTables(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadTables(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
     /**
-     * Loads the views of the given owner<br>
+     * Loads the views of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> VIEW_NAME (char)
      *  <li> IS_EDITABLE (Y/N)
      */
-    ResultSet loadViews(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadViews(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
     /**
-     * Loads the materialized views of the given owner<br>
+     * Loads the materialized views of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> VIEW_NAME (char)
      */
-    ResultSet loadMaterializedViews(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadMaterializedViews(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
 
     /**
@@ -313,39 +313,39 @@ public interface DatabaseMetadataInterface {
     ResultSet loadAllTriggers(String ownerName, Connection connection) throws SQLException;
 
     /**
-     * Loads the sequences of the given owner<br>
+     * Loads the sequences of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> SEQUENCE_NAME (char)
      */
-    ResultSet loadSequences(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadSequences(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
 
     /**
-     * Loads the synonyms of the given owner
+     * Loads the synonyms of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> SYNONYM_NAME (char)
      *  <li> OBJECT_OWNER (char)
      *  <li> OBJECT_NAME (char)
      */
-    ResultSet loadSynonyms(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadSynonyms(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
 
 
     /**
-     * Loads the functions of the given owner<br>
+     * Loads the functions of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> FUNCTION_NAME (char)
      *  <li> VALID (Y/N)
      */
-    ResultSet loadFunctions(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadFunctions(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
     /**
-     * Loads the procedures of the given owner<br>
+     * Loads the procedures of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> PROCEDURE_NAME (char)
      *  <li> VALID (Y/N)
      */
-    ResultSet loadProcedures(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadProcedures(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
     /**
      * Loads the dimensions the given owner<br>
@@ -358,13 +358,13 @@ public interface DatabaseMetadataInterface {
     *                        PACKAGES                       *
     *********************************************************/
     /**
-     * Loads the package list of the given owner<br>
+     * Loads the package list of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> PACKAGE_NAME (char)
      *  <li> SPEC_STATUS ('VALID'/'INVALID')
      *  <li> BODY_STATUS ('VALID'/'INVALID')
      */
-    ResultSet loadPackages(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadPackages(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
     /**
      * Loads the function for the given package<br>
@@ -430,7 +430,7 @@ public interface DatabaseMetadataInterface {
     *********************************************************/
 
     /**
-     * Loads the user defined types (UDT) of the given owner<br>
+     * Loads the user defined types (UDT) of the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> TYPE_NAME (char)
      *  <li> SPEC_STATUS ('VALID'/'INVALID')
@@ -439,7 +439,7 @@ public interface DatabaseMetadataInterface {
      *  <li> SUPERTYPE_NAME (char)
      *  <li> TYPECODE (char)
      */
-    ResultSet loadTypes(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadTypes(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
 
 
@@ -545,13 +545,13 @@ public interface DatabaseMetadataInterface {
     *********************************************************/
 
     /**
-     * Loads the database links for the given owner<br>
+     * Loads the database links for the given owner matching the name condition if not null (see FilterCondition.getSqlCondition())<br>
      * Column names of the returned ResultSet
      *  <li> DBLINK_NAME (char)
      *  <li> USER_NAME (char)
      *  <li> HOST (char)
      */
-    ResultSet loadDatabaseLinks(String ownerName, Connection connection) throws SQLException;
+    ResultSet loadDatabaseLinks(String ownerName, String nameCondition, Connection connection) throws SQLException;
 
 
     /**
@@ -591,6 +591,20 @@ public interface DatabaseMetadataInterface {
      */
     ResultSet loadObjectSourceCode(String ownerName, String objectName, String objectType, Connection connection) throws SQLException;
 
+    /**
+     * Loads the source code of all objects of the given type in the given schema (bulk source extraction).
+     * ResultSet should be ordered by object name and line, and contain following columns
+     *  <li> OBJECT_NAME (char)
+     *  <li> CHANGE_TIMESTAMP (date)
+     *  <li> TEXT (char)
+     */
+    ResultSet loadSchemaObjectsSourceCode(String ownerName, String objectType, Connection connection) throws SQLException;
+
+    /**
+     * Loads the source code of all views in the given schema. Same columns as for loadSchemaObjectsSourceCode.
+     */
+    ResultSet loadSchemaViewsSourceCode(String ownerName, Connection connection) throws SQLException;
+
     /**
      * Loads a list of invalid object names for the given owner.
      * This is used to update the status of the objects.
@@ -622,6 +636,36 @@ public interface DatabaseMetadataInterface {
 
     ResultSet loadObjectChangeTimestamp(String ownerName, String objectName, String objectType, Connection connection) throws SQLException;
 
+    /**
+     * Loads the change timestamps of several objects of the given owner in one go.
+     * The object names are passed as comma separated list of quoted names (e.g. 'PKG1', 'PKG2').
+     * ResultSet should contain following columns
+     *  <li> OBJECT_NAME (char)
+     *  <li> OBJECT_TYPE (char) - same types as passed to loadObjectChangeTimestamp
+     *  <li> CHANGE_TIMESTAMP (date)
+     */
+    ResultSet loadObjectChangeTimestamps(String ownerName, String objectNames, Connection connection) throws SQLException;
+
+    /**
+     * Loads the change (ddl) timestamps of all objects of the given owner, used to find out
+     * which objects changed since the metadata of the schema was cached.
+     * ResultSet should contain following columns
+     *  <li> OBJECT_NAME (char)
+     *  <li> OBJECT_TYPE (char)
+     *  <li> CHANGE_TIMESTAMP (date)
+     */
+    ResultSet loadSchemaObjectChangeTimestamps(String ownerName, Connection connection) throws SQLException;
+
+    /**
+     * Searches the data dictionary for schema objects with names matching the given (upper case) LIKE pattern.
+     * Wildcards to be matched literally are escaped with '!'. At most maxRows rows are returned.
+     * Column names of the returned ResultSet
+     *  <li> SCHEMA_NAME (char)
+     *  <li> OBJECT_NAME (char)
+     *  <li> OBJECT_TYPE (char) - the name of the object type (e.g. TABLE, VIEW, MATERIALIZED VIEW, DBLINK)
+     */
+    ResultSet searchObjects(String namePattern, int maxRows, Connection connection) throws SQLException;
+
     String createDDLStatement(DatabaseObjectTypeId objectTypeId, String objectName, String code);
 
     void enableTrigger(String ownerName, String triggerName, Connection connection) throws SQLException;
@@ -53,6 +53,11 @@ public class DatabaseInterfaceImpl {
         return executionProcessor.executeQuery(connection, forceExecution, arguments);
     }
 
+    protected ResultSet executeFilteredQuery(Connection connection, @Nullable String nameCondition, String loaderId, @Nullable Object... arguments) throws SQLException {
+        StatementExecutionProcessor executionProcessor = processors.get(loaderId);
+        return executionProcessor.executeFilteredQuery(connection, nameCondition, arguments);
+    }
+
     protected <T extends CallableStatementOutput> T executeCall(Connection connection, @Nullable T outputReader, String loaderId, @Nullable Object... arguments) throws SQLException {
         StatementExecutionProcessor executionProcessor = processors.get(loaderId);
         return executionProcessor.executeCall(arguments, outputReader, connection);
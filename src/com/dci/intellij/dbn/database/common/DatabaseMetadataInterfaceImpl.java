@@ -96,16 +96,16 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
         return executeQuery(connection, "clusters", ownerName);
     }
 
-    public ResultSet loadTables(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "tables", ownerName);
+    public ResultSet loadTables(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "tables", ownerName);
     }
 
-    public ResultSet loadViews(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "views", ownerName);
+    public ResultSet loadViews(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "views", ownerName);
     }
 
-    public ResultSet loadMaterializedViews(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "materialized-views", ownerName);
+    public ResultSet loadMaterializedViews(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "materialized-views", ownerName);
     }
 
     public ResultSet loadColumns(String ownerName, String datasetName, Connection connection) throws SQLException {
@@ -164,12 +164,12 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
         return executeQuery(connection, "all-triggers", ownerName);
     }
 
-    public ResultSet loadFunctions(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "functions", ownerName);
+    public ResultSet loadFunctions(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "functions", ownerName);
     }
 
-    public ResultSet loadProcedures(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "procedures", ownerName);
+    public ResultSet loadProcedures(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "procedures", ownerName);
     }
 
     public ResultSet loadDimensions(String ownerName, Connection connection) throws SQLException {
@@ -180,8 +180,8 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
    /*********************************************************
     *                        PACKAGES                       *
     *********************************************************/
-    public ResultSet loadPackages(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "packages", ownerName);
+    public ResultSet loadPackages(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "packages", ownerName);
     }
 
     public ResultSet loadPackageFunctions(String ownerName, String packageName, Connection connection) throws SQLException {
@@ -211,8 +211,8 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
     /*********************************************************
      *                        TYPES                          *
      *********************************************************/
-    public ResultSet loadTypes(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "types", ownerName);
+    public ResultSet loadTypes(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "types", ownerName);
     }
 
     public ResultSet loadTypeAttributes(String ownerName, String typeName, Connection connection) throws SQLException {
@@ -261,24 +261,24 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
     *                   DATABASE LINKS                      *
     *********************************************************/
 
-    public ResultSet loadDatabaseLinks(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "database-links", ownerName);
+    public ResultSet loadDatabaseLinks(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "database-links", ownerName);
     }
 
    /*********************************************************
     *                      SEQUENCES                        *
     *********************************************************/
 
-    public ResultSet loadSequences(String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "sequences", ownerName);
+    public ResultSet loadSequences(String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "sequences", ownerName);
     }
 
     /*********************************************************
      *                       SYNONYMS                        *
      *********************************************************/
 
-    public ResultSet loadSynonyms(final String ownerName, Connection connection) throws SQLException {
-        return executeQuery(connection, "synonyms", ownerName);
+    public ResultSet loadSynonyms(final String ownerName, String nameCondition, Connection connection) throws SQLException {
+        return executeFilteredQuery(connection, nameCondition, "synonyms", ownerName);
     }
 
    /*********************************************************
@@ -313,6 +313,14 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
         return executeQuery(connection, "object-source-code", ownerName, objectName, objectType);
     }
 
+    public ResultSet loadSchemaObjectsSourceCode(String ownerName, String objectType, Connection connection) throws SQLException {
+        return executeQuery(connection, "schema-objects-source-code", ownerName, objectType);
+    }
+
+    public ResultSet loadSchemaViewsSourceCode(String ownerName, Connection connection) throws SQLException {
+        return executeQuery(connection, "schema-views-source-code", ownerName);
+    }
+
    /*********************************************************
     *                   MISCELLANEOUS                       *
     *********************************************************/
@@ -320,6 +328,18 @@ public abstract class DatabaseMetadataInterfaceImpl extends DatabaseInterfaceImp
         return executeQuery(connection, "object-change-timestamp", ownerName, objectName, objectType);
     }
 
+    public ResultSet loadObjectChangeTimestamps(String ownerName, String objectNames, Connection connection) throws SQLException {
+        return executeQuery(connection, "object-change-timestamps", ownerName, objectNames);
+    }
+
+    public ResultSet loadSchemaObjectChangeTimestamps(String ownerName, Connection connection) throws SQLException {
+        return executeQuery(connection, "schema-object-change-timestamps", ownerName);
+    }
+
+    public ResultSet searchObjects(String namePattern, int maxRows, Connection connection) throws SQLException {
+        return executeQuery(connection, "search-objects", namePattern, maxRows);
+    }
+
     public ResultSet loadInvalidObjects(String ownerName, Connection connection) throws SQLException {
         return executeQuery(connection, "invalid-objects", ownerName);
     }
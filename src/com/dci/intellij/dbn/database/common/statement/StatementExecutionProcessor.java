@@ -31,25 +31,40 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.WeakHashMap;
 
 public class StatementExecutionProcessor {
     private DatabaseInterfaceProvider interfaceProvider;
     private static final Logger LOGGER = LoggerFactory.createLogger();
     private String id;
     private boolean isQuery;
-    private int timeout;
+    private int timeout; // 0 if not specified
+    private int fetchSize;
+    private String nameColumn;
+    // connections on which the filtered variant of the query failed (e.g. name column not selectable by its name)
+    private final Set<Connection> nameFilterUnsupported = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Connection, Boolean>()));
     private List<StatementDefinition> statementDefinitions = new ArrayList<StatementDefinition>();
     private SQLException lastException;
     public static final int DEFAULT_TIMEOUT = 30;
+    public static final int DEFAULT_QUERY_TIMEOUT = 60;
+
+    private static final Map<Connection, Integer> DEFAULT_FETCH_SIZES = Collections.synchronizedMap(new WeakHashMap<Connection, Integer>());
 
     public StatementExecutionProcessor(Element element, DatabaseInterfaceProvider interfaceProvider) {
         this.interfaceProvider = interfaceProvider;
         id = element.getAttributeValue("id");
         isQuery = Boolean.parseBoolean(element.getAttributeValue("is-query"));
         String timeoutS = element.getAttributeValue("timeout");
-        timeout = StringUtil.isEmpty(timeoutS) ? DEFAULT_TIMEOUT : Integer.parseInt(timeoutS);
+        timeout = StringUtil.isEmpty(timeoutS) ? 0 : Integer.parseInt(timeoutS);
+        String fetchSizeS = element.getAttributeValue("fetch-size");
+        fetchSize = StringUtil.isEmpty(fetchSizeS) ? 0 : Integer.parseInt(fetchSizeS);
+        String nameColumnS = element.getAttributeValue("name-column");
+        nameColumn = StringUtil.isEmpty(nameColumnS) ? null : nameColumnS;
         if (element.getChildren().isEmpty()) {
             String statementText = element.getContent(0).getValue().trim();
             readStatements(statementText, null);
@@ -85,15 +100,55 @@ public class StatementExecutionProcessor {
         return id;
     }
 
+    /**
+     * Registers the fetch size to be used on the given connection by the queries not declaring their own "fetch-size".
+     */
+    public static void setDefaultFetchSize(Connection connection, int fetchSize) {
+        if (fetchSize > 0) {
+            DEFAULT_FETCH_SIZES.put(connection, fetchSize);
+        } else {
+            DEFAULT_FETCH_SIZES.remove(connection);
+        }
+    }
+
+    private int getFetchSize(Connection connection) {
+        if (fetchSize > 0) {
+            return fetchSize;
+        }
+        Integer defaultFetchSize = DEFAULT_FETCH_SIZES.get(connection);
+        return defaultFetchSize == null ? 0 : defaultFetchSize;
+    }
+
+    private int getStatementTimeout() {
+        return timeout > 0 ? timeout : DEFAULT_QUERY_TIMEOUT;
+    }
+
+    @Nullable
+    private String getNameCondition(Connection connection, @Nullable String nameCondition) {
+        return !isQuery || nameColumn == null || nameFilterUnsupported.contains(connection) ? null : nameCondition;
+    }
+
     public ResultSet executeQuery(Connection connection, Object... arguments) throws SQLException {
         return executeQuery(connection, false, arguments);
     }
 
     public ResultSet executeQuery(Connection connection, boolean forceExecution, Object... arguments) throws SQLException {
+        return executeQuery(connection, forceExecution, null, arguments);
+    }
+
+    /**
+     * Executes the query restricted to the rows matching the given object name condition (see FilterCondition.getSqlCondition()),
+     * if the query declares a "name-column". The condition is ignored otherwise, or if null.
+     */
+    public ResultSet executeFilteredQuery(Connection connection, @Nullable String nameCondition, Object... arguments) throws SQLException {
+        return executeQuery(connection, false, nameCondition, arguments);
+    }
+
+    private ResultSet executeQuery(Connection connection, boolean forceExecution, @Nullable String nameCondition, Object... arguments) throws SQLException {
         SQLException exception = null;
         for (StatementDefinition statementDefinition : statementDefinitions) {
             try {
-                return executeQuery(connection, forceExecution, SettingsUtil.isDebugEnabled, statementDefinition, arguments);
+                return executeQuery(connection, forceExecution, SettingsUtil.isDebugEnabled, statementDefinition, nameCondition, arguments);
             } catch (SQLException e){
                 exception = e;
             }
@@ -101,16 +156,31 @@ public class StatementExecutionProcessor {
         throw exception;
     }
 
-    private ResultSet executeQuery(Connection connection, boolean forceExecution, boolean debug, StatementDefinition statementDefinition, Object... arguments) throws SQLException {
+    private ResultSet executeQuery(Connection connection, boolean forceExecution, boolean debug, StatementDefinition statementDefinition, @Nullable String nameCondition, Object... arguments) throws SQLException {
         if (forceExecution || statementDefinition.canExecute(connection)) {
             String statementText = statementDefinition.createStatement(arguments);
+            nameCondition = getNameCondition(connection, nameCondition);
+            if (nameCondition != null) {
+                ResultSet resultSet = executeFilteredStatement(connection, debug, statementText, nameCondition, arguments);
+                if (resultSet != null) return resultSet;
+            }
             if (debug) LOGGER.info("[DBN-INFO] Executing statement: " + statementText);
 
             Statement statement = connection.createStatement();
-            statement.setQueryTimeout(60);
+            statement.setQueryTimeout(getStatementTimeout());
+            if (isQuery) {
+                int fetchSize = getFetchSize(connection);
+                if (fetchSize > 0) statement.setFetchSize(fetchSize);
+            }
             boolean executionSuccessful = true;
+            long startTimestamp = System.currentTimeMillis();
             try {
                 statement.execute(statementText);
+                if (nameCondition != null) {
+                    // the statement works, only the filtered one does not: filter in java from now on (on this connection)
+                    nameFilterUnsupported.add(connection);
+                    LOGGER.warn("Object name filter could not be applied to query '" + id + "'. Filtering the results in memory.");
+                }
                 if (isQuery) {
                     return statement.getResultSet();
                 } else {
@@ -131,6 +201,8 @@ public class StatementExecutionProcessor {
                 throw exception;
             } finally {
                 statementDefinition.updateExecutionStatus(executionSuccessful);
+                long duration = System.currentTimeMillis() - startTimestamp;
+                StatementExecutionStatistics.getInstance().recordExecution(connection, id, statementText, arguments, duration, !executionSuccessful);
             }
         } else {
             if (lastException == null) {
@@ -140,6 +212,39 @@ public class StatementExecutionProcessor {
         }
     }
 
+    /**
+     * Executes the query restricted to the rows whose name column matches the name condition, so the rows
+     * rejected by the object name filter are not transferred. Returns null if the filtered query fails,
+     * leaving it to the caller to execute the plain query (the elements are filtered in java anyway).
+     */
+    @Nullable
+    private ResultSet executeFilteredStatement(Connection connection, boolean debug, String statementText, String nameCondition, Object... arguments) {
+        String filteredStatementText =
+                "select * from (" + statementText + ") NAME_FILTERED " +
+                "where " + nameCondition.replace("[NAME]", nameColumn);
+        if (debug) LOGGER.info("[DBN-INFO] Executing statement: " + filteredStatementText);
+
+        Statement statement = null;
+        boolean executionSuccessful = true;
+        long startTimestamp = System.currentTimeMillis();
+        try {
+            statement = connection.createStatement();
+            statement.setQueryTimeout(getStatementTimeout());
+            int fetchSize = getFetchSize(connection);
+            if (fetchSize > 0) statement.setFetchSize(fetchSize);
+            statement.execute(filteredStatementText);
+            return statement.getResultSet();
+        } catch (SQLException exception) {
+            executionSuccessful = false;
+            if (debug) LOGGER.info("[DBN-ERROR] Error executing statement: " + filteredStatementText + "\n" + "Cause: " + exception.getMessage());
+            ConnectionUtil.closeStatement(statement);
+            return null;
+        } finally {
+            long duration = System.currentTimeMillis() - startTimestamp;
+            StatementExecutionStatistics.getInstance().recordExecution(connection, id, filteredStatementText, arguments, duration, !executionSuccessful);
+        }
+    }
+
     public <T extends CallableStatementOutput> T executeCall(@Nullable Object[] arguments, @Nullable T outputReader, Connection connection) throws SQLException {
         SQLException exception = null;
         for (StatementDefinition statementDefinition : statementDefinitions) {
@@ -158,13 +263,16 @@ public class StatementExecutionProcessor {
 
         CallableStatement callableStatement = connection.prepareCall (statementText);
         //callableStatement.setQueryTimeout(20);
+        boolean executionSuccessful = true;
+        long startTimestamp = System.currentTimeMillis();
         try {
             if (outputReader != null) outputReader.registerParameters(callableStatement);
-            callableStatement.setQueryTimeout(timeout);
+            callableStatement.setQueryTimeout(timeout > 0 ? timeout : DEFAULT_TIMEOUT);
             callableStatement.execute();
             if (outputReader != null) outputReader.read(callableStatement);
             return outputReader;
         } catch (SQLException exception) {
+            executionSuccessful = false;
             if (debug)
                 LOGGER.info(
                         "[DBN-ERROR] Error executing statement: " + statementText +
@@ -173,6 +281,8 @@ public class StatementExecutionProcessor {
             throw exception;
         } finally {
             ConnectionUtil.closeStatement(callableStatement);
+            long duration = System.currentTimeMillis() - startTimestamp;
+            StatementExecutionStatistics.getInstance().recordExecution(connection, id, statementText, arguments, duration, !executionSuccessful);
         }
     }
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.database.common.statement;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.intellij.openapi.diagnostic.Logger;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Execution statistics of the database interface statements (data dictionary queries, calls...)
+ * aggregated per connection and statement execution processor id.
+ * Executions exceeding the slow query threshold are logged together with the statement text and arguments.
+ */
+public class StatementExecutionStatistics {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final StatementExecutionStatistics INSTANCE = new StatementExecutionStatistics();
+    public static final String UNKNOWN_CONNECTION = "unknown";
+
+    private final Map<Connection, String> connectionIds = Collections.synchronizedMap(new WeakHashMap<Connection, String>());
+    private final Map<String, Entry> entries = new THashMap<String, Entry>();
+    private final ThreadLocal<Entry[]> lastExecution = new ThreadLocal<Entry[]>();
+    private volatile int slowQueryThreshold = 0;
+
+    private StatementExecutionStatistics() {}
+
+    public static StatementExecutionStatistics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Execution time (milliseconds) above which statements are logged. 0 disables the slow query log.
+     */
+    public int getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(int slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    /**
+     * Associates the jdbc connection with the id of the connection handler it was opened for,
+     * so that statements executed on it can be accounted for the right connection.
+     */
+    public void registerConnection(Connection connection, String connectionId) {
+        connectionIds.put(connection, connectionId);
+    }
+
+    private String getConnectionId(Connection connection) {
+        String connectionId = connectionIds.get(connection);
+        return connectionId == null ? UNKNOWN_CONNECTION : connectionId;
+    }
+
+    private Entry getEntry(Connection connection, String processorId) {
+        return getEntry(getConnectionId(connection), processorId);
+    }
+
+    private Entry getEntry(String connectionId, String processorId) {
+        String key = connectionId + "#" + processorId;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(connectionId, processorId);
+                entries.put(key, entry);
+            }
+            return entry;
+        }
+    }
+
+    public void recordExecution(Connection connection, String processorId, String statementText, @Nullable Object[] arguments, long duration, boolean failed) {
+        Entry entry = getEntry(connection, processorId);
+        entry.recordExecution(statementText, duration, failed);
+        Entry[] capturedExecution = lastExecution.get();
+        if (capturedExecution != null) {
+            capturedExecution[0] = entry;
+        }
+
+        if (slowQueryThreshold > 0 && duration > slowQueryThreshold) {
+            LOGGER.warn("[DBN-WARN] Slow execution of statement '" + processorId + "' (" + duration + "ms, connection " + entry.connectionId + "): " +
+                    statementText + "\nArguments: " + (arguments == null ? "[]" : Arrays.toString(arguments)));
+        }
+    }
+
+    /**
+     * Starts capturing the statistics entry of the statements executed by the current thread.
+     * Must be followed by takeLastExecution() in a finally block, which stops the capture.
+     */
+    public void captureLastExecution() {
+        lastExecution.set(new Entry[1]);
+    }
+
+    /**
+     * Returns the statistics entry of the last statement executed by the current thread since captureLastExecution(),
+     * and stops the capture. Used by the callers processing the returned result sets to account the fetch time
+     * to the right statement.
+     */
+    @Nullable
+    public Entry takeLastExecution() {
+        Entry[] capturedExecution = lastExecution.get();
+        lastExecution.remove();
+        return capturedExecution == null ? null : capturedExecution[0];
+    }
+
+    public void recordFetch(Entry entry, String contentDescription, long duration, int rowCount) {
+        entry.recordFetch(duration, rowCount);
+        if (slowQueryThreshold > 0 && duration > slowQueryThreshold) {
+            LOGGER.warn("[DBN-WARN] Slow fetch of " + contentDescription + " (statement '" + entry.processorId + "', " + rowCount + " rows, " + duration + "ms): " +
+                    entry.getLastStatementText());
+        }
+    }
+
+    /**
+     * Records the load of a content issuing interface statements (e.g. a schema snapshot load step), accounted as one
+     * execution of the given load id, with the loaded elements as rows.
+     */
+    public void recordLoad(String connectionId, String loadId, String contentDescription, long duration, int elementCount, boolean failed) {
+        Entry entry = getEntry(connectionId, loadId);
+        entry.recordExecution(contentDescription, duration, failed);
+        entry.recordRows(elementCount);
+    }
+
+    /**
+     * Entries of the given connection (all connections if null), most expensive first.
+     */
+    public List<Entry> getEntries(@Nullable String connectionId) {
+        List<Entry> list = new ArrayList<Entry>();
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                if (connectionId == null || connectionId.equals(entry.connectionId)) {
+                    list.add(entry);
+                }
+            }
+        }
+        Collections.sort(list, new Comparator<Entry>() {
+            public int compare(Entry entry1, Entry entry2) {
+                long time1 = entry1.getTotalExecutionTime() + entry1.getTotalFetchTime();
+                long time2 = entry2.getTotalExecutionTime() + entry2.getTotalFetchTime();
+                return time1 > time2 ? -1 : time1 < time2 ? 1 : 0;
+            }
+        });
+        return list;
+    }
+
+    public void reset(@Nullable String connectionId) {
+        synchronized (entries) {
+            if (connectionId == null) {
+                entries.clear();
+            } else {
+                entries.values().removeAll(getEntries(connectionId));
+            }
+        }
+    }
+
+    /**
+     * Drops the statistics and the jdbc connections registered for the given connection (the connection is disposed).
+     */
+    public void purge(String connectionId) {
+        reset(connectionId);
+        synchronized (connectionIds) {
+            connectionIds.values().removeAll(Collections.singleton(connectionId));
+        }
+    }
+
+    /**
+     * Comma separated report of the statistics of the given connection (all connections if null).
+     */
+    public String createReport(@Nullable String connectionId) {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append("CONNECTION_ID,STATEMENT_ID,EXECUTIONS,FAILURES,TOTAL_EXECUTION_TIME_MS,MAX_EXECUTION_TIME_MS,AVG_EXECUTION_TIME_MS,FETCHES,TOTAL_FETCH_TIME_MS,ROWS\n");
+        for (Entry entry : getEntries(connectionId)) {
+            synchronized (entry) {
+                buffer.append(entry.connectionId).append(',');
+                buffer.append(entry.processorId).append(',');
+                buffer.append(entry.executionCount).append(',');
+                buffer.append(entry.failureCount).append(',');
+                buffer.append(entry.totalExecutionTime).append(',');
+                buffer.append(entry.maxExecutionTime).append(',');
+                buffer.append(entry.getAverageExecutionTime()).append(',');
+                buffer.append(entry.fetchCount).append(',');
+                buffer.append(entry.totalFetchTime).append(',');
+                buffer.append(entry.rowCount).append('\n');
+            }
+        }
+        return buffer.toString();
+    }
+
+    public static class Entry {
+        private String connectionId;
+        private String processorId;
+        private int executionCount;
+        private int failureCount;
+        private long totalExecutionTime;
+        private long maxExecutionTime;
+        private int fetchCount;
+        private long totalFetchTime;
+        private long rowCount;
+        private String lastStatementText;
+
+        private Entry(String connectionId, String processorId) {
+            this.connectionId = connectionId;
+            this.processorId = processorId;
+        }
+
+        private synchronized void recordExecution(String statementText, long duration, boolean failed) {
+            executionCount++;
+            if (failed) failureCount++;
+            totalExecutionTime += duration;
+            maxExecutionTime = Math.max(maxExecutionTime, duration);
+            lastStatementText = statementText;
+        }
+
+        private synchronized void recordRows(int rowCount) {
+            this.rowCount += rowCount;
+        }
+
+        private synchronized void recordFetch(long duration, int rowCount) {
+            fetchCount++;
+            totalFetchTime += duration;
+            this.rowCount += rowCount;
+        }
+
+        public String getConnectionId() {
+            return connectionId;
+        }
+
+        public String getProcessorId() {
+            return processorId;
+        }
+
+        public synchronized int getExecutionCount() {
+            return executionCount;
+        }
+
+        public synchronized int getFailureCount() {
+            return failureCount;
+        }
+
+        public synchronized long getTotalExecutionTime() {
+            return totalExecutionTime;
+        }
+
+        public synchronized long getMaxExecutionTime() {
+            return maxExecutionTime;
+        }
+
+        public synchronized long getAverageExecutionTime() {
+            return executionCount == 0 ? 0 : totalExecutionTime / executionCount;
+        }
+
+        public synchronized int getFetchCount() {
+            return fetchCount;
+        }
+
+        public synchronized long getTotalFetchTime() {
+            return totalFetchTime;
+        }
+
+        public synchronized long getRowCount() {
+            return rowCount;
+        }
+
+        public synchronized String getLastStatementText() {
+            return lastStatementText;
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class GenericCompatibilityInterface extends DatabaseCompatibilityInterfac
             case AUTHID_METHOD_EXECUTION: return false;
             case FUNCTION_OUT_ARGUMENTS: return false;
             case DEBUGGING: return false;
+            case BULK_SOURCE_EXTRACTION: return false;
             default: return false;
         }
     }
@@ -50,6 +50,7 @@ public class MySqlCompatibilityInterface extends DatabaseCompatibilityInterface
             case AUTHID_METHOD_EXECUTION: return false;
             case FUNCTION_OUT_ARGUMENTS: return false;
             case DEBUGGING: return false;
+            case BULK_SOURCE_EXTRACTION: return false;
             default: return false;
         }
     }
@@ -65,4 +66,10 @@ public class MySqlCompatibilityInterface extends DatabaseCompatibilityInterface
     public char getIdentifierQuotes() {
         return '`';
     }
+
+    @Override
+    public String escapeStringLiteral(String value) {
+        // backslash is the escape character of the mysql string literals
+        return super.escapeStringLiteral(value.replace("\\", "\\\\"));
+    }
 }
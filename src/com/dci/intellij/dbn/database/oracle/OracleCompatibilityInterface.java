@@ -36,6 +36,7 @@ public class OracleCompatibilityInterface extends DatabaseCompatibilityInterface
             case AUTHID_METHOD_EXECUTION: return true;
             case FUNCTION_OUT_ARGUMENTS: return true;
             case DEBUGGING: return true;
+            case BULK_SOURCE_EXTRACTION: return true;
             default: return false;
         }
     }
@@ -20,6 +20,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +71,7 @@ import com.intellij.openapi.vfs.VirtualFilePropertyEvent;
 public class DDLFileAttachmentManager extends AbstractProjectComponent implements VirtualFileListener, JDOMExternalizable {
 
     private Map<String, String> mappings = new HashMap<String, String>();
+    private Map<String, List<String>> objectMappings = new HashMap<String, List<String>>();
     private Map<VirtualFile, DBSchemaObject> cache = new HashMap<VirtualFile, DBSchemaObject>();
     private DDLFileAttachmentManager(Project project) {
         super(project);
@@ -85,7 +87,7 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
             for (String filePath : filePaths) {
                 VirtualFile virtualFile = LocalFileSystem.getInstance().findFileByPath(filePath);
                 if (virtualFile == null || !virtualFile.isValid()) {
-                    mappings.remove(filePath);    
+                    removeMapping(filePath);
                 } else {
                     if (virtualFiles == null) virtualFiles = new ArrayList<VirtualFile>();
                     virtualFiles.add(virtualFile);
@@ -131,14 +133,7 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
 
 
     public boolean hasBoundDDLFiles(DBSchemaObject object) {
-        String objectPath = object.getQualifiedNameWithConnectionId();
-        for (String filePath : mappings.keySet()) {
-            String path = mappings.get(filePath);
-            if (path.equals(objectPath)) {
-                return true;
-            }
-        }
-        return false;
+        return objectMappings.containsKey(object.getQualifiedNameWithConnectionId());
     }
 
 
@@ -183,12 +178,37 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
 
     public void bindDDLFile(DBSchemaObject object, VirtualFile virtualFile) {
         cache.put(virtualFile, object);
-        mappings.put(virtualFile.getPath(), object.getQualifiedNameWithConnectionId());
+        addMapping(virtualFile.getPath(), object.getQualifiedNameWithConnectionId());
     }
 
     public void detachDDLFile(VirtualFile virtualFile) {
         cache.remove(virtualFile);
-        mappings.remove(virtualFile.getPath());
+        removeMapping(virtualFile.getPath());
+    }
+
+    /**
+     * Maintains the file path to object path mappings together with the reverse index (object path to bound file paths).
+     */
+    private void addMapping(String filePath, String objectPath) {
+        removeMapping(filePath);
+        mappings.put(filePath, objectPath);
+        List<String> filePaths = objectMappings.get(objectPath);
+        if (filePaths == null) {
+            filePaths = new ArrayList<String>(1);
+            objectMappings.put(objectPath, filePaths);
+        }
+        filePaths.add(filePath);
+    }
+
+    private void removeMapping(String filePath) {
+        String objectPath = mappings.remove(filePath);
+        if (objectPath != null) {
+            List<String> filePaths = objectMappings.get(objectPath);
+            if (filePaths != null) {
+                filePaths.remove(filePath);
+                if (filePaths.isEmpty()) objectMappings.remove(objectPath);
+            }
+        }
     }
 
     private List<VirtualFile> lookupApplicableDDLFiles(DBSchemaObject object) {
@@ -200,7 +220,10 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
             for (String extension : ddlFileType.getExtensions()) {
                 String fileName = object.getName().toLowerCase() + "." + extension;
 
-                if (module == null) {
+                Collection<VirtualFile> indexedFiles = DDLFileNameIndex.lookupFiles(project, module, fileName);
+                if (indexedFiles != null) {
+                    fileList.addAll(indexedFiles);
+                } else if (module == null) {
                     VirtualFile[] files = VirtualFileUtil.lookupFilesForName(project, fileName);
                     fileList.addAll(Arrays.asList(files));
                 } else {
@@ -351,15 +374,8 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
     }
 
     private List<String> getBoundFilePaths(DBSchemaObject object) {
-        String objectPath = object.getQualifiedNameWithConnectionId();
-        List<String> filePaths = new ArrayList<String>();
-        for (String filePath : mappings.keySet()) {
-            String path = mappings.get(filePath);
-            if (path.equals(objectPath)) {
-                filePaths.add(filePath);
-            }
-        }
-        return filePaths;
+        List<String> filePaths = objectMappings.get(object.getQualifiedNameWithConnectionId());
+        return filePaths == null ? new ArrayList<String>() : new ArrayList<String>(filePaths);
     }
 
     private String getObjectPath(String filePath) {
@@ -381,6 +397,7 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
     }
     public void disposeComponent() {
         mappings.clear();
+        objectMappings.clear();
         cache.clear();
         super.disposeComponent();
     }
@@ -442,7 +459,7 @@ public class DDLFileAttachmentManager extends AbstractProjectComponent implement
             Element childElement = (Element) child;
             String file = childElement.getAttributeValue("file");
             String object = childElement.getAttributeValue("object");
-            mappings.put(file, object);
+            addMapping(file, object);
         }
     }
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.ddl;
+
+import com.dci.intellij.dbn.language.common.DBLanguageFileType;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Persistent index of the DDL files (files of the sql and pl/sql file types, i.e. having one of the configured
+ * DDL file extensions) by lower case file name, which is the object name followed by the extension of the DDL file type.
+ * Replaces walking the content roots of the project when looking up the DDL files of an object.
+ */
+public class DDLFileNameIndex extends ScalarIndexExtension<String> {
+    public static final ID<String, Void> NAME = ID.create("DBNavigator.DDLFileNameIndex");
+    private static final int VERSION = 1;
+
+    private final KeyDescriptor<String> keyDescriptor = new EnumeratorStringDescriptor();
+
+    private final DataIndexer<String, Void, FileContent> indexer = new DataIndexer<String, Void, FileContent>() {
+        @NotNull
+        public Map<String, Void> map(FileContent inputData) {
+            return Collections.singletonMap(inputData.getFileName().toLowerCase(), null);
+        }
+    };
+
+    private final FileBasedIndex.InputFilter inputFilter = new FileBasedIndex.InputFilter() {
+        public boolean acceptInput(VirtualFile file) {
+            return !file.isDirectory() && file.getFileType() instanceof DBLanguageFileType;
+        }
+    };
+
+    /**
+     * DDL files with the given name (case insensitive) in the scope of the module, or of the project if module is null.
+     * Returns null while the indexes are being updated (callers fall back to scanning the content roots of the same scope,
+     * see VirtualFileUtil.lookupFilesForName()).
+     */
+    @Nullable
+    public static Collection<VirtualFile> lookupFiles(Project project, @Nullable Module module, String fileName) {
+        if (DumbService.getInstance(project).isDumb()) return null;
+
+        GlobalSearchScope scope = module == null ?
+                GlobalSearchScope.projectScope(project) :
+                GlobalSearchScope.moduleScope(module);
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, fileName.toLowerCase(), scope);
+    }
+
+    @NotNull
+    public ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return indexer;
+    }
+
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return keyDescriptor;
+    }
+
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return inputFilter;
+    }
+
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    public int getVersion() {
+        return VERSION;
+    }
+}
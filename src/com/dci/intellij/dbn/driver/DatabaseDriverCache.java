@@ -0,0 +1,223 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.driver;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Persistent cache of the driver classes found in the driver libraries, keyed by library path and content hash.
+ * An entry is valid as long as the size and modification time of the library are unchanged. If they changed,
+ * the content hash of the library is computed and compared (copying or touching a library does not invalidate it).
+ * Stored in the system directory of the IDE, so the driver lists survive restarts.
+ */
+public class DatabaseDriverCache {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, CacheEntry> entries = new THashMap<String, CacheEntry>();
+    private boolean initialized;
+
+    /**
+     * @return the cached driver class names of the library, or null if the library is not cached or changed
+     */
+    @Nullable
+    public synchronized String[] getDriverClasses(File library) {
+        ensureInitialized();
+        CacheEntry entry = entries.get(library.getPath());
+        if (entry != null) {
+            if (entry.length == library.length() && entry.lastModified == library.lastModified()) {
+                return entry.classNames;
+            }
+            try {
+                String hash = computeLibraryHash(library);
+                if (hash.equals(entry.hash)) {
+                    entries.put(library.getPath(), new CacheEntry(library.length(), library.lastModified(), hash, entry.classNames));
+                    save();
+                    return entry.classNames;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Error reading driver library " + library.getPath() + ": " + e.getMessage());
+            }
+            entries.remove(library.getPath());
+        }
+        return null;
+    }
+
+    public synchronized void store(File library, List<String> classNames) throws IOException {
+        ensureInitialized();
+        String[] classNamesArray = classNames.toArray(new String[classNames.size()]);
+        entries.put(library.getPath(), new CacheEntry(library.length(), library.lastModified(), computeLibraryHash(library), classNamesArray));
+        save();
+    }
+
+    /**
+     * Content hash of the library, from the cache if the library did not change since it was last hashed.
+     */
+    public synchronized String getLibraryHash(File library) throws IOException {
+        ensureInitialized();
+        CacheEntry entry = entries.get(library.getPath());
+        if (entry != null && entry.length == library.length() && entry.lastModified == library.lastModified()) {
+            return entry.hash;
+        }
+        return computeLibraryHash(library);
+    }
+
+    /**
+     * SHA-1 hash of the library content, as hex string.
+     */
+    public static String computeLibraryHash(File library) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-1 not supported");
+        }
+        InputStream input = new BufferedInputStream(new FileInputStream(library));
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+        } finally {
+            close(input);
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hash.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hash.toString();
+    }
+
+    /*********************************************************
+     *                      Persistence                      *
+     *********************************************************/
+    private static File getCacheFile() {
+        return new File(PathManager.getSystemPath(), "dbn" + File.separator + "drivers.cache");
+    }
+
+    private void ensureInitialized() {
+        if (!initialized) {
+            initialized = true;
+            File cacheFile = getCacheFile();
+            if (cacheFile.exists()) {
+                DataInputStream input = null;
+                try {
+                    input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(cacheFile))));
+                    if (input.readInt() != FORMAT_VERSION) {
+                        // different cache format. Discard
+                        return;
+                    }
+                    int entryCount = input.readInt();
+                    for (int i = 0; i < entryCount; i++) {
+                        String path = input.readUTF();
+                        long length = input.readLong();
+                        long lastModified = input.readLong();
+                        String hash = input.readUTF();
+                        String[] classNames = new String[input.readInt()];
+                        for (int j = 0; j < classNames.length; j++) {
+                            classNames[j] = input.readUTF();
+                        }
+                        entries.put(path, new CacheEntry(length, lastModified, hash, classNames));
+                    }
+                } catch (IOException e) {
+                    LOGGER.warn("Error reading driver cache: " + e.getMessage());
+                    entries.clear();
+                } finally {
+                    close(input);
+                }
+            }
+        }
+    }
+
+    private void save() {
+        File cacheFile = getCacheFile();
+        DataOutputStream output = null;
+        try {
+            File cacheDirectory = cacheFile.getParentFile();
+            if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+                throw new IOException("Could not create directory " + cacheDirectory.getPath());
+            }
+            output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile))));
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(entries.size());
+            for (String path : entries.keySet()) {
+                CacheEntry entry = entries.get(path);
+                output.writeUTF(path);
+                output.writeLong(entry.length);
+                output.writeLong(entry.lastModified);
+                output.writeUTF(entry.hash);
+                output.writeInt(entry.classNames.length);
+                for (String className : entry.classNames) {
+                    output.writeUTF(className);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error writing driver cache: " + e.getMessage());
+            close(output);
+            output = null;
+            cacheFile.delete();
+        } finally {
+            close(output);
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {}
+        }
+    }
+
+    private static class CacheEntry {
+        private final long length;
+        private final long lastModified;
+        private final String hash;
+        private final String[] classNames;
+
+        private CacheEntry(long length, long lastModified, String hash, String[] classNames) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.classNames = classNames;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.driver;
+
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Finds the jdbc driver classes of a driver library without loading any of its classes.
+ * The drivers declared in the service descriptor of the library (META-INF/services/java.sql.Driver) are used if present.
+ * Otherwise the headers of all class files are read, and the public concrete classes implementing java.sql.Driver,
+ * directly or through the super classes and interfaces defined in the library, are returned.
+ */
+public class DatabaseDriverDiscovery {
+    private static final String SERVICE_DESCRIPTOR = "META-INF/services/java.sql.Driver";
+    private static final String DRIVER_INTERFACE = "java/sql/Driver";
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private DatabaseDriverDiscovery() {}
+
+    public static List<String> findDriverClasses(File library) throws IOException {
+        JarFile jarFile = new JarFile(library);
+        try {
+            List<String> classNames = readServiceDescriptor(jarFile);
+            return classNames.isEmpty() ? scanClassFiles(jarFile) : classNames;
+        } finally {
+            jarFile.close();
+        }
+    }
+
+    private static List<String> readServiceDescriptor(JarFile jarFile) throws IOException {
+        List<String> classNames = new ArrayList<String>();
+        JarEntry entry = jarFile.getJarEntry(SERVICE_DESCRIPTOR);
+        if (entry != null) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(jarFile.getInputStream(entry), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int commentIndex = line.indexOf('#');
+                    if (commentIndex > -1) line = line.substring(0, commentIndex);
+                    String className = line.trim();
+                    // only drivers actually part of the library
+                    if (className.length() > 0 && !classNames.contains(className) &&
+                            jarFile.getJarEntry(className.replace('.', '/') + ".class") != null) {
+                        classNames.add(className);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return classNames;
+    }
+
+    private static List<String> scanClassFiles(JarFile jarFile) throws IOException {
+        Map<String, ClassHeader> classHeaders = new THashMap<String, ClassHeader>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                InputStream inputStream = jarFile.getInputStream(entry);
+                try {
+                    ClassHeader classHeader = readClassHeader(new DataInputStream(new BufferedInputStream(inputStream)));
+                    if (classHeader != null) {
+                        classHeaders.put(classHeader.name, classHeader);
+                    }
+                } catch (IOException e) {
+                    // not a valid class file
+                } finally {
+                    inputStream.close();
+                }
+            }
+        }
+
+        List<String> classNames = new ArrayList<String>();
+        Map<String, Boolean> driverTypes = new THashMap<String, Boolean>();
+        for (ClassHeader classHeader : classHeaders.values()) {
+            int accessFlags = classHeader.accessFlags;
+            if ((accessFlags & ACC_PUBLIC) != 0 && (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0 &&
+                    isDriverType(classHeader.name, classHeaders, driverTypes)) {
+                classNames.add(classHeader.name.replace('/', '.'));
+            }
+        }
+        Collections.sort(classNames);
+        return classNames;
+    }
+
+    private static boolean isDriverType(String typeName, Map<String, ClassHeader> classHeaders, Map<String, Boolean> driverTypes) {
+        if (DRIVER_INTERFACE.equals(typeName)) return true;
+
+        Boolean isDriverType = driverTypes.get(typeName);
+        if (isDriverType == null) {
+            driverTypes.put(typeName, Boolean.FALSE); // guard against cycles
+            isDriverType = Boolean.FALSE;
+            ClassHeader classHeader = classHeaders.get(typeName);
+            if (classHeader != null) {
+                if (classHeader.superName != null && isDriverType(classHeader.superName, classHeaders, driverTypes)) {
+                    isDriverType = Boolean.TRUE;
+                } else {
+                    for (String interfaceName : classHeader.interfaceNames) {
+                        if (isDriverType(interfaceName, classHeaders, driverTypes)) {
+                            isDriverType = Boolean.TRUE;
+                            break;
+                        }
+                    }
+                }
+            }
+            driverTypes.put(typeName, isDriverType);
+        }
+        return isDriverType;
+    }
+
+    /**
+     * Reads the class file up to the list of implemented interfaces (constant pool, access flags, this class, super class, interfaces).
+     */
+    @Nullable
+    private static ClassHeader readClassHeader(DataInputStream input) throws IOException {
+        if (input.readInt() != CLASS_FILE_MAGIC) return null;
+        input.readUnsignedShort(); // minor version
+        input.readUnsignedShort(); // major version
+
+        int constantCount = input.readUnsignedShort();
+        String[] utf8Constants = new String[constantCount];
+        int[] classConstants = new int[constantCount];
+        byte[] skipBuffer = new byte[8];
+        for (int i = 1; i < constantCount; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1: utf8Constants[i] = input.readUTF(); break;  // Utf8
+                case 7: classConstants[i] = input.readUnsignedShort(); break; // Class
+                case 8:  // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: input.readFully(skipBuffer, 0, 2); break; // Package
+                case 15: input.readFully(skipBuffer, 0, 3); break; // MethodHandle
+                case 3:  // Integer
+                case 4:  // Float
+                case 9:  // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: input.readFully(skipBuffer, 0, 4); break; // InvokeDynamic
+                case 5:  // Long
+                case 6: input.readFully(skipBuffer, 0, 8); i++; break; // Double (two entries)
+                default: throw new IOException("Invalid constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = input.readUnsignedShort();
+        String name = utf8Constants[classConstants[input.readUnsignedShort()]];
+        int superIndex = input.readUnsignedShort();
+        String superName = superIndex == 0 ? null : utf8Constants[classConstants[superIndex]];
+        int interfaceCount = input.readUnsignedShort();
+        String[] interfaceNames = new String[interfaceCount];
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames[i] = utf8Constants[classConstants[input.readUnsignedShort()]];
+        }
+        return name == null ? null : new ClassHeader(name, accessFlags, superName, interfaceNames);
+    }
+
+    private static class ClassHeader {
+        private final String name;
+        private final int accessFlags;
+        private final String superName;
+        private final String[] interfaceNames;
+
+        private ClassHeader(String name, int accessFlags, String superName, String[] interfaceNames) {
+            this.name = name;
+            this.accessFlags = accessFlags;
+            this.superName = superName;
+            this.interfaceNames = interfaceNames;
+        }
+    }
+}
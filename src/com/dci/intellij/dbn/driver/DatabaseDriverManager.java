@@ -17,11 +17,13 @@
 package com.dci.intellij.dbn.driver;
 
 import com.dci.intellij.dbn.common.Constants;
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
 import com.dci.intellij.dbn.common.util.ActionUtil;
-import com.dci.intellij.dbn.common.util.NamingUtil;
 import com.dci.intellij.dbn.common.util.StringUtil;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.ApplicationComponent;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
@@ -29,21 +31,17 @@ import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.sql.Driver;
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.DriverManager;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.Properties;
 
 public class DatabaseDriverManager implements ApplicationComponent {
-    private Map<String, String[]> cache = new HashMap<String, String[]>();
-    private Map<String, ClassLoader> classLoaders = new HashMap<String, ClassLoader>();
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+
+    private DatabaseDriverCache driverCache = new DatabaseDriverCache();
+    private DatabaseDriverRegistry driverRegistry = new DatabaseDriverRegistry();
 
     public static DatabaseDriverManager getInstance() {
         return ApplicationManager.getApplication().getComponent(DatabaseDriverManager.class);
@@ -61,7 +59,9 @@ public class DatabaseDriverManager implements ApplicationComponent {
     }
 
     public void initComponent() {}
-    public void disposeComponent() {}
+    public void disposeComponent() {
+        driverRegistry.dispose();
+    }
 
     public String[] loadDriverClassesWithProgressBar(String libraryName) {
         LoaderThread loader = new LoaderThread(libraryName);
@@ -86,74 +86,57 @@ public class DatabaseDriverManager implements ApplicationComponent {
     }
 
 
+    /**
+     * Driver classes of the library, from the driver cache if the library did not change since it was last inspected.
+     * Otherwise the library is inspected without loading any of its classes (see {@link DatabaseDriverDiscovery}).
+     */
     public String[] loadDriverClasses(String libraryName) {
         ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
         if (progressIndicator != null) {
             progressIndicator.setText("Loading jdbc drivers from " + libraryName);
         }
-        String[] classNames = cache.get(libraryName);
-        if (classNames == null && new File(libraryName).isFile()) {
+        File library = new File(libraryName);
+        if (!library.isFile()) return new String[0];
+
+        String[] classNames = driverCache.getDriverClasses(library);
+        if (classNames == null) {
             try {
-                List<String> drivers = new ArrayList<String>();
-                URL[] urls = new URL[]{new File(libraryName).toURL()};
-                URLClassLoader classLoader = new URLClassLoader(urls);
-                classLoaders.put(libraryName, classLoader);
-
-                JarFile jarFile = new JarFile(libraryName);
-                Enumeration<JarEntry> entries = jarFile.entries();
-                while (entries.hasMoreElements()) {
-                    JarEntry entry = entries.nextElement();
-                    String name = entry.getName();
-                    if (name.endsWith(".class")) {
-
-                        int index = name.lastIndexOf('.');
-                        String className = name.substring(0, index);
-                        className = className.replace('/', '.').replace('\\', '.');
-
-                        try {
-                            if (className.contains("Driver")) {
-                                Class<?> clazz = classLoader.loadClass(className);
-                                if (Driver.class.isAssignableFrom(clazz)) {
-                                    drivers.add(clazz.getName());
-                                } else {
-
-                                }
-                            }
-                        }
-                        catch(Throwable throwable) {
-                            // ignore
-                        }
-                    }
-                }
+                long startTimestamp = System.currentTimeMillis();
+                List<String> drivers = DatabaseDriverDiscovery.findDriverClasses(library);
+                driverCache.store(library, drivers);
                 classNames = drivers.toArray(new String[drivers.size()]);
-                cache.put(libraryName, classNames);
-            } catch(Exception e) {
-                e.printStackTrace();
+                if (SettingsUtil.isDebugEnabled) {
+                    LOGGER.info("[DBN-INFO] Found " + classNames.length + " jdbc drivers in " + libraryName + " - " + (System.currentTimeMillis() - startTimestamp) + "ms");
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Error loading jdbc drivers from " + libraryName + ": " + e.getMessage());
+                classNames = new String[0];
             }
         }
-        return classNames == null ? new String[0] : classNames ;
+        return classNames;
     }
 
-    public synchronized Driver getDriver(String libraryName, String className) throws Exception {
+    /**
+     * Connects through the given driver of the library. The class loader and driver instances of a library are
+     * shared by all connections using it (see {@link DatabaseDriverRegistry}), hence the connections created here
+     * must be released through {@link #releaseConnection(Connection)} when closed.
+     */
+    public Connection connect(String libraryName, String className, String url, Properties properties) throws Exception {
         if (StringUtil.isEmptyOrSpaces(className)) {
             throw new Exception("No driver class specified.");
         }
-        if (!classLoaders.containsKey(libraryName)) {
-            if (new File(libraryName).exists()) {
-                loadDriverClasses(libraryName);
-            } else {
-                throw new Exception("Could not find file \"" + libraryName +"\".");
-            }
-        }
-        ClassLoader classLoader = classLoaders.get(libraryName);
-        try {
-            return (Driver) Class.forName(className, true, classLoader).newInstance();
-        } catch (Exception e) {
-            throw new Exception(
-                    "Could not load class \"" + className + "\" " +
-                    "from library \"" + libraryName + "\". " +
-                    "[" + NamingUtil.getClassName(e.getClass()) + "] " + e.getMessage());
+        File library = new File(libraryName);
+        if (!library.exists()) {
+            throw new Exception("Could not find file \"" + libraryName +"\".");
         }
+        // populates the driver cache (holding the library hash) if not done already
+        loadDriverClasses(libraryName);
+        String libraryHash = driverCache.getLibraryHash(library);
+        return driverRegistry.connect(library, libraryHash, className, url, properties);
+    }
+
+    public void releaseConnection(Connection connection) {
+        driverRegistry.releaseConnection(connection);
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.driver;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.TimeUtil;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.common.util.NamingUtil;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import gnu.trove.THashMap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.WeakHashMap;
+
+/**
+ * Application wide registry of the class loaders and driver instances of the driver libraries.
+ * Libraries are identified by content hash, so all projects (and all connections) using the same library,
+ * even from different locations, share one class loader, and one driver instance per driver class.
+ * A library is held as long as connections created through its drivers are open (or being opened).
+ * It is unloaded once no connection used it for {@link #UNLOAD_DELAY}, so that reconnecting after
+ * the pool closed its idle connections (or testing a connection) does not load the library again.
+ * Connections are only weakly referenced, connections dropped without being closed do not prevent unloading.
+ */
+public class DatabaseDriverRegistry {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    public static final long UNLOAD_DELAY = 10 * TimeUtil.ONE_MINUTE;
+
+    private final Map<String, LibraryEntry> libraries = new THashMap<String, LibraryEntry>();
+    private Timer unloader;
+
+    public DatabaseDriverRegistry() {
+        unloader = new Timer("Driver library unloader", true);
+        unloader.schedule(new UnloadTask(), TimeUtil.ONE_MINUTE, TimeUtil.ONE_MINUTE);
+    }
+
+    /**
+     * Connects through the given driver of the library, loading the library if not loaded yet.
+     */
+    public Connection connect(File library, String libraryHash, String className, String url, Properties properties) throws Exception {
+        LibraryEntry libraryEntry;
+        Driver driver;
+        synchronized (this) {
+            libraryEntry = libraries.get(libraryHash);
+            if (libraryEntry == null) {
+                libraryEntry = new LibraryEntry(library, libraryHash);
+                libraries.put(libraryHash, libraryEntry);
+            }
+            libraryEntry.pendingConnects++;
+            try {
+                driver = libraryEntry.getDriver(className);
+            } catch (Exception e) {
+                libraryEntry.pendingConnects--;
+                libraryEntry.touch();
+                throw e;
+            }
+        }
+
+        Connection connection = null;
+        try {
+            connection = driver.connect(url, properties);
+            return connection;
+        } finally {
+            synchronized (this) {
+                libraryEntry.pendingConnects--;
+                if (connection != null) {
+                    libraryEntry.connections.put(connection, Boolean.TRUE);
+                }
+                libraryEntry.touch();
+            }
+        }
+    }
+
+    /**
+     * To be called when a connection created by {@link #connect} is closed.
+     */
+    public synchronized void releaseConnection(Connection connection) {
+        for (LibraryEntry libraryEntry : libraries.values()) {
+            if (libraryEntry.connections.remove(connection) != null) {
+                libraryEntry.touch();
+                break;
+            }
+        }
+    }
+
+    private class UnloadTask extends TimerTask {
+        public void run() {
+            unloadUnusedLibraries(System.currentTimeMillis() - UNLOAD_DELAY);
+        }
+    }
+
+    /**
+     * Unloads the libraries not used by any connection since the given time. Libraries whose drivers could
+     * not be deregistered from the DriverManager stay loaded (and in use for later connections), as their
+     * class loader can not be collected anyway.
+     */
+    private synchronized void unloadUnusedLibraries(long idleTimestamp) {
+        Iterator<LibraryEntry> libraryEntries = libraries.values().iterator();
+        while (libraryEntries.hasNext()) {
+            LibraryEntry libraryEntry = libraryEntries.next();
+            if (!libraryEntry.pinned && libraryEntry.getReferenceCount() == 0 && libraryEntry.lastUsedTimestamp < idleTimestamp) {
+                if (libraryEntry.unload()) {
+                    libraryEntries.remove();
+                } else {
+                    libraryEntry.pinned = true;
+                }
+            }
+        }
+    }
+
+    public synchronized void dispose() {
+        if (unloader != null) {
+            unloader.cancel();
+            unloader = null;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append(libraries.size()).append(" driver libraries loaded");
+        for (LibraryEntry libraryEntry : libraries.values()) {
+            buffer.append("\n    ").append(libraryEntry);
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Class loader of a driver library, able to define the {@link DriverDeregistrationHelper} in the library.
+     */
+    private static class LibraryClassLoader extends URLClassLoader {
+        private LibraryClassLoader(URL url) {
+            super(new URL[]{url});
+        }
+
+        private Class<?> defineHelperClass(Class<?> pluginClass) throws IOException {
+            String resourceName = pluginClass.getName().replace('.', '/') + ".class";
+            InputStream inputStream = pluginClass.getClassLoader().getResourceAsStream(resourceName);
+            if (inputStream == null) {
+                throw new IOException("Resource " + resourceName + " not found");
+            }
+            try {
+                byte[] bytes = FileUtil.loadBytes(inputStream);
+                return defineClass(pluginClass.getName(), bytes, 0, bytes.length);
+            } finally {
+                inputStream.close();
+            }
+        }
+    }
+
+    private static class LibraryEntry {
+        private final File library;
+        private final String hash;
+        private final LibraryClassLoader classLoader;
+        private final Map<String, Driver> drivers = new THashMap<String, Driver>();
+        private final Map<Connection, Boolean> connections = new WeakHashMap<Connection, Boolean>();
+        private int pendingConnects;
+        private long lastUsedTimestamp = System.currentTimeMillis();
+        private boolean pinned;
+
+        private LibraryEntry(File library, String hash) throws IOException {
+            this.library = library;
+            this.hash = hash;
+            this.classLoader = new LibraryClassLoader(library.toURI().toURL());
+            if (SettingsUtil.isDebugEnabled) {
+                LOGGER.info("[DBN-INFO] Loaded driver library " + library.getPath() + " [" + hash + "]");
+            }
+        }
+
+        private Driver getDriver(String className) throws Exception {
+            Driver driver = drivers.get(className);
+            if (driver == null) {
+                try {
+                    driver = (Driver) Class.forName(className, true, classLoader).newInstance();
+                    drivers.put(className, driver);
+                } catch (Exception e) {
+                    throw new Exception(
+                            "Could not load class \"" + className + "\" " +
+                            "from library \"" + library.getPath() + "\". " +
+                            "[" + NamingUtil.getClassName(e.getClass()) + "] " + e.getMessage());
+                }
+            }
+            return driver;
+        }
+
+        private int getReferenceCount() {
+            return pendingConnects + connections.size();
+        }
+
+        private void touch() {
+            lastUsedTimestamp = System.currentTimeMillis();
+        }
+
+        /**
+         * Drivers register themselves with the DriverManager when initialized, which keeps their class loader reachable.
+         * They are deregistered from within the library (see {@link DriverDeregistrationHelper}), and the class loader
+         * is only closed if that succeeded.
+         * @return true if the library got unloaded
+         */
+        private boolean unload() {
+            boolean deregistered;
+            try {
+                Class<?> helperClass = classLoader.defineHelperClass(DriverDeregistrationHelper.class);
+                Method method = helperClass.getMethod("deregisterDrivers");
+                deregistered = Boolean.TRUE.equals(method.invoke(null));
+            } catch (Throwable e) {
+                LOGGER.warn("Could not deregister drivers of library " + library.getPath() + ": " + e.getMessage());
+                deregistered = false;
+            }
+            if (!deregistered) {
+                if (SettingsUtil.isDebugEnabled) {
+                    LOGGER.info("[DBN-INFO] Driver library " + library.getPath() + " [" + hash + "] kept loaded. Drivers could not be deregistered");
+                }
+                return false;
+            }
+            drivers.clear();
+
+            if (classLoader instanceof Closeable) {
+                try {
+                    ((Closeable) classLoader).close();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not close class loader of driver library " + library.getPath() + ": " + e.getMessage());
+                }
+            }
+            if (SettingsUtil.isDebugEnabled) {
+                LOGGER.info("[DBN-INFO] Unloaded driver library " + library.getPath() + " [" + hash + "]");
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return library.getPath() + " [" + hash + "] - " + drivers.size() + " drivers, " + getReferenceCount() + " connections";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.driver;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Deregisters the drivers of a driver library from the {@link DriverManager}.
+ * The DriverManager only exposes (and deregisters) the drivers visible from the class loader of the calling class,
+ * hence this class is not used as such, but defined in the class loader of the library (see {@link DatabaseDriverRegistry})
+ * and invoked reflectively. It must only reference jdk classes.
+ */
+public class DriverDeregistrationHelper {
+    private DriverDeregistrationHelper() {}
+
+    /**
+     * @return true if all the drivers loaded by the class loader of this class got deregistered
+     */
+    public static boolean deregisterDrivers() {
+        ClassLoader classLoader = DriverDeregistrationHelper.class.getClassLoader();
+        List<Driver> drivers = new ArrayList<Driver>();
+        Enumeration<Driver> registeredDrivers = DriverManager.getDrivers();
+        while (registeredDrivers.hasMoreElements()) {
+            Driver driver = registeredDrivers.nextElement();
+            if (driver.getClass().getClassLoader() == classLoader) {
+                drivers.add(driver);
+            }
+        }
+
+        boolean success = true;
+        for (Driver driver : drivers) {
+            try {
+                DriverManager.deregisterDriver(driver);
+            } catch (SQLException e) {
+                success = false;
+            } catch (SecurityException e) {
+                success = false;
+            }
+        }
+        return success;
+    }
+}
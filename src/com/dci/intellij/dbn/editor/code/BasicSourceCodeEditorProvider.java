@@ -64,6 +64,10 @@ public abstract class BasicSourceCodeEditorProvider extends BasicTextEditorProvi
 
         updateEditorActions(textEditor);
         Document document = textEditor.getEditor().getDocument();
+        if (sourceCodeFile.isLoading()) {
+            // editable once the source code is loaded
+            document.setReadOnly(true);
+        }
 
         int documentTracking = document.hashCode();
         if (document.hashCode() != sourceCodeFile.getDocumentHashCode()) {
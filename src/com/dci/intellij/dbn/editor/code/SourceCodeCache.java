@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.editor.code;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.editor.DBContentType;
+import com.dci.intellij.dbn.object.common.DBSchemaObject;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of the source code of the objects opened in editors, one compressed file per object and content type
+ * in a directory per connection. Every source is stored with the change timestamp of the object it was loaded with,
+ * and is only served for the same change timestamp, i.e. if the object did not change in the database meanwhile.
+ * The cache follows the "metadata cache" option of the connection.
+ */
+public class SourceCodeCache {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final int FORMAT_VERSION = 1;
+    private static final String CHARSET = "UTF-8";
+
+    private SourceCodeCache() {}
+
+    public static boolean isEnabled(DBSchemaObject object) {
+        ConnectionHandler connectionHandler = object.getConnectionHandler();
+        return connectionHandler != null && connectionHandler.getSettings().getDetailSettings().isMetadataCacheEnabled();
+    }
+
+    /**
+     * The last cached source of the object, to be checked against the actual change timestamp of the object.
+     */
+    @Nullable
+    public static Entry load(DBSchemaObject object, DBContentType contentType) {
+        if (!isEnabled(object)) return null;
+
+        File cacheFile = getCacheFile(object, contentType);
+        if (cacheFile.exists()) {
+            DataInputStream input = null;
+            try {
+                input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(cacheFile))));
+                if (input.readInt() != FORMAT_VERSION || !input.readUTF().equals(getKey(object, contentType))) {
+                    // different cache format or file name collision
+                    return null;
+                }
+                Timestamp changeTimestamp = new Timestamp(input.readLong());
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                return new Entry(changeTimestamp, new String(bytes, CHARSET));
+            } catch (IOException e) {
+                LOGGER.warn("Error reading source code cache of " + object.getQualifiedNameWithType() + ": " + e.getMessage());
+                close(input);
+                input = null;
+                cacheFile.delete();
+            } finally {
+                close(input);
+            }
+        }
+        return null;
+    }
+
+    public static void store(DBSchemaObject object, DBContentType contentType, @Nullable Timestamp changeTimestamp, String content) {
+        if (!isEnabled(object)) return;
+
+        File cacheFile = getCacheFile(object, contentType);
+        if (changeTimestamp == null) {
+            // cannot be validated
+            cacheFile.delete();
+            return;
+        }
+
+        DataOutputStream output = null;
+        try {
+            File cacheDirectory = cacheFile.getParentFile();
+            if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+                throw new IOException("Could not create directory " + cacheDirectory.getPath());
+            }
+            byte[] bytes = content.getBytes(CHARSET);
+            output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile))));
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(getKey(object, contentType));
+            output.writeLong(changeTimestamp.getTime());
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            if (SettingsUtil.isDebugEnabled) {
+                LOGGER.info("[DBN-INFO] Cached source code of " + object.getQualifiedNameWithType() + " (" + contentType.getDescription() + ")");
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error writing source code cache of " + object.getQualifiedNameWithType() + ": " + e.getMessage());
+            close(output);
+            output = null;
+            cacheFile.delete();
+        } finally {
+            close(output);
+        }
+    }
+
+    private static String getKey(DBSchemaObject object, DBContentType contentType) {
+        return object.getQualifiedNameWithType() + "#" + contentType.name();
+    }
+
+    private static File getCacheFile(DBSchemaObject object, DBContentType contentType) {
+        String connectionId = object.getConnectionHandler().getId();
+        File cacheDirectory = new File(PathManager.getSystemPath(), "dbn" + File.separator + "sources" + File.separator + connectionId);
+        return new File(cacheDirectory, Integer.toHexString(getKey(object, contentType).hashCode()) + ".src");
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {}
+        }
+    }
+
+    public static class Entry {
+        private Timestamp changeTimestamp;
+        private String content;
+
+        private Entry(Timestamp changeTimestamp, String content) {
+            this.changeTimestamp = changeTimestamp;
+            this.content = content;
+        }
+
+        public Timestamp getChangeTimestamp() {
+            return changeTimestamp;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}
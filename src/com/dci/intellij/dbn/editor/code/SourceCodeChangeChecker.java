@@ -0,0 +1,236 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.editor.code;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.TimeUtil;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.ConnectionUtil;
+import com.dci.intellij.dbn.database.DatabaseMetadataInterface;
+import com.dci.intellij.dbn.editor.DBContentType;
+import com.dci.intellij.dbn.object.common.DBSchemaObject;
+import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
+import com.dci.intellij.dbn.vfs.DatabaseContentFile;
+import com.dci.intellij.dbn.vfs.DatabaseEditableObjectFile;
+import com.dci.intellij.dbn.vfs.DatabaseFileSystem;
+import com.dci.intellij.dbn.vfs.SourceCodeFile;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import gnu.trove.THashMap;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Loads the change timestamps of the source code files of a connection in batches (one query per schema)
+ * instead of one query per object. Used on a schedule to check the sources open in editors for changes done
+ * by third parties (at the object status poll interval of the connection), and by the compile and save
+ * operations to update the change timestamps of the sources they touched.
+ * Only the editors of the objects which actually changed are notified.
+ */
+public class SourceCodeChangeChecker implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final int MAX_NAMES_PER_QUERY = 500;
+
+    private ConnectionHandler connectionHandler;
+    private Timer timer;
+    private int pollInterval;
+    private boolean isDisposed;
+
+    public SourceCodeChangeChecker(ConnectionHandler connectionHandler) {
+        this.connectionHandler = connectionHandler;
+        reschedule();
+    }
+
+    /**
+     * Restarts checking if the configured interval changed.
+     */
+    public synchronized void reschedule() {
+        int pollInterval = isDisposed ? 0 : connectionHandler.getSettings().getDetailSettings().getObjectStatusPollInterval();
+        if (pollInterval != this.pollInterval) {
+            this.pollInterval = pollInterval;
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            if (pollInterval > 0) {
+                long period = (long) pollInterval * TimeUtil.ONE_SECOND;
+                timer = new Timer("Source code change checker [" + connectionHandler.getName() + "]", true);
+                timer.schedule(new CheckTask(), period, period);
+            }
+        }
+    }
+
+    private class CheckTask extends TimerTask {
+        public void run() {
+            ConnectionHandler connectionHandler = SourceCodeChangeChecker.this.connectionHandler;
+            if (isDisposed || connectionHandler == null || connectionHandler.isDisposed()) return;
+
+            if (connectionHandler.isActive() && connectionHandler.getConnectionStatus().isConnected()) {
+                try {
+                    checkOpenFiles();
+                } catch (Exception e) {
+                    LOGGER.warn("Error checking source code changes of connection " + connectionHandler.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the source code files open in editors for changes in the database.
+     * Files being compiled or saved are skipped, their change timestamp is updated by the operation itself.
+     */
+    public void checkOpenFiles() throws SQLException {
+        List<SourceCodeFile> sourceCodeFiles = new ArrayList<SourceCodeFile>();
+        for (DatabaseEditableObjectFile databaseFile : DatabaseFileSystem.getInstance().getFileRegistry().getOpenFiles()) {
+            if (databaseFile.getConnectionHandler() == connectionHandler && databaseFile.getMainContentType() != null) {
+                for (DatabaseContentFile contentFile : databaseFile.getContentFiles()) {
+                    if (contentFile instanceof SourceCodeFile && isCheckable((SourceCodeFile) contentFile)) {
+                        sourceCodeFiles.add((SourceCodeFile) contentFile);
+                    }
+                }
+            }
+        }
+        if (sourceCodeFiles.isEmpty()) return;
+
+        long startTimestamp = System.currentTimeMillis();
+        Map<SourceCodeFile, Timestamp> changeTimestamps = loadChangeTimestamps(sourceCodeFiles);
+        int changedFiles = 0;
+        for (SourceCodeFile sourceCodeFile : sourceCodeFiles) {
+            Timestamp changeTimestamp = changeTimestamps.get(sourceCodeFile);
+            Timestamp knownChangeTimestamp = sourceCodeFile.getChangeTimestamp();
+            if (changeTimestamp != null && knownChangeTimestamp != null && changeTimestamp.after(knownChangeTimestamp) && isCheckable(sourceCodeFile)) {
+                sourceCodeFile.changeDetected(changeTimestamp);
+                changedFiles++;
+            }
+        }
+
+        if (SettingsUtil.isDebugEnabled) {
+            LOGGER.info("[DBN-INFO] Checked change timestamps of " + sourceCodeFiles.size() + " source files of connection " +
+                    connectionHandler.getName() + " - " + changedFiles + " changed, " + (System.currentTimeMillis() - startTimestamp) + "ms");
+        }
+    }
+
+    private static boolean isCheckable(SourceCodeFile sourceCodeFile) {
+        DBSchemaObject object = sourceCodeFile.getObject();
+        DBContentType contentType = sourceCodeFile.getContentType();
+        return !sourceCodeFile.isLoading() &&
+                !object.getStatus().is(contentType, DBObjectStatus.COMPILING) &&
+                !object.getStatus().is(contentType, DBObjectStatus.SAVING);
+    }
+
+    /**
+     * Loads the actual change timestamps of the given files and updates the files with them.
+     */
+    public void updateChangeTimestamps(Collection<SourceCodeFile> sourceCodeFiles) throws SQLException {
+        Map<SourceCodeFile, Timestamp> changeTimestamps = loadChangeTimestamps(sourceCodeFiles);
+        for (SourceCodeFile sourceCodeFile : sourceCodeFiles) {
+            Timestamp changeTimestamp = changeTimestamps.get(sourceCodeFile);
+            if (changeTimestamp != null) {
+                sourceCodeFile.setChangeTimestamp(changeTimestamp);
+            }
+        }
+    }
+
+    /**
+     * Loads the change timestamps of the objects of the given files, with one query per schema
+     * (per {@link #MAX_NAMES_PER_QUERY} objects). Files of objects without change timestamp are missing in the result.
+     */
+    public Map<SourceCodeFile, Timestamp> loadChangeTimestamps(Collection<SourceCodeFile> sourceCodeFiles) throws SQLException {
+        Map<String, List<SourceCodeFile>> schemaFiles = new THashMap<String, List<SourceCodeFile>>();
+        for (SourceCodeFile sourceCodeFile : sourceCodeFiles) {
+            String schemaName = sourceCodeFile.getObject().getSchema().getName();
+            List<SourceCodeFile> files = schemaFiles.get(schemaName);
+            if (files == null) {
+                files = new ArrayList<SourceCodeFile>();
+                schemaFiles.put(schemaName, files);
+            }
+            files.add(sourceCodeFile);
+        }
+
+        Map<SourceCodeFile, Timestamp> changeTimestamps = new THashMap<SourceCodeFile, Timestamp>();
+        Connection connection = connectionHandler.getPoolConnection();
+        try {
+            DatabaseMetadataInterface metadataInterface = connectionHandler.getInterfaceProvider().getMetadataInterface();
+            for (Map.Entry<String, List<SourceCodeFile>> entry : schemaFiles.entrySet()) {
+                List<SourceCodeFile> files = entry.getValue();
+                for (int fromIndex = 0; fromIndex < files.size(); fromIndex += MAX_NAMES_PER_QUERY) {
+                    List<SourceCodeFile> batch = files.subList(fromIndex, Math.min(files.size(), fromIndex + MAX_NAMES_PER_QUERY));
+                    loadChangeTimestamps(metadataInterface, entry.getKey(), batch, changeTimestamps, connection);
+                }
+            }
+        } finally {
+            connectionHandler.freePoolConnection(connection);
+        }
+        return changeTimestamps;
+    }
+
+    private static void loadChangeTimestamps(DatabaseMetadataInterface metadataInterface, String schemaName, List<SourceCodeFile> files, Map<SourceCodeFile, Timestamp> changeTimestamps, Connection connection) throws SQLException {
+        StringBuilder objectNames = new StringBuilder();
+        for (SourceCodeFile file : files) {
+            String objectName = file.getObject().getName();
+            if (objectNames.length() > 0) objectNames.append(", ");
+            objectNames.append('\'').append(objectName.replace("'", "''")).append('\'');
+        }
+
+        Map<String, Timestamp> objectTimestamps = new THashMap<String, Timestamp>();
+        ResultSet resultSet = null;
+        try {
+            resultSet = metadataInterface.loadObjectChangeTimestamps(schemaName, objectNames.toString(), connection);
+            while (resultSet.next()) {
+                String objectName = resultSet.getString("OBJECT_NAME");
+                String objectType = resultSet.getString("OBJECT_TYPE");
+                Timestamp changeTimestamp = resultSet.getTimestamp("CHANGE_TIMESTAMP");
+                objectTimestamps.put(objectName + "#" + objectType, changeTimestamp);
+            }
+        } finally {
+            ConnectionUtil.closeResultSet(resultSet);
+        }
+
+        for (SourceCodeFile file : files) {
+            DBSchemaObject object = file.getObject();
+            String objectType = object.getTimestampLoader(file.getContentType()).getObjectType();
+            Timestamp changeTimestamp = objectTimestamps.get(object.getName() + "#" + objectType);
+            if (changeTimestamp != null) {
+                changeTimestamps.put(file, changeTimestamp);
+            }
+        }
+    }
+
+    /*********************************************************
+     *                      Disposable                       *
+     *********************************************************/
+    public synchronized void dispose() {
+        if (!isDisposed) {
+            isDisposed = true;
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            connectionHandler = null;
+        }
+    }
+}
@@ -56,6 +56,10 @@ public class SourceCodeEditor extends BasicTextEditorImpl<SourceCodeFile> implem
     }
 
     public int getHeaderEndOffset() {
+        if (headerEndOffset == 0 && !getVirtualFile().isLoading() && textEditor.getEditor().getDocument().getTextLength() > 0) {
+            // the source code was loaded after the editor was created
+            headerEndOffset = getVirtualFile().getEditorHeaderEndOffset();
+        }
         return headerEndOffset;
     }
 
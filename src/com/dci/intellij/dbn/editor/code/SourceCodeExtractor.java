@@ -0,0 +1,339 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.editor.code;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.common.util.StringUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.ConnectionUtil;
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
+import com.dci.intellij.dbn.database.DatabaseDDLInterface;
+import com.dci.intellij.dbn.database.DatabaseFeature;
+import com.dci.intellij.dbn.database.DatabaseMetadataInterface;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import com.dci.intellij.dbn.ddl.DDLFileType;
+import com.dci.intellij.dbn.editor.DBContentType;
+import com.dci.intellij.dbn.object.DBMethod;
+import com.dci.intellij.dbn.object.DBSchema;
+import com.dci.intellij.dbn.object.DBTrigger;
+import com.dci.intellij.dbn.object.common.DBSchemaObject;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.io.FileUtil;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Extracts the source code of all the packages, types, procedures, functions, triggers and views of a schema.
+ * If the database supports it, the sources of each object type are loaded with one query streaming the lines
+ * of all objects ordered by name, and assembled per object in a single pass. The object types are extracted
+ * concurrently, each on a pool connection. Otherwise the objects are loaded one by one.
+ * The sources are stored in the source code cache and, if a target directory is given, written to files.
+ */
+public class SourceCodeExtractor {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final int MAX_THREADS = 4;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final DBSchema schema;
+    private final File targetDirectory;
+    private final boolean bulkExtraction;
+    private final Charset charset;
+
+    private final AtomicInteger objectCount = new AtomicInteger();
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final AtomicLong characterCount = new AtomicLong();
+
+    public SourceCodeExtractor(DBSchema schema, @Nullable File targetDirectory) {
+        this.schema = schema;
+        this.targetDirectory = targetDirectory;
+        this.bulkExtraction = DatabaseCompatibilityInterface.getInstance(schema).supportsFeature(DatabaseFeature.BULK_SOURCE_EXTRACTION);
+        this.charset = schema.getConnectionHandler().getSettings().getDetailSettings().getCharset();
+    }
+
+    public Result extract(ProgressIndicator progressIndicator) throws InterruptedException {
+        long startTimestamp = System.currentTimeMillis();
+        List<ExtractionUnit> units = createExtractionUnits();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_THREADS, units.size()));
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (ExtractionUnit unit : units) {
+                futures.add(executor.submit(unit));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Void> future = futures.get(i);
+                while (true) {
+                    if (progressIndicator.isCanceled()) throw new InterruptedException();
+                    try {
+                        future.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        progressIndicator.setText2(objectCount.get() + " objects extracted");
+                    } catch (ExecutionException e) {
+                        LOGGER.warn("Error extracting " + units.get(i).description + " of schema " + schema.getName() + ": " + e.getCause().getMessage());
+                        failureCount.incrementAndGet();
+                        break;
+                    }
+                }
+                progressIndicator.setFraction((double) (i + 1) / futures.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Result result = new Result(objectCount.get(), failureCount.get(), characterCount.get(), System.currentTimeMillis() - startTimestamp);
+        if (SettingsUtil.isDebugEnabled) {
+            LOGGER.info("[DBN-INFO] Done extracting source code of schema " + schema.getName() + " - " + result);
+        }
+        return result;
+    }
+
+    private List<ExtractionUnit> createExtractionUnits() {
+        final DatabaseDDLInterface ddlInterface = schema.getConnectionHandler().getInterfaceProvider().getDDLInterface();
+        List<ExtractionUnit> units = new ArrayList<ExtractionUnit>();
+        units.add(new ObjectsExtractionUnit("package specifications", "PACKAGE", DBContentType.CODE_SPEC, schema.getPackages()));
+        units.add(new ObjectsExtractionUnit("package bodies", "PACKAGE BODY", DBContentType.CODE_BODY, schema.getPackages()));
+        units.add(new ObjectsExtractionUnit("type specifications", "TYPE", DBContentType.CODE_SPEC, schema.getTypes()));
+        units.add(new ObjectsExtractionUnit("type bodies", "TYPE BODY", DBContentType.CODE_BODY, schema.getTypes()));
+        units.add(new ObjectsExtractionUnit("procedures", "PROCEDURE", DBContentType.CODE, schema.getProcedures()) {
+            protected String getHeader(DBSchemaObject object) {
+                return ddlInterface.createMethodEditorHeader((DBMethod) object);
+            }
+        });
+        units.add(new ObjectsExtractionUnit("functions", "FUNCTION", DBContentType.CODE, schema.getFunctions()) {
+            protected String getHeader(DBSchemaObject object) {
+                return ddlInterface.createMethodEditorHeader((DBMethod) object);
+            }
+        });
+        units.add(new ObjectsExtractionUnit("triggers", "TRIGGER", DBContentType.CODE, schema.getTriggers()) {
+            protected String getHeader(DBSchemaObject object) {
+                return ddlInterface.createTriggerEditorHeader((DBTrigger) object);
+            }
+        });
+        units.add(new ExtractionUnit("views", DBContentType.CODE, schema.getViews()) {
+            protected ResultSet loadSourceCode(DatabaseMetadataInterface metadataInterface, Connection connection) throws SQLException {
+                return metadataInterface.loadSchemaViewsSourceCode(schema.getName(), connection);
+            }
+        });
+        return units;
+    }
+
+    private void store(DBSchemaObject object, DBContentType contentType, @Nullable Timestamp changeTimestamp, String content) {
+        SourceCodeCache.store(object, contentType, changeTimestamp, content);
+        if (targetDirectory != null) {
+            File file = new File(targetDirectory, getFileName(object, contentType));
+            try {
+                FileUtil.writeToFile(file, content.getBytes(charset));
+            } catch (IOException e) {
+                LOGGER.warn("Error writing source code of " + object.getQualifiedNameWithType() + " to " + file.getPath() + ": " + e.getMessage());
+                failureCount.incrementAndGet();
+                return;
+            }
+        }
+        objectCount.incrementAndGet();
+        characterCount.addAndGet(content.length());
+    }
+
+    private static String getFileName(DBSchemaObject object, DBContentType contentType) {
+        DDLFileType ddlFileType = object.getDDLFileType(contentType);
+        List<String> extensions = ddlFileType == null ? null : ddlFileType.getExtensions();
+        String extension = extensions == null || extensions.isEmpty() ? "sql" : extensions.get(0);
+        return object.getName().toLowerCase() + "." + extension;
+    }
+
+    /**
+     * Sources of one object type (and content type) of the schema.
+     */
+    private abstract class ExtractionUnit implements Callable<Void> {
+        private final String description;
+        private final DBContentType contentType;
+        private final Map<String, DBSchemaObject> objects = new THashMap<String, DBSchemaObject>();
+
+        protected ExtractionUnit(String description, DBContentType contentType, List<? extends DBSchemaObject> objects) {
+            this.description = description;
+            this.contentType = contentType;
+            for (DBSchemaObject object : objects) {
+                this.objects.put(object.getName(), object);
+            }
+        }
+
+        protected abstract ResultSet loadSourceCode(DatabaseMetadataInterface metadataInterface, Connection connection) throws SQLException;
+
+        protected String getHeader(DBSchemaObject object) {
+            return "";
+        }
+
+        public Void call() throws SQLException {
+            if (objects.isEmpty()) return null;
+            if (bulkExtraction) {
+                extractBulk();
+            } else {
+                extractObjects();
+            }
+            return null;
+        }
+
+        private void extractBulk() throws SQLException {
+            ConnectionHandler connectionHandler = schema.getConnectionHandler();
+            StatementExecutionStatistics statistics = StatementExecutionStatistics.getInstance();
+            Connection connection = connectionHandler.getPoolConnection();
+            ResultSet resultSet = null;
+            try {
+                DatabaseMetadataInterface metadataInterface = connectionHandler.getInterfaceProvider().getMetadataInterface();
+                StatementExecutionStatistics.Entry execution;
+                statistics.captureLastExecution();
+                try {
+                    resultSet = loadSourceCode(metadataInterface, connection);
+                } finally {
+                    execution = statistics.takeLastExecution();
+                }
+
+                long fetchStartTimestamp = System.currentTimeMillis();
+                int rowCount = 0;
+                String objectName = null;
+                Timestamp changeTimestamp = null;
+                StringBuilder sourceCode = new StringBuilder();
+                while (resultSet.next()) {
+                    if (Thread.currentThread().isInterrupted()) return;
+                    rowCount++;
+                    String name = resultSet.getString("OBJECT_NAME");
+                    if (!name.equals(objectName)) {
+                        if (objectName != null) {
+                            flush(objectName, changeTimestamp, sourceCode);
+                        }
+                        objectName = name;
+                        changeTimestamp = resultSet.getTimestamp("CHANGE_TIMESTAMP");
+                        sourceCode.setLength(0);
+                    }
+                    String codeLine = resultSet.getString("TEXT");
+                    if (codeLine != null) sourceCode.append(codeLine);
+                }
+                if (objectName != null) {
+                    flush(objectName, changeTimestamp, sourceCode);
+                }
+
+                if (execution != null) {
+                    statistics.recordFetch(execution, description + " of schema " + schema.getName(), System.currentTimeMillis() - fetchStartTimestamp, rowCount);
+                }
+            } finally {
+                ConnectionUtil.closeResultSet(resultSet);
+                connectionHandler.freePoolConnection(connection);
+            }
+        }
+
+        private void flush(String objectName, Timestamp changeTimestamp, StringBuilder sourceCode) {
+            DBSchemaObject object = objects.get(objectName);
+            if (object != null) {
+                String content = StringUtil.removeCharacter(getHeader(object) + sourceCode, '\r');
+                store(object, contentType, changeTimestamp, content);
+            }
+        }
+
+        private void extractObjects() {
+            for (DBSchemaObject object : objects.values()) {
+                if (Thread.currentThread().isInterrupted()) return;
+                try {
+                    Timestamp changeTimestamp = object.loadChangeTimestamp(contentType);
+                    String content = StringUtil.removeCharacter(object.loadCodeFromDatabase(contentType), '\r');
+                    store(object, contentType, changeTimestamp, content);
+                } catch (SQLException e) {
+                    // e.g. packages without body
+                    if (SettingsUtil.isDebugEnabled) {
+                        LOGGER.info("[DBN-INFO] Could not extract source code of " + object.getQualifiedNameWithType() + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sources of the objects stored in the source table of the database (packages, types, methods), by object type.
+     */
+    private class ObjectsExtractionUnit extends ExtractionUnit {
+        private final String objectType;
+
+        private ObjectsExtractionUnit(String description, String objectType, DBContentType contentType, List<? extends DBSchemaObject> objects) {
+            super(description, contentType, objects);
+            this.objectType = objectType;
+        }
+
+        protected ResultSet loadSourceCode(DatabaseMetadataInterface metadataInterface, Connection connection) throws SQLException {
+            return metadataInterface.loadSchemaObjectsSourceCode(schema.getName(), objectType, connection);
+        }
+    }
+
+    public static class Result {
+        private final int objectCount;
+        private final int failureCount;
+        private final long characterCount;
+        private final long duration;
+
+        private Result(int objectCount, int failureCount, long characterCount, long duration) {
+            this.objectCount = objectCount;
+            this.failureCount = failureCount;
+            this.characterCount = characterCount;
+            this.duration = duration;
+        }
+
+        public int getObjectCount() {
+            return objectCount;
+        }
+
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        public long getCharacterCount() {
+            return characterCount;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        @Override
+        public String toString() {
+            long millis = Math.max(duration, 1);
+            return objectCount + " sources, " + (characterCount / 1024) + " KB in " + duration + "ms (" +
+                    (objectCount * 1000 / millis) + " objects/s, " + (characterCount * 1000 / 1024 / millis) + " KB/s)" +
+                    (failureCount > 0 ? ", " + failureCount + " failures" : "");
+        }
+    }
+}
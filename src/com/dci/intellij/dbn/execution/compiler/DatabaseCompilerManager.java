@@ -17,6 +17,7 @@
 package com.dci.intellij.dbn.execution.compiler;
 
 import com.dci.intellij.dbn.common.AbstractProjectComponent;
+import com.dci.intellij.dbn.common.LoggerFactory;
 import com.dci.intellij.dbn.common.thread.BackgroundTask;
 import com.dci.intellij.dbn.common.util.CommonUtil;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
@@ -32,6 +33,7 @@ import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
 import com.dci.intellij.dbn.vfs.DatabaseEditableObjectFile;
 import com.dci.intellij.dbn.vfs.DatabaseFileSystem;
 import com.dci.intellij.dbn.vfs.SourceCodeFile;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
@@ -45,6 +47,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class DatabaseCompilerManager extends AbstractProjectComponent {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+
     private DatabaseCompilerManager(Project project) {
         super(project);
     }
@@ -73,9 +77,18 @@ public class DatabaseCompilerManager extends AbstractProjectComponent {
                 if (DatabaseFileSystem.getInstance().isFileOpened(object)) {
                     DatabaseEditableObjectFile databaseFile = object.getVirtualFile();
                     if (object.getContentType().isBundle()) {
+                        List<SourceCodeFile> sourceCodeFiles = new ArrayList<SourceCodeFile>();
                         for (DBContentType contentType : object.getContentType().getSubContentTypes()) {
-                            SourceCodeFile sourceCodeFile = (SourceCodeFile) databaseFile.getContentFile(contentType);
-                            sourceCodeFile.updateChangeTimestamp();
+                            sourceCodeFiles.add((SourceCodeFile) databaseFile.getContentFile(contentType));
+                        }
+                        try {
+                            object.getConnectionHandler().getSourceCodeChangeChecker().updateChangeTimestamps(sourceCodeFiles);
+                        } catch (SQLException e) {
+                            LOGGER.warn("Error updating change timestamps of " + object.getQualifiedNameWithType() + ": " + e.getMessage());
+                            // one by one, so a failing file does not leave the others with outdated timestamps
+                            for (SourceCodeFile sourceCodeFile : sourceCodeFiles) {
+                                sourceCodeFile.updateChangeTimestamp();
+                            }
                         }
                     } else {
                         SourceCodeFile sourceCodeFile = (SourceCodeFile) databaseFile.getContentFile(object.getContentType());
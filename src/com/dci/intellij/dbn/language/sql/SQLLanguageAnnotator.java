@@ -17,6 +17,7 @@
 package com.dci.intellij.dbn.language.sql;
 
 import com.dci.intellij.dbn.code.sql.color.SQLTextAttributesKeys;
+import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.execution.statement.StatementGutterRenderer;
 import com.dci.intellij.dbn.execution.statement.processor.StatementExecutionProcessor;
@@ -24,12 +25,21 @@ import com.dci.intellij.dbn.language.common.psi.ChameleonPsiElement;
 import com.dci.intellij.dbn.language.common.psi.ExecutablePsiElement;
 import com.dci.intellij.dbn.language.common.psi.IdentifierPsiElement;
 import com.dci.intellij.dbn.language.common.psi.NamedPsiElement;
+import com.dci.intellij.dbn.language.common.psi.PsiUtil;
+import com.dci.intellij.dbn.language.common.psi.QualifiedIdentifierPsiElement;
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.dci.intellij.dbn.object.common.list.DBObjectList;
+import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.lang.annotation.Annotation;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.psi.PsiElement;
 
+import java.util.Collections;
+import java.util.Set;
+
 public class SQLLanguageAnnotator implements Annotator {
     public static final SQLLanguageAnnotator INSTANCE = new SQLLanguageAnnotator();
 
@@ -89,6 +99,9 @@ public class SQLLanguageAnnotator implements Annotator {
     }
 
     private void annotateObject(IdentifierPsiElement objectReference, AnnotationHolder holder) {
+        // objects still loading would be reported as unknown
+        if (!isLookupContentLoaded(objectReference)) return;
+
         PsiElement reference = objectReference.resolve();
         ConnectionHandler connectionHandler = objectReference.getActiveConnection();
         if (reference == null && connectionHandler != null && connectionHandler.getConnectionStatus().isValid()) {
@@ -100,6 +113,43 @@ public class SQLLanguageAnnotator implements Annotator {
         }
     }
 
+    /**
+     * Waits at most {@link DynamicContent#EDITOR_LOAD_TIMEOUT} for the object lists the reference is looked up in
+     * (children of the qualifying object, or of the current schema for unqualified references).
+     */
+    private static boolean isLookupContentLoaded(IdentifierPsiElement objectReference) {
+        DBObject parentObject = null;
+        PsiElement parent = objectReference.getParent();
+        if (parent instanceof QualifiedIdentifierPsiElement) {
+            QualifiedIdentifierPsiElement qualifiedIdentifier = (QualifiedIdentifierPsiElement) parent;
+            int index = qualifiedIdentifier.getIndexOf(objectReference);
+            if (index > 0) {
+                IdentifierPsiElement parentReference = qualifiedIdentifier.getLeafAtIndex(index - 1);
+                parentObject = parentReference == null ? null : parentReference.resolveUnderlyingObject();
+                if (parentObject == null) return true;
+            }
+        }
+        if (parentObject == null) {
+            parentObject = PsiUtil.getCurrentSchema(objectReference);
+        }
+
+        DBObjectListContainer childObjects = parentObject == null ? null : parentObject.getChildObjects();
+        if (childObjects != null) {
+            DBObjectType objectType = objectReference.getObjectType();
+            Set<DBObjectType> objectTypes = objectType.isGeneric() ?
+                    objectType.getInheritingTypes() :
+                    Collections.singleton(objectType);
+            for (DBObjectType childObjectType : objectTypes) {
+                DBObjectList objectList = childObjects.getObjectList(childObjectType);
+                if (objectList != null) {
+                    objectList.getElements(DynamicContent.EDITOR_LOAD_TIMEOUT);
+                    if (!objectList.isLoaded() || objectList.isLoading()) return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void annotateExecutable(PsiElement psiElement, AnnotationHolder holder) {
         ExecutablePsiElement executable = (ExecutablePsiElement) psiElement;
         if (!executable.isNestedExecutable()) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.navigation;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.ConnectionUtil;
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
+import com.dci.intellij.dbn.database.DatabaseMetadataInterface;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches the data dictionary of the connections for objects matching the name pattern typed in the
+ * "Go to database object" popup, instead of loading the object lists of all schemas.
+ * The connections are searched concurrently (in a thread pool shared by all searches), each on a pool connection.
+ * The number of rows returned per connection is limited, and connections not answering within the search timeout are skipped.
+ */
+public class DatabaseObjectSearch {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    public static final int MAX_RESULTS = 200;
+    private static final long SEARCH_TIMEOUT_MILLIS = 15000;
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        public Thread newThread(@NotNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "DBN Object Search - " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private DatabaseObjectSearch() {}
+
+    /**
+     * Converts the popup pattern (optionally qualified with the schema name, "*" as wildcard)
+     * to an upper case LIKE pattern (escape character '!') matching the object name anywhere.
+     * The pattern is not escaped for being embedded in a string literal (see DatabaseCompatibilityInterface.escapeStringLiteral()).
+     * Returns null if the pattern has no name characters.
+     */
+    @Nullable
+    public static String createNamePattern(String pattern) {
+        int separatorIndex = pattern.lastIndexOf('.');
+        String name = pattern.substring(separatorIndex + 1).trim().toUpperCase();
+        StringBuilder buffer = new StringBuilder("%");
+        boolean hasNameCharacters = false;
+        for (int i = 0; i < name.length(); i++) {
+            char chr = name.charAt(i);
+            switch (chr) {
+                case '*': buffer.append('%'); break;
+                case '%':
+                case '_':
+                case '!': buffer.append('!').append(chr); hasNameCharacters = true; break;
+                case ' ': break;
+                default: buffer.append(chr); hasNameCharacters = true;
+            }
+        }
+        buffer.append('%');
+        return hasNameCharacters ? buffer.toString() : null;
+    }
+
+    public static List<DatabaseObjectSearchResult> search(List<ConnectionHandler> connectionHandlers, String pattern, ProgressIndicator progressIndicator) {
+        final String namePattern = createNamePattern(pattern);
+        if (namePattern == null || connectionHandlers.isEmpty()) return Collections.emptyList();
+
+        long startTimestamp = System.currentTimeMillis();
+        List<DatabaseObjectSearchResult> results = new ArrayList<DatabaseObjectSearchResult>();
+        List<Future<List<DatabaseObjectSearchResult>>> futures = new ArrayList<Future<List<DatabaseObjectSearchResult>>>();
+        try {
+            for (final ConnectionHandler connectionHandler : connectionHandlers) {
+                if (connectionHandler.isActive() && !connectionHandler.isDisposed()) {
+                    futures.add(EXECUTOR.submit(new Callable<List<DatabaseObjectSearchResult>>() {
+                        public List<DatabaseObjectSearchResult> call() throws Exception {
+                            return search(connectionHandler, namePattern);
+                        }
+                    }));
+                }
+            }
+
+            long deadline = startTimestamp + SEARCH_TIMEOUT_MILLIS;
+            for (Future<List<DatabaseObjectSearchResult>> future : futures) {
+                while (true) {
+                    if (progressIndicator.isCanceled()) return Collections.emptyList();
+                    try {
+                        results.addAll(future.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS));
+                        break;
+                    } catch (TimeoutException e) {
+                        if (System.currentTimeMillis() > deadline) break;
+                    } catch (ExecutionException e) {
+                        LOGGER.warn("Error searching database objects: " + e.getCause().getMessage());
+                        break;
+                    } catch (InterruptedException e) {
+                        return Collections.emptyList();
+                    }
+                }
+            }
+        } finally {
+            // searches not answering within the timeout (or the cancelled ones) are interrupted
+            for (Future future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        if (SettingsUtil.isDebugEnabled) {
+            LOGGER.info("[DBN-INFO] Done searching database objects matching " + namePattern + " - " +
+                    results.size() + " objects, " + (System.currentTimeMillis() - startTimestamp) + "ms");
+        }
+        return results;
+    }
+
+    private static List<DatabaseObjectSearchResult> search(ConnectionHandler connectionHandler, String namePattern) throws SQLException {
+        List<DatabaseObjectSearchResult> results = new ArrayList<DatabaseObjectSearchResult>();
+        Connection connection = connectionHandler.getPoolConnection();
+        ResultSet resultSet = null;
+        try {
+            DatabaseMetadataInterface metadataInterface = connectionHandler.getInterfaceProvider().getMetadataInterface();
+            DatabaseCompatibilityInterface compatibilityInterface = DatabaseCompatibilityInterface.getInstance(connectionHandler);
+            String escapedNamePattern = compatibilityInterface.escapeStringLiteral(namePattern);
+            resultSet = metadataInterface.searchObjects(escapedNamePattern, MAX_RESULTS, connection);
+            while (resultSet.next()) {
+                String schemaName = resultSet.getString("SCHEMA_NAME");
+                String objectName = resultSet.getString("OBJECT_NAME");
+                DBObjectType objectType = DBObjectType.getObjectType(resultSet.getString("OBJECT_TYPE"));
+                if (objectType != DBObjectType.UNKNOWN) {
+                    results.add(new DatabaseObjectSearchResult(connectionHandler, schemaName, objectName, objectType));
+                }
+            }
+        } finally {
+            ConnectionUtil.closeResultSet(resultSet);
+            connectionHandler.freePoolConnection(connection);
+        }
+        return results;
+    }
+}
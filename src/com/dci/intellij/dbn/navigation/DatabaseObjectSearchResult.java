@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.navigation;
+
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.dci.intellij.dbn.object.identifier.DBObjectIdentifier;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+
+/**
+ * Object found by a data dictionary search, not (yet) part of the loaded object model.
+ * Resolving it only loads the objects on its path (the schema and the list of objects of its type in that schema).
+ */
+public class DatabaseObjectSearchResult {
+    private ConnectionHandler connectionHandler;
+    private String schemaName;
+    private String objectName;
+    private DBObjectType objectType;
+
+    public DatabaseObjectSearchResult(ConnectionHandler connectionHandler, String schemaName, String objectName, DBObjectType objectType) {
+        this.connectionHandler = connectionHandler;
+        this.schemaName = schemaName;
+        this.objectName = objectName;
+        this.objectType = objectType;
+    }
+
+    public ConnectionHandler getConnectionHandler() {
+        return connectionHandler;
+    }
+
+    public String getSchemaName() {
+        return schemaName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public DBObjectType getObjectType() {
+        return objectType;
+    }
+
+    public Icon getIcon() {
+        return objectType.getIcon();
+    }
+
+    public String getQualifiedName() {
+        return schemaName + "." + objectName;
+    }
+
+    /**
+     * Loads the object model along the path of the object and returns the object. May access the database.
+     */
+    @Nullable
+    public DBObject resolve() {
+        DBObjectIdentifier identifier = new DBObjectIdentifier(connectionHandler);
+        identifier.add(DBObjectType.SCHEMA, schemaName);
+        identifier.add(objectType, objectName);
+        return identifier.lookupObject();
+    }
+
+    /**
+     * Tells if the given (loaded) object is the one this result points to.
+     */
+    public boolean matches(DBObject object) {
+        DBObject parentObject = object.getParentObject();
+        return object.getConnectionHandler() == connectionHandler &&
+                object.getObjectType() == objectType &&
+                object.getName().equals(objectName) &&
+                parentObject != null &&
+                parentObject.getObjectType() == DBObjectType.SCHEMA &&
+                parentObject.getName().equals(schemaName);
+    }
+
+    @Override
+    public String toString() {
+        return getQualifiedName();
+    }
+}
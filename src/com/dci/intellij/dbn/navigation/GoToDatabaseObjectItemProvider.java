@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.navigation;
+
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.intellij.ide.util.gotoByName.ChooseByNameBase;
+import com.intellij.ide.util.gotoByName.DefaultChooseByNameItemProvider;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.psi.PsiElement;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provides the loaded objects matching the pattern (through the names of the model) and,
+ * if the checkbox is selected, the objects found by searching the data dictionary of the connections.
+ */
+public class GoToDatabaseObjectItemProvider extends DefaultChooseByNameItemProvider {
+    private GoToDatabaseObjectModel model;
+
+    public GoToDatabaseObjectItemProvider(GoToDatabaseObjectModel model, @Nullable PsiElement context) {
+        super(context);
+        this.model = model;
+    }
+
+    @Override
+    public boolean filterElements(@NotNull ChooseByNameBase base, @NotNull String pattern, boolean everywhere, @NotNull ProgressIndicator progressIndicator, @NotNull final Processor<Object> consumer) {
+        final List<DBObject> loadedObjects = new ArrayList<DBObject>();
+        boolean completed = super.filterElements(base, pattern, everywhere, progressIndicator, new Processor<Object>() {
+            public boolean process(Object element) {
+                if (element instanceof DBObject) loadedObjects.add((DBObject) element);
+                return consumer.process(element);
+            }
+        });
+
+        if (completed && everywhere && model.isDatabaseSearchEnabled()) {
+            Set<DBObjectType> objectTypes = model.getLookupObjectTypes();
+            List<DatabaseObjectSearchResult> results = DatabaseObjectSearch.search(model.getConnectionHandlers(), pattern, progressIndicator);
+            for (DatabaseObjectSearchResult result : results) {
+                if (progressIndicator.isCanceled()) return false;
+                if (objectTypes.contains(result.getObjectType()) && !isLoaded(result, loadedObjects)) {
+                    if (!consumer.process(result)) return false;
+                }
+            }
+        }
+        return completed;
+    }
+
+    private static boolean isLoaded(DatabaseObjectSearchResult result, List<DBObject> loadedObjects) {
+        for (DBObject object : loadedObjects) {
+            if (result.matches(object)) return true;
+        }
+        return false;
+    }
+}
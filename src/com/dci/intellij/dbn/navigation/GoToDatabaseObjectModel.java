@@ -22,9 +22,6 @@ import com.dci.intellij.dbn.connection.VirtualConnectionHandler;
 import com.dci.intellij.dbn.navigation.options.ObjectsLookupSettings;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBObjectType;
-import com.dci.intellij.dbn.object.common.list.DBObjectList;
-import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
-import com.dci.intellij.dbn.object.common.list.DBObjectListVisitor;
 import com.dci.intellij.dbn.options.GlobalProjectSettings;
 import com.intellij.ide.util.gotoByName.ChooseByNameModel;
 import com.intellij.openapi.application.ApplicationManager;
@@ -38,6 +35,7 @@ import org.jetbrains.annotations.Nullable;
 import javax.swing.JList;
 import javax.swing.ListCellRenderer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -47,7 +45,6 @@ public class GoToDatabaseObjectModel implements ChooseByNameModel {
     private ConnectionHandler connectionHandler;
     private ObjectsLookupSettings objectsLookupSettings;
     private Object[] EMPTY_ARRAY = new Object[0];
-    private String[] EMPTY_STRING_ARRAY = new String[0];
 
 
     public GoToDatabaseObjectModel(@NotNull Project project, @Nullable ConnectionHandler connectionHandler) {
@@ -72,7 +69,7 @@ public class GoToDatabaseObjectModel implements ChooseByNameModel {
     }
 
     public String getCheckBoxName() {
-        return objectsLookupSettings.getForceDatabaseLoad().value() ? "Load database objects" : null;
+        return isDatabaseSearchEnabled() ? "Search database" : null;
     }
 
     public char getCheckBoxMnemonic() {
@@ -102,146 +99,57 @@ public class GoToDatabaseObjectModel implements ChooseByNameModel {
         return true;
     }
 
+    /**
+     * Names of the loaded objects, looked up in the name index of the connections. Objects which are not loaded yet
+     * are found by {@link GoToDatabaseObjectItemProvider} searching the data dictionary when the checkbox is selected.
+     */
     public String[] getNames(boolean checkBoxState) {
-        boolean databaseLoadActive = objectsLookupSettings.getForceDatabaseLoad().value();
-        boolean forceLoad = checkBoxState && databaseLoadActive;
-
-        ObjectNamesCollector collector = new ObjectNamesCollector(forceLoad);
-        scanObjectLists(collector);
+        Set<DBObjectType> objectTypes = getLookupObjectTypes();
+        List<ConnectionHandler> connectionHandlers = getConnectionHandlers();
+        if (connectionHandlers.size() == 1) {
+            return connectionHandlers.get(0).getObjectNameIndex().getNames(objectTypes).clone();
+        }
 
-        Set<String> bucket = collector.getBucket();
-        return bucket == null ?
-                EMPTY_STRING_ARRAY :
-                bucket.toArray(new String[bucket.size()]);
+        Set<String> bucket = new THashSet<String>();
+        for (ConnectionHandler connectionHandler : connectionHandlers) {
+            if (breakLoad()) break;
+            Collections.addAll(bucket, connectionHandler.getObjectNameIndex().getNames(objectTypes));
+        }
+        return bucket.toArray(new String[bucket.size()]);
     }
 
     public Object[] getElementsByName(String name, boolean checkBoxState, String pattern) {
-        boolean forceLoad = checkBoxState && objectsLookupSettings.getForceDatabaseLoad().value();
-        ObjectCollector collector = new ObjectCollector(name, forceLoad);
-        scanObjectLists(collector);
-        return collector.getBucket() == null ? EMPTY_ARRAY : collector.getBucket().toArray();
-    }
-
-    private void scanObjectLists(DBObjectListVisitor visitor) {
-        if (connectionHandler == null || connectionHandler instanceof VirtualConnectionHandler) {
-            ConnectionManager connectionManager = ConnectionManager.getInstance(project);
-            Set<ConnectionHandler> connectionHandlers = connectionManager.getConnectionHandlers();
-            for (ConnectionHandler connectionHandler : connectionHandlers) {
-                if (breakLoad()) break;
-                DBObjectListContainer objectListContainer = connectionHandler.getObjectBundle().getObjectListContainer();
-                objectListContainer.visitLists(visitor, false);
-            }
-        } else {
-            DBObjectListContainer objectListContainer = connectionHandler.getObjectBundle().getObjectListContainer();
-            objectListContainer.visitLists(visitor, false);
+        Set<DBObjectType> objectTypes = getLookupObjectTypes();
+        List<DBObject> bucket = new ArrayList<DBObject>();
+        for (ConnectionHandler connectionHandler : getConnectionHandlers()) {
+            bucket.addAll(connectionHandler.getObjectNameIndex().getObjects(name, objectTypes));
         }
+        return bucket.isEmpty() ? EMPTY_ARRAY : bucket.toArray();
     }
 
-    private class ObjectNamesCollector implements DBObjectListVisitor {
-        private boolean forceLoad;
-        private DBObject parentObject;
-        private Set<String> bucket;
-
-        private ObjectNamesCollector(boolean forceLoad) {
-            this.forceLoad = forceLoad;
-        }
-
-        public void visitObjectList(DBObjectList<DBObject> objectList) {
-            if (isListScannable(objectList) && isParentRelationValid(objectList)) {
-                DBObjectType objectType = objectList.getObjectType();
-                if (isLookupEnabled(objectType)) {
-                    boolean isLookupEnabled = objectsLookupSettings.isEnabled(objectType);
-                    DBObject originalParentObject = parentObject;
-                    for (DBObject object : objectList.getObjects()) {
-                        if (breakLoad()) break;
-                        if (isLookupEnabled) {
-                            if (bucket == null) bucket = new THashSet<String>();
-                            bucket.add(object.getName());
-                        }
-
-                        parentObject = object;
-                        DBObjectListContainer childObjects = object.getChildObjects();
-                        if (childObjects != null) childObjects.visitLists(this, false);
-                    }
-                    parentObject = originalParentObject;
-                }
-            }
-        }
-
-        private boolean isListScannable(DBObjectList<DBObject> objectList) {
-            return objectList != null && (objectList.isLoaded() || objectList.isSourceContentLoaded() || forceLoad);
-        }
-
-        private boolean isParentRelationValid(DBObjectList<DBObject> objectList) {
-            return parentObject == null || objectList.getObjectType().isChildOf(parentObject.getObjectType());
-        }
-
-        public Set<String> getBucket() {
-            return bucket;
-        }
+    public boolean isDatabaseSearchEnabled() {
+        return objectsLookupSettings.getForceDatabaseLoad().value();
     }
 
-    private boolean isLookupEnabled(DBObjectType objectType) {
-        boolean enabled = objectsLookupSettings.isEnabled(objectType);
-        if (!enabled) {
-            for (DBObjectType childObjectType : objectType.getChildren()) {
-                if (isLookupEnabled(childObjectType)) {
-                    return true;
-                }
+    public Set<DBObjectType> getLookupObjectTypes() {
+        Set<DBObjectType> objectTypes = new THashSet<DBObjectType>();
+        for (DBObjectType objectType : DBObjectType.values()) {
+            if (objectsLookupSettings.isEnabled(objectType)) {
+                objectTypes.add(objectType);
             }
-            return false;
         }
-        return enabled;
+        return objectTypes;
     }
 
-
-    private class ObjectCollector implements DBObjectListVisitor {
-        private String objectName;
-        private boolean forceLoad;
-        private DBObject parentObject;
-        private List<DBObject> bucket;
-
-        private ObjectCollector(String objectName, boolean forceLoad) {
-            this.objectName = objectName;
-            this.forceLoad = forceLoad;
-        }
-
-        public void visitObjectList(DBObjectList<DBObject> objectList) {
-            if (isListScannable(objectList) && isParentRelationValid(objectList)) {
-                DBObjectType objectType = objectList.getObjectType();
-                if (isLookupEnabled(objectType)) {
-                    boolean isLookupEnabled = objectsLookupSettings.isEnabled(objectType);
-                    DBObject originalParentObject = parentObject;
-                    for (DBObject object : objectList.getObjects()) {
-                        if (breakLoad()) break;
-                        if (isLookupEnabled && object.getName().equals(objectName)) {
-                            if (bucket == null) bucket = new ArrayList<DBObject>();
-                            bucket.add(object);
-                        }
-
-                        parentObject = object;
-                        DBObjectListContainer childObjects = object.getChildObjects();
-                        if (childObjects != null) childObjects.visitLists(this, false);
-                    }
-                    parentObject = originalParentObject;
-                }
-            }
-        }
-
-        private boolean isListScannable(DBObjectList<DBObject> objectList) {
-            return objectList != null && (objectList.isLoaded() || objectList.isSourceContentLoaded() || forceLoad);
-        }
-
-        private boolean isParentRelationValid(DBObjectList<DBObject> objectList) {
-            return parentObject == null || objectList.getObjectType().isChildOf(parentObject.getObjectType());
-        }
-
-        public List<DBObject> getBucket() {
-            return bucket;
+    public List<ConnectionHandler> getConnectionHandlers() {
+        if (connectionHandler == null || connectionHandler instanceof VirtualConnectionHandler) {
+            ConnectionManager connectionManager = ConnectionManager.getInstance(project);
+            return new ArrayList<ConnectionHandler>(connectionManager.getConnectionHandlers());
+        } else {
+            return Collections.singletonList(connectionHandler);
         }
     }
 
-
     private boolean breakLoad() {
         return cancelled || !ApplicationManager.getApplication().isActive();
     }
@@ -251,6 +159,10 @@ public class GoToDatabaseObjectModel implements ChooseByNameModel {
             DBObject object = (DBObject) element;
             return object.getQualifiedName();
         }
+        if (element instanceof DatabaseObjectSearchResult) {
+            DatabaseObjectSearchResult result = (DatabaseObjectSearchResult) element;
+            return result.getQualifiedName();
+        }
 
         return element == null ? null : element.toString();
     }
@@ -279,6 +191,12 @@ public class GoToDatabaseObjectModel implements ChooseByNameModel {
                 if (object.getParentObject() != null) {
                     append(" - " + object.getParentObject().getQualifiedName(), SimpleTextAttributes.GRAY_ATTRIBUTES);
                 }
+            } else if (value instanceof DatabaseObjectSearchResult) {
+                DatabaseObjectSearchResult result = (DatabaseObjectSearchResult) value;
+                setIcon(result.getIcon());
+                append(result.getObjectName(), SimpleTextAttributes.REGULAR_ATTRIBUTES);
+                append(" [" + result.getConnectionHandler().getName() + "]", SimpleTextAttributes.GRAY_ATTRIBUTES);
+                append(" - " + result.getSchemaName(), SimpleTextAttributes.GRAY_ATTRIBUTES);
             } else append(value.toString(), SimpleTextAttributes.REGULAR_ATTRIBUTES);
         }
     }
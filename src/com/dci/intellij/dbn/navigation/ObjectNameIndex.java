@@ -0,0 +1,135 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.navigation;
+
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import gnu.trove.TObjectHashingStrategy;
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the loaded objects of a connection by name, serving the "Go to database object" lookups
+ * without walking the object lists on every keystroke.
+ * The index is maintained incrementally by the object lists as their elements change. The same object instance
+ * can be part of several lists (e.g. a column is part of the schema "all columns" list and of the columns list
+ * of its table), hence the objects are reference counted and only dropped when removed from the last list.
+ */
+public class ObjectNameIndex {
+    private final TObjectIntHashMap<DBObject> references = new TObjectIntHashMap<DBObject>(TObjectHashingStrategy.IDENTITY);
+    private final Map<String, List<DBObject>> objects = new THashMap<String, List<DBObject>>();
+    private int modificationCount;
+
+    private String[] names;
+    private Set<DBObjectType> namesObjectTypes;
+    private int namesModificationCount = -1;
+
+    public synchronized void update(Collection<? extends DBObject> removedObjects, Collection<? extends DBObject> addedObjects) {
+        for (DBObject object : removedObjects) {
+            int count = references.get(object);
+            if (count > 1) {
+                references.put(object, count - 1);
+            } else if (count == 1) {
+                references.remove(object);
+                List<DBObject> nameObjects = objects.get(object.getName());
+                if (nameObjects != null) {
+                    removeIdentical(nameObjects, object);
+                    if (nameObjects.isEmpty()) objects.remove(object.getName());
+                }
+                modificationCount++;
+            }
+        }
+
+        for (DBObject object : addedObjects) {
+            int count = references.get(object);
+            references.put(object, count + 1);
+            if (count == 0) {
+                List<DBObject> nameObjects = objects.get(object.getName());
+                if (nameObjects == null) {
+                    nameObjects = new ArrayList<DBObject>(1);
+                    objects.put(object.getName(), nameObjects);
+                }
+                nameObjects.add(object);
+                modificationCount++;
+            }
+        }
+    }
+
+    private static void removeIdentical(List<DBObject> objects, DBObject object) {
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                objects.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Names of the indexed objects of the given types. The result is cached until the index
+     * changes or different object types are requested, so it must not be modified by the callers.
+     */
+    public synchronized String[] getNames(Set<DBObjectType> objectTypes) {
+        if (names == null || namesModificationCount != modificationCount || !objectTypes.equals(namesObjectTypes)) {
+            List<String> names = new ArrayList<String>();
+            for (Map.Entry<String, List<DBObject>> entry : objects.entrySet()) {
+                for (DBObject object : entry.getValue()) {
+                    if (objectTypes.contains(object.getObjectType())) {
+                        names.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+            this.names = names.toArray(new String[names.size()]);
+            this.namesObjectTypes = new THashSet<DBObjectType>(objectTypes);
+            this.namesModificationCount = modificationCount;
+        }
+        return names;
+    }
+
+    public synchronized List<DBObject> getObjects(String name, Set<DBObjectType> objectTypes) {
+        List<DBObject> nameObjects = objects.get(name);
+        if (nameObjects == null) return Collections.emptyList();
+
+        List<DBObject> result = new ArrayList<DBObject>(nameObjects.size());
+        for (DBObject object : nameObjects) {
+            if (objectTypes.contains(object.getObjectType()) && !object.isDisposed()) {
+                result.add(object);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return references.size();
+    }
+
+    public synchronized void clear() {
+        references.clear();
+        objects.clear();
+        names = null;
+        namesObjectTypes = null;
+        modificationCount++;
+    }
+}
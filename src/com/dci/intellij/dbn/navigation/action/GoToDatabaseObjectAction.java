@@ -16,9 +16,13 @@
 
 package com.dci.intellij.dbn.navigation.action;
 
+import com.dci.intellij.dbn.common.thread.BackgroundTask;
+import com.dci.intellij.dbn.common.thread.SimpleLaterInvocator;
 import com.dci.intellij.dbn.connection.ConnectionBundle;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.ConnectionManager;
+import com.dci.intellij.dbn.navigation.DatabaseObjectSearchResult;
+import com.dci.intellij.dbn.navigation.GoToDatabaseObjectItemProvider;
 import com.dci.intellij.dbn.navigation.GoToDatabaseObjectModel;
 import com.dci.intellij.dbn.navigation.options.ObjectsLookupSettings;
 import com.dci.intellij.dbn.object.common.DBObject;
@@ -33,11 +37,13 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.openapi.ui.popup.ListPopup;
 import com.intellij.openapi.util.Condition;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 
@@ -119,7 +125,8 @@ public class GoToDatabaseObjectAction extends GotoActionBase implements DumbAwar
             removeActionLock();
         } else {
             GoToDatabaseObjectModel model = new GoToDatabaseObjectModel(project,  connectionHandler);
-            ChooseByNamePopup popup = ChooseByNamePopup.createPopup(project, model, getPsiContext(e));
+            GoToDatabaseObjectItemProvider itemProvider = new GoToDatabaseObjectItemProvider(model, getPsiContext(e));
+            ChooseByNamePopup popup = ChooseByNamePopup.createPopup(project, model, itemProvider);
             popup.invoke(new Callback(model), ModalityState.current(), false);
         }
     }
@@ -140,12 +147,31 @@ public class GoToDatabaseObjectAction extends GotoActionBase implements DumbAwar
         @Override
         public void elementChosen(Object element) {
             if (element instanceof DBObject) {
-                DBObject object = (DBObject) element;
-                if (object.getProperties().is(DBObjectProperty.EDITABLE)) {
-                    DatabaseFileSystem.getInstance().openEditor(object);
-                } else {
-                    object.navigate(true);
-                }
+                openObject((DBObject) element);
+            } else if (element instanceof DatabaseObjectSearchResult) {
+                final DatabaseObjectSearchResult result = (DatabaseObjectSearchResult) element;
+                new BackgroundTask(result.getConnectionHandler().getProject(), "Loading database object " + result.getQualifiedName(), false, true) {
+                    @Override
+                    protected void execute(@NotNull ProgressIndicator progressIndicator) throws InterruptedException {
+                        initProgressIndicator(progressIndicator, true);
+                        final DBObject object = result.resolve();
+                        if (object != null && !progressIndicator.isCanceled()) {
+                            new SimpleLaterInvocator() {
+                                public void run() {
+                                    openObject(object);
+                                }
+                            }.start();
+                        }
+                    }
+                }.start();
+            }
+        }
+
+        private void openObject(DBObject object) {
+            if (object.getProperties().is(DBObjectProperty.EDITABLE)) {
+                DatabaseFileSystem.getInstance().openEditor(object);
+            } else {
+                object.navigate(true);
             }
         }
 
@@ -16,20 +16,31 @@
 
 package com.dci.intellij.dbn.navigation.psi;
 
+import com.dci.intellij.dbn.common.LoggerFactory;
 import com.dci.intellij.dbn.common.dispose.DisposeUtil;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.common.util.SoftLRUCache;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectType;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.identifier.DBObjectIdentifier;
 import com.intellij.openapi.Disposable;
-import gnu.trove.THashMap;
-
-import java.util.Map;
+import com.intellij.openapi.diagnostic.Logger;
 
+/**
+ * Psi wrappers of the objects and object lists of a connection, used for navigation.
+ * The caches are size bounded: the least recently used wrappers are only kept softly reachable,
+ * and are recreated on next access once reclaimed by the garbage collector.
+ * The cache counters are logged when the cache is disposed (debug mode only).
+ */
 public class NavigationPsiCache implements Disposable {
-    private Map<DBObjectIdentifier, DBObjectPsiFile> objectPsiFiles = new THashMap<DBObjectIdentifier, DBObjectPsiFile>();
-    private Map<DBObjectIdentifier, DBObjectPsiDirectory> objectPsiDirectories = new THashMap<DBObjectIdentifier, DBObjectPsiDirectory>();
-    private Map<DBObjectList, DBObjectListPsiDirectory> objectListPsiDirectories = new THashMap<DBObjectList, DBObjectListPsiDirectory>();
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    public static final int MAX_SIZE = 1000;
+
+    private final SoftLRUCache<DBObjectIdentifier, DBObjectPsiFile> objectPsiFiles = new SoftLRUCache<DBObjectIdentifier, DBObjectPsiFile>(MAX_SIZE);
+    private final SoftLRUCache<DBObjectIdentifier, DBObjectPsiDirectory> objectPsiDirectories = new SoftLRUCache<DBObjectIdentifier, DBObjectPsiDirectory>(MAX_SIZE);
+    private final SoftLRUCache<ObjectListIdentifier, DBObjectListPsiDirectory> objectListPsiDirectories = new SoftLRUCache<ObjectListIdentifier, DBObjectListPsiDirectory>(MAX_SIZE);
     private DBConnectionPsiDirectory connectionPsiDirectory;
 
     public NavigationPsiCache(ConnectionHandler connectionHandler) {
@@ -40,39 +51,72 @@ public class NavigationPsiCache implements Disposable {
         return connectionPsiDirectory;
     }
 
-    private synchronized DBObjectPsiFile lookupPsiFile(DBObject object) {
+    private DBObjectPsiFile lookupPsiFile(DBObject object) {
         DBObjectIdentifier identifier = object.getIdentifier();
-        DBObjectPsiFile psiFile = objectPsiFiles.get(identifier);
-        if (psiFile == null) {
-            psiFile = new DBObjectPsiFile(object);
-            objectPsiFiles.put(identifier, psiFile);
+        synchronized (objectPsiFiles) {
+            DBObjectPsiFile psiFile = objectPsiFiles.get(identifier);
+            if (psiFile == null) {
+                psiFile = new DBObjectPsiFile(object);
+                objectPsiFiles.put(identifier, psiFile);
+            }
+            return psiFile;
         }
-
-        return psiFile;
     }
 
-    private synchronized DBObjectPsiDirectory lookupPsiDirectory(DBObject object) {
+    private DBObjectPsiDirectory lookupPsiDirectory(DBObject object) {
         DBObjectIdentifier identifier = object.getIdentifier();
-        DBObjectPsiDirectory psiDirectory = objectPsiDirectories.get(identifier);
-        if (psiDirectory == null) {
-            psiDirectory = new DBObjectPsiDirectory(object);
-            objectPsiDirectories.put(identifier, psiDirectory);
+        synchronized (objectPsiDirectories) {
+            DBObjectPsiDirectory psiDirectory = objectPsiDirectories.get(identifier);
+            if (psiDirectory == null) {
+                psiDirectory = new DBObjectPsiDirectory(object);
+                objectPsiDirectories.put(identifier, psiDirectory);
+            }
+            return psiDirectory;
         }
-
-        return psiDirectory;
     }
-    
-    private synchronized DBObjectListPsiDirectory lookupPsiDirectory(DBObjectList objectList) {
-        DBObjectListPsiDirectory psiDirectory = objectListPsiDirectories.get(objectList);
-        if (psiDirectory == null) {
-            psiDirectory = new DBObjectListPsiDirectory(objectList);
-            objectListPsiDirectories.put(objectList, psiDirectory);
+
+    private DBObjectListPsiDirectory lookupPsiDirectory(DBObjectList objectList) {
+        ObjectListIdentifier identifier = new ObjectListIdentifier(objectList);
+        synchronized (objectListPsiDirectories) {
+            DBObjectListPsiDirectory psiDirectory = objectListPsiDirectories.get(identifier);
+            if (psiDirectory == null || psiDirectory.getObjectList() != objectList) {
+                // none yet, or wrapping the list the given one replaced (the stale wrapper is disposed by the cache)
+                psiDirectory = new DBObjectListPsiDirectory(objectList);
+                objectListPsiDirectories.put(identifier, psiDirectory);
+            }
+            return psiDirectory;
         }
+    }
 
-        return psiDirectory;
+    /*********************************************************
+     *                       Statistics                      *
+     *********************************************************/
+    public long getHitCount() {
+        return objectPsiFiles.getHitCount() + objectPsiDirectories.getHitCount() + objectListPsiDirectories.getHitCount();
     }
-    
-    
+
+    public long getMissCount() {
+        return objectPsiFiles.getMissCount() + objectPsiDirectories.getMissCount() + objectListPsiDirectories.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return objectPsiFiles.getEvictionCount() + objectPsiDirectories.getEvictionCount() + objectListPsiDirectories.getEvictionCount();
+    }
+
+    public int getSize() {
+        return objectPsiFiles.getSize() + objectPsiDirectories.getSize() + objectListPsiDirectories.getSize();
+    }
+
+    public int getSoftSize() {
+        return objectPsiFiles.getSoftSize() + objectPsiDirectories.getSoftSize() + objectListPsiDirectories.getSoftSize();
+    }
+
+    @Override
+    public String toString() {
+        return "navigation psi cache: " + getSize() + " entries (" + getSoftSize() + " soft), " +
+                "hits " + getHitCount() + ", misses " + getMissCount() + ", evictions " + getEvictionCount();
+    }
+
     public static DBObjectPsiFile getPsiFile(DBObject object) {
         return object == null ? null :
                 object.getConnectionHandler().getPsiCache().lookupPsiFile(object);
@@ -94,9 +138,49 @@ public class NavigationPsiCache implements Disposable {
 
     @Override
     public void dispose() {
+        if (SettingsUtil.isDebugEnabled) LOGGER.info("[DBN-INFO] Disposing " + this + " of connection " + connectionPsiDirectory.getName());
         DisposeUtil.dispose(connectionPsiDirectory);
-        DisposeUtil.disposeMap(objectListPsiDirectories);
-        DisposeUtil.disposeMap(objectPsiDirectories);
-        DisposeUtil.disposeMap(objectPsiFiles);
+        objectListPsiDirectories.clear();
+        objectPsiDirectories.clear();
+        objectPsiFiles.clear();
+    }
+
+    /**
+     * Identifies an object list by its parent object (null for the lists of the connection) and its object type,
+     * so the cache does not hold the list itself, and the list reloaded in place of another maps to the same entry.
+     */
+    private static class ObjectListIdentifier {
+        private DBObjectIdentifier parentIdentifier;
+        private DBObjectType objectType;
+        private boolean hidden;
+
+        private ObjectListIdentifier(DBObjectList objectList) {
+            Object parent = objectList.getTreeParent();
+            parentIdentifier = parent instanceof DBObject ? ((DBObject) parent).getIdentifier() : null;
+            objectType = objectList.getObjectType();
+            hidden = objectList.isHidden();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            ObjectListIdentifier that = (ObjectListIdentifier) o;
+
+            if (hidden != that.hidden) return false;
+            if (objectType != that.objectType) return false;
+            if (parentIdentifier != null ? !parentIdentifier.equals(that.parentIdentifier) : that.parentIdentifier != null) return false;
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = parentIdentifier != null ? parentIdentifier.hashCode() : 0;
+            result = 31 * result + objectType.hashCode();
+            result = 31 * result + (hidden ? 1 : 0);
+            return result;
+        }
     }
 }
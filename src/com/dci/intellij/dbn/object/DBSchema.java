@@ -17,8 +17,11 @@
 package com.dci.intellij.dbn.object;
 
 import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBSchemaObject;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
+import java.util.Set;
 
 public interface DBSchema extends DBObject {
     boolean isPublicSchema();
@@ -56,4 +59,10 @@ public interface DBSchema extends DBObject {
     DBDatabaseLink getDatabaseLink(String name);
 
     void refreshObjectsStatus();
+
+    /**
+     * Refreshes the status of the objects of the schema, collecting the objects whose status changed
+     * instead of notifying them (callers publish the changes of several schemas in one go).
+     */
+    void refreshObjectsStatus(@NotNull Set<DBSchemaObject> changedObjects);
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.action;
+
+import com.dci.intellij.dbn.common.thread.BackgroundTask;
+import com.dci.intellij.dbn.common.util.MessageUtil;
+import com.dci.intellij.dbn.editor.code.SourceCodeExtractor;
+import com.dci.intellij.dbn.object.DBSchema;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileChooser.FileChooser;
+import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+public class ExtractSourceCodeAction extends AnAction {
+    private DBSchema schema;
+
+    public ExtractSourceCodeAction(DBSchema schema) {
+        super("Extract source code...");
+        this.schema = schema;
+    }
+
+    public void actionPerformed(AnActionEvent e) {
+        FileChooserDescriptor descriptor = new FileChooserDescriptor(false, true, false, false, false, false);
+        descriptor.setTitle("Select source code target directory");
+
+        VirtualFile[] selectedDirectories = FileChooser.chooseFiles(descriptor, schema.getProject(), null);
+        if (selectedDirectories.length > 0) {
+            final VirtualFile directory = selectedDirectories[0];
+            new BackgroundTask(schema.getProject(), "Extracting source code of schema " + schema.getName(), false, true) {
+                protected void execute(@NotNull ProgressIndicator progressIndicator) throws InterruptedException {
+                    progressIndicator.setIndeterminate(false);
+                    progressIndicator.setText("Extracting source code of schema " + schema.getName());
+                    SourceCodeExtractor extractor = new SourceCodeExtractor(schema, new File(directory.getPath()));
+                    SourceCodeExtractor.Result result = extractor.extract(progressIndicator);
+                    directory.refresh(true, false);
+                    MessageUtil.showInfoMessage(
+                            "Extracted source code of schema " + schema.getName() + ": " + result, "Source Code Extraction");
+                }
+            }.start();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.dci.intellij.dbn.execution.method.action.RunProgramMethodAction;
 import com.dci.intellij.dbn.generator.action.GenerateStatementActionGroup;
 import com.dci.intellij.dbn.object.DBMethod;
 import com.dci.intellij.dbn.object.DBProgram;
+import com.dci.intellij.dbn.object.DBSchema;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBSchemaObject;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationList;
@@ -64,6 +65,10 @@ public class ObjectActionGroup extends DefaultActionGroup {
             }
         }
 
+        if (object instanceof DBSchema) {
+            add(new ExtractSourceCodeAction((DBSchema) object));
+        }
+
         if (object instanceof DBMethod) {
             if (compatibilityInterface.supportsFeature(DatabaseFeature.DEBUGGING)) {
                 add(new ExecuteActionGroup((DBSchemaObject) object));
@@ -73,6 +73,12 @@ public interface DBObject extends BrowserTreeNode, PsiNamedElement, DynamicConte
     @Nullable
     DBObject getDefaultNavigationObject();
     List<DBObject> getChildObjects(DBObjectType objectType);
+
+    /**
+     * Same as {@link #getChildObjects(DBObjectType)}, but waits at most "timeout" milliseconds for the child objects
+     * to load (see {@link com.dci.intellij.dbn.common.content.DynamicContent#getElements(long)}). A negative timeout waits until loaded.
+     */
+    List<DBObject> getChildObjects(DBObjectType objectType, long timeout);
     DBObject getChildObject(DBObjectType objectType, String name, boolean lookupHidden);
     DBObject getChildObject(String name, boolean lookupHidden);
 
@@ -28,6 +28,8 @@ import com.dci.intellij.dbn.object.DBSchema;
 import com.dci.intellij.dbn.object.DBUser;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -55,6 +57,11 @@ public interface DBObjectBundle extends BrowserTreeNode, Disposable {
     void lookupChildObjectsOfType(LookupConsumer consumer, DBObject parent, DBObjectType objectType, ObjectTypeFilter filter, DBSchema currentSchema) throws ConsumerStoppedException;
     void refreshObjectsStatus();
 
+    /**
+     * Refreshes the status of the objects of all schemas in the calling thread. The changes are published in one batch at the end.
+     */
+    void refreshObjectsStatus(@Nullable ProgressIndicator progressIndicator);
+
     DBObjectListContainer getObjectListContainer();
     boolean isValid();
 }
@@ -60,6 +60,7 @@ import com.dci.intellij.dbn.object.DBUser;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelationListContainer;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
 import com.dci.intellij.dbn.object.impl.DBCharsetImpl;
 import com.dci.intellij.dbn.object.impl.DBGrantedPrivilegeImpl;
 import com.dci.intellij.dbn.object.impl.DBGrantedRoleImpl;
@@ -76,7 +77,9 @@ import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vcs.FileStatus;
+import gnu.trove.THashSet;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.Icon;
 import java.sql.Connection;
@@ -254,11 +257,16 @@ public class DBObjectBundleImpl implements DBObjectBundle {
         if (visibleTreeChildren == null) {
             visibleTreeChildren = new ArrayList<BrowserTreeNode>();
             visibleTreeChildren.add(new LoadInProgressTreeNode(this));
-            new BackgroundTask(getProject(), "Loading data dictionary", true) {
-                public void execute(@NotNull ProgressIndicator progressIndicator) {
+            connectionHandler.getLoaderScheduler().schedule(this, DatabaseLoaderScheduler.Priority.VISIBLE_NODE, new DatabaseLoaderScheduler.LoadTask() {
+                protected void execute(@NotNull ProgressIndicator progressIndicator) {
                     buildTreeChildren();
                 }
-            }.start();
+
+                @Override
+                protected void cancelled() {
+                    if (!treeChildrenLoaded) visibleTreeChildren = null;
+                }
+            });
 
         }
         return visibleTreeChildren;
@@ -460,10 +468,10 @@ public class DBObjectBundleImpl implements DBObjectBundle {
 
     public void lookupObjectsOfType(LookupConsumer consumer, DBObjectType objectType) throws ConsumerStoppedException {
         if (getConnectionObjectTypeFilter().accepts(objectType)) {
-            if (objectType == DBObjectType.SCHEMA) consumer.consume(getSchemas()); else
-            if (objectType == DBObjectType.USER) consumer.consume(getUsers()); else
-            if (objectType == DBObjectType.CHARSET) consumer.consume(getCharsets());
-            if (objectType == DBObjectType.PRIVILEGE) consumer.consume(getPrivileges());
+            if (objectType == DBObjectType.SCHEMA) consumer.consume(schemas.getElements(DynamicContent.EDITOR_LOAD_TIMEOUT)); else
+            if (objectType == DBObjectType.USER) consumer.consume(users.getElements(DynamicContent.EDITOR_LOAD_TIMEOUT)); else
+            if (objectType == DBObjectType.CHARSET) consumer.consume(charsets.getElements(DynamicContent.EDITOR_LOAD_TIMEOUT));
+            if (objectType == DBObjectType.PRIVILEGE) consumer.consume(privileges.getElements(DynamicContent.EDITOR_LOAD_TIMEOUT));
         }
     }
 
@@ -476,19 +484,20 @@ public class DBObjectBundleImpl implements DBObjectBundle {
                     for (DBObjectType concreteType : concreteTypes) {
                         consumer.check();
                         if (filter.acceptsObject(schema, currentSchema, concreteType)) {
-                            consumer.consume(schema.getChildObjects(concreteType));
+                            consumer.consume(schema.getChildObjects(concreteType, DynamicContent.EDITOR_LOAD_TIMEOUT));
                         }
                     }
                 } else {
                     if (filter.acceptsObject(schema, currentSchema, objectType)) {
-                        consumer.consume(schema.getChildObjects(objectType));
+                        consumer.consume(schema.getChildObjects(objectType, DynamicContent.EDITOR_LOAD_TIMEOUT));
                     }
                 }
 
                 boolean synonymsSupported = DatabaseCompatibilityInterface.getInstance(parent).supportsObjectType(DBObjectType.SYNONYM.getTypeId());
                 if (synonymsSupported && filter.acceptsObject(schema, currentSchema, DBObjectType.SYNONYM)) {
-                    for (DBSynonym synonym : schema.getSynonyms()) {
+                    for (DBObject object : schema.getChildObjects(DBObjectType.SYNONYM, DynamicContent.EDITOR_LOAD_TIMEOUT)) {
                         consumer.check();
+                        DBSynonym synonym = (DBSynonym) object;
                         if (synonym.getUnderlyingObject().isOfType(objectType)) {
                             consumer.consume(synonym);
                         }
@@ -500,12 +509,12 @@ public class DBObjectBundleImpl implements DBObjectBundle {
                     for (DBObjectType concreteType : concreteTypes) {
                         consumer.check();
                         if (filter.acceptsRootObject(objectType)) {
-                            consumer.consume(parent.getChildObjects(concreteType));
+                            consumer.consume(parent.getChildObjects(concreteType, DynamicContent.EDITOR_LOAD_TIMEOUT));
                         }
                     }
                 } else {
                     if (filter.acceptsRootObject(objectType)) {
-                        consumer.consume(parent.getChildObjects(objectType));
+                        consumer.consume(parent.getChildObjects(objectType, DynamicContent.EDITOR_LOAD_TIMEOUT));
                     }
                 }
             }
@@ -516,19 +525,30 @@ public class DBObjectBundleImpl implements DBObjectBundle {
         if (DatabaseCompatibilityInterface.getInstance(getConnectionHandler()).supportsFeature(DatabaseFeature.OBJECT_INVALIDATION)) {
             new BackgroundTask(getProject(), "Updating objects status", true) {
                 public void execute(@NotNull ProgressIndicator progressIndicator) {
-                    List<DBSchema> schemas = getSchemas();
-                    for (int i=0; i<schemas.size(); i++) {
-                        DBSchema schema = schemas.get(i);
-                        progressIndicator.setText("Updating object status in schema " + schema.getName() + "... ");
-                        progressIndicator.setFraction(CommonUtil.getProgressPercentage(i, schemas.size()));
-                        schema.refreshObjectsStatus();
-                    }
+                    refreshObjectsStatus(progressIndicator);
                 }
 
             }.start();
         }
     }
 
+    public void refreshObjectsStatus(@Nullable ProgressIndicator progressIndicator) {
+        if (DatabaseCompatibilityInterface.getInstance(getConnectionHandler()).supportsFeature(DatabaseFeature.OBJECT_INVALIDATION)) {
+            Set<DBSchemaObject> changedObjects = new THashSet<DBSchemaObject>();
+            List<DBSchema> schemas = getSchemas();
+            for (int i=0; i<schemas.size(); i++) {
+                if (isDisposed() || (progressIndicator != null && progressIndicator.isCanceled())) break;
+                DBSchema schema = schemas.get(i);
+                if (progressIndicator != null) {
+                    progressIndicator.setText("Updating object status in schema " + schema.getName() + "... ");
+                    progressIndicator.setFraction(CommonUtil.getProgressPercentage(i, schemas.size()));
+                }
+                schema.refreshObjectsStatus(changedObjects);
+            }
+            DatabaseBrowserUtils.notifyNodesChanged(getProject(), changedObjects);
+        }
+    }
+
     public DBObjectListContainer getObjectListContainer() {
         return objectLists;
     }
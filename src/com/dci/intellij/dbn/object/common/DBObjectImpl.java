@@ -43,7 +43,6 @@ import com.dci.intellij.dbn.common.dispose.DisposeUtil;
 import com.dci.intellij.dbn.common.environment.EnvironmentType;
 import com.dci.intellij.dbn.common.event.EventManager;
 import com.dci.intellij.dbn.common.filter.Filter;
-import com.dci.intellij.dbn.common.thread.BackgroundTask;
 import com.dci.intellij.dbn.common.thread.ConditionalLaterInvocator;
 import com.dci.intellij.dbn.common.ui.tree.TreeEventType;
 import com.dci.intellij.dbn.common.util.CollectionUtil;
@@ -63,6 +62,7 @@ import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationList;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelationListContainer;
+import com.dci.intellij.dbn.object.common.loader.DatabaseLoaderScheduler;
 import com.dci.intellij.dbn.object.common.operation.DBOperationExecutor;
 import com.dci.intellij.dbn.object.common.operation.DBOperationNotSupportedException;
 import com.dci.intellij.dbn.object.common.operation.DBOperationType;
@@ -90,6 +90,7 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
     private int treeDepth;
     private boolean treeChildrenLoaded;
     private boolean isDisposed = false;
+    private long fingerprint;
 
     protected String name;
     protected DBObjectIdentifier identifier;
@@ -130,6 +131,7 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
 
     private void init(ResultSet resultSet) throws SQLException {
         initObject(resultSet);
+        name = internName(name);
         initStatus(resultSet);
         initProperties();
         initTreeInfo();
@@ -143,6 +145,14 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
 
     protected abstract void initObject(ResultSet resultSet) throws SQLException;
 
+    /**
+     * Canonical instance of the given object name, shared by all objects of the connection.
+     */
+    protected String internName(String name) {
+        ConnectionHandler connectionHandler = getConnectionHandler();
+        return connectionHandler == null ? name : connectionHandler.getNameSymbolTable().intern(name);
+    }
+
     public void initStatus(ResultSet resultSet) throws SQLException {}
 
     protected void initProperties() {}
@@ -391,26 +401,34 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
     }
 
     public List<DBObject> getChildObjects(DBObjectType objectType) {
+        return getChildObjects(objectType, -1);
+    }
+
+    public List<DBObject> getChildObjects(DBObjectType objectType, long timeout) {
         if (objectType.getFamilyTypes().size() > 1) {
             List<DBObject> list = new ArrayList<DBObject>();
             for (DBObjectType childObjectType : objectType.getFamilyTypes()) {
                 if (objectType != childObjectType) {
-                    List<DBObject> childObjects = getChildObjects(childObjectType);
+                    List<DBObject> childObjects = getChildObjects(childObjectType, timeout);
                     list.addAll(childObjects);
                 } else {
                     DBObjectList<DBObject> objectList = childObjects == null ? null : childObjects.getObjectList(objectType);
                     if (objectList != null) {
-                        list.addAll(objectList.getObjects());
+                        list.addAll(getObjects(objectList, timeout));
                     }
                 }
             }
             return list;
         } else {
             DBObjectList<DBObject> objectList = childObjects == null ? null : childObjects.getObjectList(objectType);
-            return objectList == null ? DBObject.EMPTY_LIST : objectList.getObjects();
+            return objectList == null ? DBObject.EMPTY_LIST : getObjects(objectList, timeout);
         }
     }
 
+    private static List<DBObject> getObjects(DBObjectList<DBObject> objectList, long timeout) {
+        return timeout < 0 ? objectList.getObjects() : objectList.getElements(timeout);
+    }
+
     public List<DBObjectNavigationList> getNavigationLists() {
         // todo consider caching;
         return createNavigationLists();
@@ -571,16 +589,42 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
             visibleTreeChildren = new ArrayList<BrowserTreeNode>();
             visibleTreeChildren.add(new LoadInProgressTreeNode(this));
 
-            new BackgroundTask(getProject(), "Loading data dictionary", true) {
-                public void execute(@NotNull ProgressIndicator progressIndicator) {
+            DatabaseLoaderScheduler loaderScheduler = getConnectionHandler().getLoaderScheduler();
+            loaderScheduler.schedule(this, DatabaseLoaderScheduler.Priority.VISIBLE_NODE, new DatabaseLoaderScheduler.LoadTask() {
+                protected void execute(@NotNull ProgressIndicator progressIndicator) {
+                    if (!isDisposed()) preloadChildObjects(progressIndicator);
                     if (!isDisposed()) buildTreeChildren();
                 }
-            }.start();
+
+                @Override
+                protected void cancelled() {
+                    resetTreeChildren();
+                }
+            });
 
         }
         return visibleTreeChildren;
     }
 
+    /**
+     * The load of the tree children has been cancelled before it started (e.g. node collapsed).
+     * Next expansion of the node schedules it again.
+     */
+    private void resetTreeChildren() {
+        if (!treeChildrenLoaded && visibleTreeChildren != null) {
+            List<BrowserTreeNode> treeChildren = visibleTreeChildren;
+            visibleTreeChildren = null;
+            for (BrowserTreeNode treeNode : treeChildren) {
+                if (treeNode instanceof LoadInProgressTreeNode) treeNode.dispose();
+            }
+        }
+    }
+
+    /**
+     * Hook for loading the child objects in bulk, before the tree children are built the first time.
+     */
+    protected void preloadChildObjects(@NotNull ProgressIndicator progressIndicator) {}
+
     private void buildTreeChildren() {
         Filter<BrowserTreeNode> filter = getConnectionHandler().getObjectFilter();
         List<BrowserTreeNode> allPossibleTreeChildren = getAllPossibleTreeChildren();
@@ -731,6 +775,14 @@ public abstract class DBObjectImpl extends DBObjectPsiAbstraction implements DBO
         return getQualifiedName();
     }
 
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
     /*********************************************************
     *                      Navigatable                      *
     *********************************************************/
@@ -65,10 +65,12 @@ public abstract class DBSchemaObjectImpl extends DBObjectImpl implements DBSchem
         properties.set(DBObjectProperty.SCHEMA_OBJECT);
     }
 
-    @Override
-    protected void initLists() {
-        DBObjectProperties properties = getProperties();
-        if (properties.is(DBObjectProperty.REFERENCEABLE)) {
+    /**
+     * The dependency lists are only needed when the user asks for the referenced / referencing objects.
+     * They are created on first access, so that the (many) objects never looked at do not carry them.
+     */
+    private synchronized void initDependencyLists() {
+        if (referencedObjects == null && !isDisposed() && getProperties().is(DBObjectProperty.REFERENCEABLE)) {
             DBObjectListContainer childObjects = initChildObjects();
             referencedObjects = childObjects.createObjectList(DBObjectType.ANY, this, REFERENCED_OBJECTS_LOADER, false, true);
             referencingObjects = childObjects.createObjectList(DBObjectType.ANY, this, REFERENCING_OBJECTS_LOADER, false, true);
@@ -87,11 +89,13 @@ public abstract class DBSchemaObjectImpl extends DBObjectImpl implements DBSchem
     }
 
     public List<DBObject> getReferencedObjects() {
-        return referencedObjects.getObjects();
+        initDependencyLists();
+        return referencedObjects == null ? DBObject.EMPTY_LIST : referencedObjects.getObjects();
     }
 
     public List<DBObject> getReferencingObjects() {
-        return referencingObjects.getObjects();
+        initDependencyLists();
+        return referencingObjects == null ? DBObject.EMPTY_LIST : referencingObjects.getObjects();
     }
 
     protected List<DBObjectNavigationList> createNavigationLists() {
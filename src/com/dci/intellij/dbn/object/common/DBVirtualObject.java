@@ -20,6 +20,7 @@ import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoaderException;
+import com.dci.intellij.dbn.common.dispose.DisposeUtil;
 import com.dci.intellij.dbn.common.util.DocumentUtil;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.language.common.DBLanguageFile;
@@ -46,10 +47,12 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiInvalidElementAccessException;
 import com.intellij.psi.PsiReference;
 import com.intellij.util.IncorrectOperationException;
+import gnu.trove.THashSet;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -106,6 +109,12 @@ public class DBVirtualObject extends DBObjectImpl implements PsiReference {
         return getChildObjectList(objectType).getObjects();
     }
 
+    @Override
+    public List<DBObject> getChildObjects(DBObjectType objectType, long timeout) {
+        // built from the psi, nothing to wait for
+        return getChildObjects(objectType);
+    }
+
     public DBObject getChildObject(DBObjectType objectType, String name, boolean lookupHidden) {
         return getChildObjectList(objectType).getObject(name);
     }
@@ -116,6 +125,8 @@ public class DBVirtualObject extends DBObjectImpl implements PsiReference {
         if (objectList != null) {
             for (DBObject object : objectList.getObjects()) {
                 if (!object.isValid()) {
+                    // rebuilt below, replacing the stale list in the container
+                    DisposeUtil.dispose(objectList);
                     objectList = null;
                     break;
                 }
@@ -128,12 +139,15 @@ public class DBVirtualObject extends DBObjectImpl implements PsiReference {
             VirtualObjectLookupAdapter lookupAdapter = new VirtualObjectLookupAdapter(null, this.objectType, objectType);
             Set<BasePsiElement> children = underlyingPsiElement.collectPsiElements(lookupAdapter, null, 100);
             if (children != null) {
+                Set<DBObject> objects = new THashSet<DBObject>();
+                List<DBObject> newObjects = new ArrayList<DBObject>(children.size());
                 for (BasePsiElement child : children) {
                     DBObject object = child.resolveUnderlyingObject();
-                    if (object != null && !objectList.getElements().contains(object)) {
-                        objectList.addObject(object);
+                    if (object != null && objects.add(object)) {
+                        newObjects.add(object);
                     }
                 }
+                objectList.addElements(newObjects);
             }
         }
         return objectList;
@@ -32,4 +32,15 @@ public interface DBObjectList<T extends DBObject> extends BrowserTreeNode, Dynam
     List<T> getObjects();
     T getObject(String name);
     T getObject(String name, String parentName);
+
+    /**
+     * Materializes the next page of tree children of a large list. To be called in the dispatch thread.
+     */
+    void loadNextTreePage();
+
+    /**
+     * Materializes the pages of tree children up to the given child, so it can be selected in the tree.
+     * To be called in the dispatch thread.
+     */
+    void revealTreeChild(BrowserTreeNode treeChild);
 }
@@ -17,8 +17,10 @@
 package com.dci.intellij.dbn.object.common.list;
 
 import com.dci.intellij.dbn.browser.DatabaseBrowserManager;
+import com.dci.intellij.dbn.browser.DatabaseBrowserUtils;
 import com.dci.intellij.dbn.browser.model.BrowserTreeChangeListener;
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
+import com.dci.intellij.dbn.browser.model.LoadMoreTreeNode;
 import com.dci.intellij.dbn.code.sql.color.SQLTextAttributesKeys;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentImpl;
@@ -32,18 +34,37 @@ import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.GenericDatabaseElement;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.dci.intellij.dbn.object.common.DBVirtualObject;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vcs.FileStatus;
+import gnu.trove.TIntArrayList;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.Icon;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T> implements DBObjectList<T> {
+    /**
+     * Large lists are shown in pages: only the first pages of (sorted) objects are materialized as tree children,
+     * followed by a {@link LoadMoreTreeNode} standing for the rest. That node is the alphabetical index of the list,
+     * showing the name range of the objects not shown yet (there are no per-letter group nodes, the tree paths
+     * are derived from the node depths). Sorting and filtering happen on the loader threads (see setElements()),
+     * the tree gets the changes in the dispatch thread (see {@link #publishElements(List)}).
+     */
+    public static final int TREE_PAGE_SIZE = 500;
+
     private int treeDepth;
+    private int treePageCount = 1;
+    // built and reset in the dispatch thread, volatile for the tree model reads from other threads
+    private volatile List<BrowserTreeNode> treePage;
+    private volatile List<T> treePageElements;
+    private volatile List<T> treeElements = EMPTY_LIST;
+    private LoadMoreTreeNode loadMoreTreeNode;
     private boolean isHidden;
     private boolean isTouched;
 
@@ -76,10 +97,7 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
     }
 
     public void addObject(T object) {
-        if (elements == DynamicContentImpl.EMPTY_LIST) {
-            elements = new ArrayList<T>();
-        }
-        elements.add(object);
+        addElements(Collections.singletonList(object));
     }
 
     public T getObject(String name) {
@@ -87,16 +105,38 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
     }
 
     public T getObject(String name, String parentName) {
-        for (T element : elements) {
-            String elementName = element.getName();
-            String elementParentName = element.getParentObject().getName();
+        return getElement(name, parentName);
+    }
 
-            if (elementName.equalsIgnoreCase(name) &&
-                    elementParentName.equalsIgnoreCase(parentName)) {
-                return element;
-            }
+    /**
+     * The child lists of virtual objects are built from the psi of the editor, not loaded from database.
+     * Their elements are owned by other lists (or by the psi).
+     */
+    private boolean isVirtual() {
+        return getParent() instanceof DBVirtualObject;
+    }
+
+    @Override
+    protected boolean isElementOwner() {
+        return !isVirtual() && super.isElementOwner();
+    }
+
+    /**
+     * Keeps the name index of the connection up to date. The untyped lists (referenced / referencing objects)
+     * and the lists of virtual objects are not indexed, they only point to objects owned (and indexed) by other lists.
+     */
+    @Override
+    protected void elementsChanged(List<T> removedElements, List<T> addedElements) {
+        ConnectionHandler connectionHandler = getConnectionHandler();
+        if (connectionHandler != null && objectType != DBObjectType.ANY && !isVirtual()) {
+            connectionHandler.getObjectNameIndex().update(removedElements, addedElements);
         }
-        return null;
+    }
+
+    @Override
+    protected String getElementParentName(T element) {
+        DBObject parentObject = element.getParentObject();
+        return parentObject == null ? null : parentObject.getName();
     }
 
 
@@ -127,6 +167,68 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
         }
     }
 
+    /**
+     * Publishes the elements to the browser tree. The indices of the tree events are computed here, in the dispatch
+     * thread, against the elements the tree has seen last ({@link #treeElements}), which are replaced in the same step.
+     * Removals are published first (on the old list without the removed elements), then the additions.
+     */
+    @Override
+    protected void publishElements(List<T> elements) {
+        List<T> oldElements = treeElements;
+        if (!isTouched || oldElements == elements) {
+            treeElements = elements;
+            return;
+        }
+
+        int pageSize = treePageCount * TREE_PAGE_SIZE;
+        if (oldElements.size() == 0 || elements.size() == 0 || oldElements.size() > pageSize || elements.size() > pageSize) {
+            // the indices would not match the paged tree children. The reloaded list starts over with the first page
+            treeElements = elements;
+            treePageCount = 1;
+            treePage = null;
+            notifyChangeListeners();
+            return;
+        }
+
+        Set<T> oldElementsSet = createIdentitySet(oldElements);
+        Set<T> newElementsSet = createIdentitySet(elements);
+        TIntArrayList removedIndices = new TIntArrayList();
+        List<BrowserTreeNode> removedElements = new ArrayList<BrowserTreeNode>();
+        List<T> remainingElements = new ArrayList<T>(oldElements.size());
+        for (int i = 0; i < oldElements.size(); i++) {
+            T element = oldElements.get(i);
+            if (newElementsSet.contains(element)) {
+                remainingElements.add(element);
+            } else {
+                removedIndices.add(i);
+                removedElements.add(element);
+            }
+        }
+
+        TIntArrayList addedIndices = new TIntArrayList();
+        List<BrowserTreeNode> addedElements = new ArrayList<BrowserTreeNode>();
+        for (int i = 0; i < elements.size(); i++) {
+            T element = elements.get(i);
+            if (!oldElementsSet.contains(element)) {
+                addedIndices.add(i);
+                addedElements.add(element);
+            }
+        }
+
+        treePage = null;
+        BrowserTreeChangeListener listener = EventManager.notify(getProject(), BrowserTreeChangeListener.TOPIC);
+        if (removedElements.size() > 0) {
+            treeElements = remainingElements;
+            listener.nodesChanged(this, TreeEventType.NODES_REMOVED, removedIndices.toNativeArray(), removedElements.toArray(new BrowserTreeNode[removedElements.size()]));
+        }
+        treeElements = elements;
+        if (addedElements.size() > 0) {
+            listener.nodesChanged(this, TreeEventType.NODES_ADDED, addedIndices.toNativeArray(), addedElements.toArray(new BrowserTreeNode[addedElements.size()]));
+        }
+        // element count shown next to the list name
+        DatabaseBrowserUtils.notifyNodesChanged(getProject(), Collections.singletonList(this));
+    }
+
     /*********************************************************
      *                   LoadableContent                     *
      *********************************************************/
@@ -166,15 +268,96 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
     }
 
     public List<? extends BrowserTreeNode> getTreeChildren() {
+        return getTreePage(getTreeElements());
+    }
+
+    /**
+     * The elements as last published to the browser tree. Changes of the elements reach the tree through
+     * {@link #publishElements(List)}, once the tree has seen the elements the first time.
+     */
+    private List<T> getTreeElements() {
         if (isLoading()) {
-            return elements;
+            return isTouched ? treeElements : elements;
         } else {
             if (!isTouched || shouldLoad()) {
                 getElements();
-                isTouched = true;
+                if (!isTouched) {
+                    treeElements = elements;
+                    isTouched = true;
+                }
                 DatabaseBrowserManager.scrollToSelectedElement(getConnectionHandler());
             }
-            return getElements();
+            return treeElements;
+        }
+    }
+
+    /**
+     * The materialized pages of the elements followed by the "load more" node, or the elements themselves
+     * if they fit in the loaded pages. The page list is cached until the elements or the page count change
+     * (the elements it was built for are checked, so changes still to be published do not need to reset it).
+     */
+    private List<? extends BrowserTreeNode> getTreePage(List<T> elements) {
+        int pageSize = treePageCount * TREE_PAGE_SIZE;
+        if (elements.size() <= pageSize) {
+            return elements;
+        }
+
+        List<BrowserTreeNode> treePage = this.treePage;
+        if (treePage == null || treePageElements != elements || treePage.size() != pageSize + 1) {
+            treePage = new ArrayList<BrowserTreeNode>(pageSize + 1);
+            treePage.addAll(elements.subList(0, pageSize));
+            if (loadMoreTreeNode == null) {
+                loadMoreTreeNode = new LoadMoreTreeNode(this);
+            }
+            loadMoreTreeNode.update(
+                    elements.size() - pageSize,
+                    elements.get(pageSize).getName(),
+                    elements.get(elements.size() - 1).getName());
+            treePage.add(loadMoreTreeNode);
+            this.treePageElements = elements;
+            this.treePage = treePage;
+        }
+        return treePage;
+    }
+
+    public void loadNextTreePage() {
+        showTreePages(treePageCount + 1);
+    }
+
+    public void revealTreeChild(BrowserTreeNode treeChild) {
+        if (isTouched && treeChild != loadMoreTreeNode) {
+            int index = indexOf(treeElements, treeChild);
+            if (index >= treePageCount * TREE_PAGE_SIZE) {
+                showTreePages(index / TREE_PAGE_SIZE + 1);
+            }
+        }
+    }
+
+    /**
+     * Materializes the given number of pages and notifies the tree about the children inserted
+     * before the "load more" node (and about its removal once all the elements are shown).
+     * Runs in the dispatch thread, on the elements published to the tree.
+     */
+    private void showTreePages(int pageCount) {
+        List<T> elements = treeElements;
+        int oldPageSize = treePageCount * TREE_PAGE_SIZE;
+        if (!isTouched || pageCount <= treePageCount || elements.size() <= oldPageSize) return;
+
+        treePageCount = pageCount;
+        treePage = null;
+        int newPageSize = Math.min(elements.size(), pageCount * TREE_PAGE_SIZE);
+        int[] addedIndices = new int[newPageSize - oldPageSize];
+        BrowserTreeNode[] addedChildren = new BrowserTreeNode[addedIndices.length];
+        for (int i = 0; i < addedIndices.length; i++) {
+            addedIndices[i] = oldPageSize + i;
+            addedChildren[i] = elements.get(oldPageSize + i);
+        }
+        BrowserTreeChangeListener listener = EventManager.notify(getProject(), BrowserTreeChangeListener.TOPIC);
+        listener.nodesChanged(this, TreeEventType.NODES_ADDED, addedIndices, addedChildren);
+        if (newPageSize == elements.size()) {
+            listener.nodesChanged(this, TreeEventType.NODES_REMOVED, new int[]{newPageSize}, new BrowserTreeNode[]{loadMoreTreeNode});
+        } else {
+            DatabaseBrowserUtils.notifyNodesChanged(getProject(), Collections.singletonList(loadMoreTreeNode));
         }
     }
 
@@ -195,7 +378,42 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
     }
 
     public int getIndexOfTreeChild(BrowserTreeNode child) {
-        return getTreeChildren().indexOf(child);
+        List<? extends BrowserTreeNode> treeChildren = getTreeChildren();
+        if (child == loadMoreTreeNode) {
+            return treeChildren.lastIndexOf(child);
+        }
+        return indexOf(treeChildren, child);
+    }
+
+    /**
+     * The elements are sorted, so the child is looked up by binary search (matching by identity
+     * among equally ranked elements), falling back to a linear search for unsorted lists.
+     */
+    private static int indexOf(List<? extends BrowserTreeNode> treeChildren, BrowserTreeNode child) {
+        if (child instanceof DBObject) {
+            int size = treeChildren.size();
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                BrowserTreeNode treeChild = treeChildren.get(mid);
+                int compare = treeChild instanceof DBObject ? ((DBObject) treeChild).compareTo(child) : 1;
+                if (compare < 0) {
+                    low = mid + 1;
+                } else if (compare > 0) {
+                    high = mid - 1;
+                } else {
+                    for (int i = mid; i >= 0 && ((DBObject) treeChildren.get(i)).compareTo(child) == 0; i--) {
+                        if (treeChildren.get(i) == child) return i;
+                    }
+                    for (int i = mid + 1; i < size && treeChildren.get(i) instanceof DBObject && ((DBObject) treeChildren.get(i)).compareTo(child) == 0; i++) {
+                        if (treeChildren.get(i) == child) return i;
+                    }
+                    break;
+                }
+            }
+        }
+        return treeChildren.indexOf(child);
     }
 
 
@@ -212,7 +430,7 @@ public class DBObjectListImpl<T extends DBObject> extends DynamicContentImpl<T>
     }
 
     public String getPresentableTextDetails() {
-        int elementCount = getTreeChildCount();
+        int elementCount = getTreeElements().size();
         return elementCount > 0 ? "(" + elementCount + ")" : null;
     }
 
@@ -25,6 +25,7 @@ public abstract class DBObjectRelationImpl<S extends DBObject, T extends DBObjec
 
     private DBObjectRelationType objectRelationType;
     private boolean isDisposed = false;
+    private long fingerprint;
     private S sourceObject;
     private T targetObject;
     private DynamicContent ownerContent;
@@ -86,6 +87,14 @@ public abstract class DBObjectRelationImpl<S extends DBObject, T extends DBObjec
         return null;
     }
 
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
     public void dispose() {
         isDisposed = true;
         sourceObject = null;
@@ -16,6 +16,7 @@
 
 package com.dci.intellij.dbn.object.common.list;
 
+import com.dci.intellij.dbn.common.content.DynamicContentGrouping;
 import com.dci.intellij.dbn.common.content.DynamicContentImpl;
 import com.dci.intellij.dbn.common.content.dependency.ContentDependencyAdapter;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
@@ -27,10 +28,21 @@ import com.dci.intellij.dbn.object.filter.name.ObjectNameFilterSettings;
 import com.intellij.openapi.project.Project;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class DBObjectRelationListImpl<T extends DBObjectRelation> extends DynamicContentImpl<T> implements DBObjectRelationList<T>{
+    private static final DynamicContentGrouping<DBObjectRelation> SOURCE_NAME_GROUPING = new DynamicContentGrouping<DBObjectRelation>() {
+        public Object getGroupKey(DBObjectRelation objectRelation) {
+            return objectRelation.getSourceObject().getName();
+        }
+    };
+
+    private static final DynamicContentGrouping<DBObjectRelation> TARGET_NAME_GROUPING = new DynamicContentGrouping<DBObjectRelation>() {
+        public Object getGroupKey(DBObjectRelation objectRelation) {
+            return objectRelation.getTargetObject().getName();
+        }
+    };
+
     private DBObjectRelationType objectRelationType;
     private String name;
 
@@ -62,24 +74,16 @@ public class DBObjectRelationListImpl<T extends DBObjectRelation> extends Dynami
         return name;
     }
 
+    /**
+     * Relations are looked up in the source / target name indexes of the list, which are built
+     * on first lookup after the relations are loaded. The returned list is shared and not modifiable.
+     */
     public List<DBObjectRelation> getRelationBySourceName(String sourceName) {
-        List<DBObjectRelation> objectRelations = new ArrayList<DBObjectRelation>();
-        for (DBObjectRelation objectRelation : getElements()) {
-            if (objectRelation.getSourceObject().getName().equals(sourceName)) {
-                objectRelations.add(objectRelation);
-            }
-        }
-        return objectRelations;
+        return (List) getElementGroup((DynamicContentGrouping) SOURCE_NAME_GROUPING, sourceName);
     }
 
     public List<DBObjectRelation> getRelationByTargetName(String targetName) {
-        List<DBObjectRelation> objectRelations = new ArrayList<DBObjectRelation>();
-        for (DBObjectRelation objectRelation : getElements()) {
-            if (objectRelation.getTargetObject().getName().equals(targetName)) {
-                objectRelations.add(objectRelation);
-            }
-        }
-        return objectRelations;
+        return (List) getElementGroup((DynamicContentGrouping) TARGET_NAME_GROUPING, targetName);
     }
 
 
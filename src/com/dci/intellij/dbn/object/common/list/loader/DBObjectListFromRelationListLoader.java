@@ -22,8 +22,33 @@ import com.dci.intellij.dbn.common.content.loader.DynamicSubcontentCustomLoader;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelation;
+import com.dci.intellij.dbn.object.common.list.DBObjectRelationList;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class DBObjectListFromRelationListLoader<T extends DynamicContentElement> extends DynamicSubcontentCustomLoader<T> {
+    @Override
+    protected List getSourceElements(DynamicContent<T> dynamicContent, DynamicContent sourceContent) {
+        if (sourceContent instanceof DBObjectRelationList) {
+            DBObjectRelationList relationList = (DBObjectRelationList) sourceContent;
+            DBObject object = (DBObject) ((DBObjectList) dynamicContent).getTreeParent();
+            List<DBObjectRelation> sourceRelations = relationList.getRelationBySourceName(object.getName());
+            List<DBObjectRelation> targetRelations = relationList.getRelationByTargetName(object.getName());
+            if (targetRelations.isEmpty()) return sourceRelations;
+            if (sourceRelations.isEmpty()) return targetRelations;
+
+            List<DBObjectRelation> relations = new ArrayList<DBObjectRelation>(sourceRelations.size() + targetRelations.size());
+            relations.addAll(sourceRelations);
+            for (DBObjectRelation relation : targetRelations) {
+                // source and target objects may have the same name
+                if (!sourceRelations.contains(relation)) relations.add(relation);
+            }
+            return relations;
+        }
+        return super.getSourceElements(dynamicContent, sourceContent);
+    }
+
     public T resolveElement(DynamicContent<T> dynamicContent, DynamicContentElement sourceElement) {
         DBObjectList objectList = (DBObjectList) dynamicContent;
         DBObjectRelation objectRelation = (DBObjectRelation) sourceElement;
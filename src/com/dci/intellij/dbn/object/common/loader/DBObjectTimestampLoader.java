@@ -36,10 +36,15 @@ public class DBObjectTimestampLoader {
         this.objectType = objectType;
     }
 
+    public String getObjectType() {
+        return objectType;
+    }
+
     public Timestamp load(final DBSchemaObject object) throws SQLException{
         ProgressIndicator progressIndicator = ProgressManager.getInstance().getProgressIndicator();
         if (progressIndicator != null) {
             progressIndicator.setText("Loading timestamp for " + object.getQualifiedNameWithType());
+            progressIndicator.checkCanceled();
         }
         Connection connection = null;
         ResultSet resultSet = null;
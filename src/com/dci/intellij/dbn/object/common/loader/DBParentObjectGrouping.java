@@ -0,0 +1,33 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.loader;
+
+import com.dci.intellij.dbn.common.content.DynamicContentGrouping;
+import com.dci.intellij.dbn.object.common.DBObject;
+
+/**
+ * Groups the objects by their parent object (e.g. columns by dataset, arguments by method).
+ */
+public class DBParentObjectGrouping implements DynamicContentGrouping<DBObject> {
+    public static final DBParentObjectGrouping INSTANCE = new DBParentObjectGrouping();
+
+    private DBParentObjectGrouping() {}
+
+    public Object getGroupKey(DBObject object) {
+        return object.getParentObject();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.loader;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.content.DynamicContent;
+import com.dci.intellij.dbn.common.content.DynamicContentType;
+import com.dci.intellij.dbn.common.filter.Filter;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.database.common.statement.StatementExecutionStatistics;
+import com.dci.intellij.dbn.object.DBSchema;
+import com.dci.intellij.dbn.object.common.DBObjectRelationType;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads the data dictionary of a schema up-front by issuing the bulk metadata queries
+ * (all columns, all constraints, all indexes...) concurrently, through the loader scheduler of the connection.
+ * Loading is done in phases, as the elements of a phase are resolved against the objects loaded in the previous one
+ * (e.g. columns are attached to the tables and views, arguments to the package methods).
+ */
+public class DBSchemaSnapshotLoader {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+
+    private static final DynamicContentType[][] LOAD_PHASES = new DynamicContentType[][]{
+            {
+                    DBObjectType.TABLE,
+                    DBObjectType.VIEW,
+                    DBObjectType.MATERIALIZED_VIEW,
+                    DBObjectType.SYNONYM,
+                    DBObjectType.SEQUENCE,
+                    DBObjectType.PROCEDURE,
+                    DBObjectType.FUNCTION,
+                    DBObjectType.PACKAGE,
+                    DBObjectType.TYPE,
+                    DBObjectType.DIMENSION,
+                    DBObjectType.CLUSTER,
+                    DBObjectType.DBLINK},
+            {
+                    DBObjectType.COLUMN,
+                    DBObjectType.CONSTRAINT,
+                    DBObjectType.INDEX,
+                    DBObjectType.TRIGGER,
+                    DBObjectType.NESTED_TABLE,
+                    DBObjectType.PACKAGE_FUNCTION,
+                    DBObjectType.PACKAGE_PROCEDURE,
+                    DBObjectType.PACKAGE_TYPE,
+                    DBObjectType.TYPE_ATTRIBUTE,
+                    DBObjectType.TYPE_FUNCTION,
+                    DBObjectType.TYPE_PROCEDURE},
+            {
+                    DBObjectType.ARGUMENT,
+                    DBObjectRelationType.CONSTRAINT_COLUMN,
+                    DBObjectRelationType.INDEX_COLUMN}
+    };
+
+    private DBSchema schema;
+    private final List<LoadTiming> timings = Collections.synchronizedList(new ArrayList<LoadTiming>());
+
+    public DBSchemaSnapshotLoader(DBSchema schema) {
+        this.schema = schema;
+    }
+
+    public static boolean isEnabled(ConnectionHandler connectionHandler) {
+        return connectionHandler.getSettings().getDetailSettings().getMetadataLoadParallelism() > 1;
+    }
+
+    public void load(@Nullable ProgressIndicator progressIndicator) {
+        long startTimestamp = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < LOAD_PHASES.length; i++) {
+                if (isCancelled(progressIndicator)) return;
+                if (progressIndicator != null) {
+                    progressIndicator.setText("Loading data dictionary of schema " + schema.getName() + " (step " + (i + 1) + " of " + LOAD_PHASES.length + ")");
+                }
+                loadPhase(LOAD_PHASES[i], progressIndicator);
+            }
+        } finally {
+            logTimings(System.currentTimeMillis() - startTimestamp);
+        }
+    }
+
+    public List<LoadTiming> getTimings() {
+        return timings;
+    }
+
+    /**
+     * The contents of the phase are scheduled in the loader scheduler of the connection, and joined one by one
+     * by the calling thread (which loads by itself the ones not yet picked up by the scheduler).
+     * The scheduler runs at most "metadata load parallelism" loads at a time.
+     */
+    private void loadPhase(DynamicContentType[] contentTypes, ProgressIndicator progressIndicator) {
+        List<DynamicContent> dynamicContents = new ArrayList<DynamicContent>();
+        List<DynamicContentType> dynamicContentTypes = new ArrayList<DynamicContentType>();
+        for (DynamicContentType contentType : contentTypes) {
+            DynamicContent dynamicContent = getDynamicContent(contentType);
+            if (dynamicContent != null && dynamicContent.loadInBackground() != null) {
+                dynamicContents.add(dynamicContent);
+                dynamicContentTypes.add(contentType);
+            }
+        }
+
+        DatabaseLoaderScheduler loaderScheduler = schema.getConnectionHandler().getLoaderScheduler();
+        for (int i = 0; i < dynamicContents.size(); i++) {
+            DynamicContent dynamicContent = dynamicContents.get(i);
+            if (isCancelled(progressIndicator)) {
+                loaderScheduler.cancel(dynamicContent);
+                continue;
+            }
+            try {
+                loadContent(dynamicContent, dynamicContentTypes.get(i));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Error loading data dictionary of schema " + schema.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * The load time of each content is accounted in the {@link StatementExecutionStatistics} of the connection
+     * (statement id "snapshot-load:" + content type), next to the executions of the queries it issued.
+     */
+    private void loadContent(DynamicContent dynamicContent, DynamicContentType contentType) {
+        if (schema.isDisposed() || dynamicContent.isDisposed()) return;
+
+        long startTimestamp = System.currentTimeMillis();
+        dynamicContent.load();
+        long duration = System.currentTimeMillis() - startTimestamp;
+
+        boolean failed = dynamicContent.isDirty();
+        int elementCount = failed ? 0 : dynamicContent.getElements().size();
+        String contentDescription = dynamicContent.getContentDescription();
+        timings.add(new LoadTiming(contentDescription, duration, elementCount, failed));
+        StatementExecutionStatistics.getInstance().recordLoad(
+                schema.getConnectionHandler().getId(), "snapshot-load:" + contentType,
+                contentDescription, duration, elementCount, failed);
+    }
+
+    @Nullable
+    private DynamicContent getDynamicContent(DynamicContentType contentType) {
+        if (contentType instanceof DBObjectType) {
+            DBObjectType objectType = (DBObjectType) contentType;
+            Filter<DBObjectType> typeFilter = schema.getConnectionHandler().getSettings().getFilterSettings().getObjectTypeFilterSettings().getTypeFilter();
+            if (!typeFilter.accepts(objectType)) {
+                return null;
+            }
+        }
+        return schema.getDynamicContent(contentType);
+    }
+
+    private boolean isCancelled(ProgressIndicator progressIndicator) {
+        return schema.isDisposed() || (progressIndicator != null && progressIndicator.isCanceled());
+    }
+
+    private void logTimings(long totalDuration) {
+        if (SettingsUtil.isDebugEnabled) {
+            StringBuilder buffer = new StringBuilder();
+            buffer.append("[DBN-INFO] Done loading data dictionary of schema ").append(schema.getName());
+            int parallelism = schema.getConnectionHandler().getSettings().getDetailSettings().getMetadataLoadParallelism();
+            buffer.append(" (parallelism = ").append(parallelism).append(") - ").append(totalDuration).append("ms");
+            synchronized (timings) {
+                for (LoadTiming timing : timings) {
+                    buffer.append("\n    ").append(timing);
+                }
+            }
+            LOGGER.info(buffer.toString());
+        }
+    }
+
+    public static class LoadTiming {
+        private String contentDescription;
+        private long duration;
+        private int elementCount;
+        private boolean failed;
+
+        public LoadTiming(String contentDescription, long duration, int elementCount, boolean failed) {
+            this.contentDescription = contentDescription;
+            this.duration = duration;
+            this.elementCount = elementCount;
+            this.failed = failed;
+        }
+
+        public String getContentDescription() {
+            return contentDescription;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        public int getElementCount() {
+            return elementCount;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return contentDescription + ": " + duration + "ms, " + (failed ? "failed" : elementCount + " elements");
+        }
+    }
+}
@@ -22,8 +22,6 @@ import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 
 public class DatabaseLoaderManager extends AbstractProjectComponent {
-    private DatabaseLoaderQueue loaderQueue;
-
     private DatabaseLoaderManager(Project project) {
         super(project);
     }
@@ -37,12 +35,4 @@ public class DatabaseLoaderManager extends AbstractProjectComponent {
     public String getComponentName() {
         return "DBNavigator.Project.DatabaseLoaderManager";
     }
-
-    public void disposeComponent() {
-        super.disposeComponent();
-        if (loaderQueue != null) {
-            loaderQueue.dispose();
-            loaderQueue = null;
-        }
-    }
 }
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.loader;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import gnu.trove.THashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per connection scheduler of the background data dictionary loads.
+ * Requests are served by a bounded number of threads (the metadata load parallelism of the connection),
+ * in the order of their priority lane (visible tree nodes first, then editor resolution, then prefetch).
+ * Requests are identified by a key (the tree node or the content being loaded): scheduling a key
+ * which is already pending returns the pending request, raising its priority if needed.
+ */
+public class DatabaseLoaderScheduler implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 30;
+
+    public enum Priority {
+        VISIBLE_NODE,
+        EDITOR_RESOLUTION,
+        PREFETCH
+    }
+
+    private String name;
+    private ThreadPoolExecutor executor;
+    private final Map<Object, LoadRequest> requests = new THashMap<Object, LoadRequest>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger scheduledCount = new AtomicInteger();
+    private final AtomicInteger coalescedCount = new AtomicInteger();
+    private final AtomicInteger cancelledCount = new AtomicInteger();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private boolean isDisposed;
+
+    public DatabaseLoaderScheduler(String name, int parallelism) {
+        this.name = name;
+        int threads = Math.max(1, parallelism);
+        executor = new ThreadPoolExecutor(
+                threads, threads,
+                THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable>(),
+                new LoaderThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public synchronized void setParallelism(int parallelism) {
+        int threads = Math.max(1, parallelism);
+        if (!isDisposed && threads != executor.getMaximumPoolSize()) {
+            if (threads > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threads);
+                executor.setCorePoolSize(threads);
+            } else {
+                executor.setCorePoolSize(threads);
+                executor.setMaximumPoolSize(threads);
+            }
+        }
+    }
+
+    /**
+     * Schedules the given task under the given key. If a request for the same key is still waiting in the queue,
+     * the given task replaces the one of the pending request (the replaced task is neither executed nor cancelled),
+     * and the request is promoted to the given priority if this is higher.
+     */
+    public void schedule(@NotNull Object key, @NotNull Priority priority, @NotNull LoadTask task) {
+        synchronized (this) {
+            if (!isDisposed) {
+                LoadRequest request = requests.get(key);
+                if (request != null && !request.isStarted()) {
+                    coalescedCount.incrementAndGet();
+                    request.task = task;
+                    if (priority.ordinal() < request.priority.ordinal() && executor.remove(request)) {
+                        request.priority = priority;
+                        executor.execute(request);
+                    }
+                } else {
+                    request = new LoadRequest(key, priority, task);
+                    requests.put(key, request);
+                    scheduledCount.incrementAndGet();
+                    executor.execute(request);
+                }
+                return;
+            }
+        }
+        task.cancel();
+    }
+
+    /**
+     * Cancels the request scheduled under the given key (e.g. the tree node has been collapsed).
+     * Pending requests are removed from the queue, running ones are asked to stop through their progress indicator.
+     * The cancellation callbacks are invoked outside the scheduler lock, as they may need locks of their own.
+     */
+    public void cancel(@NotNull Object key) {
+        LoadRequest request;
+        boolean pending;
+        synchronized (this) {
+            request = requests.remove(key);
+            if (request == null) return;
+            pending = executor.remove(request);
+            cancelledCount.incrementAndGet();
+        }
+        if (pending) {
+            request.task.cancel();
+        } else {
+            request.task.progressIndicator.cancel();
+        }
+    }
+
+    private synchronized void release(LoadRequest request) {
+        if (requests.get(request.key) == request) {
+            requests.remove(request.key);
+        }
+    }
+
+    /*********************************************************
+     *                        Metrics                        *
+     *********************************************************/
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getQueueDepth(Priority priority) {
+        int depth = 0;
+        for (Object queued : executor.getQueue().toArray()) {
+            if (queued instanceof LoadRequest && ((LoadRequest) queued).priority == priority) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getScheduledCount() {
+        return scheduledCount.get();
+    }
+
+    public int getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public int getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    public int getCompletedCount() {
+        return completedCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "loader scheduler of " + name + ": " +
+                "queued " + getQueueDepth() + " (" +
+                Priority.VISIBLE_NODE + " " + getQueueDepth(Priority.VISIBLE_NODE) + ", " +
+                Priority.EDITOR_RESOLUTION + " " + getQueueDepth(Priority.EDITOR_RESOLUTION) + ", " +
+                Priority.PREFETCH + " " + getQueueDepth(Priority.PREFETCH) + "), " +
+                "active " + getActiveCount() + ", " +
+                "scheduled " + getScheduledCount() + ", " +
+                "coalesced " + getCoalescedCount() + ", " +
+                "cancelled " + getCancelledCount() + ", " +
+                "completed " + getCompletedCount();
+    }
+
+    /*********************************************************
+     *                      Disposable                       *
+     *********************************************************/
+    public void dispose() {
+        List<Runnable> pendingRequests;
+        List<LoadRequest> runningRequests;
+        synchronized (this) {
+            if (isDisposed) return;
+            isDisposed = true;
+            pendingRequests = executor.shutdownNow();
+            runningRequests = new ArrayList<LoadRequest>(requests.values());
+            runningRequests.removeAll(pendingRequests);
+            requests.clear();
+        }
+        for (Runnable pendingRequest : pendingRequests) {
+            ((LoadRequest) pendingRequest).task.cancel();
+        }
+        for (LoadRequest runningRequest : runningRequests) {
+            runningRequest.task.progressIndicator.cancel();
+        }
+    }
+
+    /*********************************************************
+     *                     Inner classes                     *
+     *********************************************************/
+    public abstract static class LoadTask {
+        private final ProgressIndicator progressIndicator = new EmptyProgressIndicator();
+
+        protected abstract void execute(@NotNull ProgressIndicator progressIndicator);
+
+        /**
+         * Invoked instead of execute() if the request is cancelled before it started, or the scheduler is disposed.
+         */
+        protected void cancelled() {}
+
+        private void cancel() {
+            progressIndicator.cancel();
+            cancelled();
+        }
+    }
+
+    private class LoadRequest implements Runnable, Comparable<LoadRequest> {
+        private final Object key;
+        private volatile LoadTask task;
+        private final long index = sequence.incrementAndGet();
+        private volatile Priority priority;
+        private volatile boolean isStarted;
+
+        private LoadRequest(Object key, Priority priority, LoadTask task) {
+            this.key = key;
+            this.priority = priority;
+            this.task = task;
+        }
+
+        public boolean isStarted() {
+            return isStarted;
+        }
+
+        public void run() {
+            isStarted = true;
+            long startTimestamp = System.currentTimeMillis();
+            final LoadTask task = this.task;
+            try {
+                if (!task.progressIndicator.isCanceled()) {
+                    // run under the indicator of the task, so that the loaders can see it is cancelled
+                    ProgressManager.getInstance().runProcess(new Runnable() {
+                        public void run() {
+                            task.execute(task.progressIndicator);
+                        }
+                    }, task.progressIndicator);
+                }
+            } catch (ProcessCanceledException e) {
+                // cancelled while running
+            } catch (Exception e) {
+                LOGGER.error("Error executing background load of " + key, e);
+            } finally {
+                release(this);
+                completedCount.incrementAndGet();
+                if (SettingsUtil.isDebugEnabled) {
+                    LOGGER.info("[DBN-INFO] Done background load of " + key + " (" + priority + ") - " +
+                            (System.currentTimeMillis() - startTimestamp) + "ms. " + DatabaseLoaderScheduler.this);
+                }
+            }
+        }
+
+        public int compareTo(@NotNull LoadRequest request) {
+            int result = priority.compareTo(request.priority);
+            if (result == 0) {
+                result = index < request.index ? -1 : index > request.index ? 1 : 0;
+            }
+            return result;
+        }
+    }
+
+    private class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        public Thread newThread(@NotNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "DBN Loader - " + name + " - " + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,823 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.loader;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.content.DynamicContent;
+import com.dci.intellij.dbn.common.content.DynamicContentType;
+import com.dci.intellij.dbn.common.content.dependency.ContentDependencyAdapter;
+import com.dci.intellij.dbn.common.content.dependency.SubcontentDependencyAdapter;
+import com.dci.intellij.dbn.common.content.loader.CachedResultSet;
+import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
+import com.dci.intellij.dbn.common.content.loader.DynamicContentResultSetLoader;
+import com.dci.intellij.dbn.common.content.loader.DynamicSubcontentLoader;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.dci.intellij.dbn.connection.ConnectionUtil;
+import com.dci.intellij.dbn.connection.GenericDatabaseElement;
+import com.dci.intellij.dbn.database.DatabaseMetadataInterface;
+import com.dci.intellij.dbn.object.DBSchema;
+import com.dci.intellij.dbn.object.common.DBObject;
+import com.dci.intellij.dbn.object.common.DBObjectRelationType;
+import com.dci.intellij.dbn.object.common.DBObjectType;
+import com.dci.intellij.dbn.object.common.list.DBObjectList;
+import com.dci.intellij.dbn.object.common.list.DBObjectRelationList;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import gnu.trove.TObjectLongHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of the schema level data dictionary queries (all tables, all columns, all constraints...) of a connection.
+ * Every result set is stored in a file of its own and read only when the content is loaded, at most once per session.
+ * Nothing is kept in memory besides the keys of the entries already used.
+ *
+ * Along with the entries, a snapshot of the change (ddl) timestamps of all objects of the schema is stored, taken
+ * before the first entry was loaded from database. Cached contents are served right away, and revalidated in background:
+ * the current timestamps are compared with the snapshot, and the served contents are patched for the changed objects only
+ * (e.g. an altered table gets its columns, constraints... reloaded on their own, using the per-object loaders).
+ * If too many objects changed, the entries of the schema are discarded and the served contents reloaded when next used.
+ */
+public class DatabaseMetadataCache implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    private static final int FORMAT_VERSION = 3;
+    private static final int MAX_PATCHED_OBJECTS = 100;
+    private static final String SNAPSHOT_FILE_NAME = "objects.snapshot";
+    private static final String ENTRY_FILE_EXTENSION = ".entry";
+
+    private static final String DATASET_GROUP = "DATASET";
+    private static final String INDEX_GROUP = "INDEX";
+    private static final String PROGRAM_GROUP = "PROGRAM";
+    private static final String TRIGGER_GROUP = "TRIGGER";
+    private static final String OTHER_GROUP = "OTHER";
+
+    /**
+     * Object types as returned by the "schema-object-change-timestamps" statements
+     */
+    private static final Map<String, DBObjectType> OBJECT_TYPES = new THashMap<String, DBObjectType>();
+    static {
+        OBJECT_TYPES.put("TABLE", DBObjectType.TABLE);
+        OBJECT_TYPES.put("VIEW", DBObjectType.VIEW);
+        OBJECT_TYPES.put("MATERIALIZED VIEW", DBObjectType.MATERIALIZED_VIEW);
+        OBJECT_TYPES.put("INDEX", DBObjectType.INDEX);
+        OBJECT_TYPES.put("TRIGGER", DBObjectType.TRIGGER);
+        OBJECT_TYPES.put("PROCEDURE", DBObjectType.PROCEDURE);
+        OBJECT_TYPES.put("FUNCTION", DBObjectType.FUNCTION);
+        OBJECT_TYPES.put("PACKAGE", DBObjectType.PACKAGE);
+        OBJECT_TYPES.put("TYPE", DBObjectType.TYPE);
+        OBJECT_TYPES.put("SYNONYM", DBObjectType.SYNONYM);
+        OBJECT_TYPES.put("SEQUENCE", DBObjectType.SEQUENCE);
+        OBJECT_TYPES.put("DIMENSION", DBObjectType.DIMENSION);
+        OBJECT_TYPES.put("CLUSTER", DBObjectType.CLUSTER);
+        OBJECT_TYPES.put("DATABASE LINK", DBObjectType.DBLINK);
+    }
+
+    private ConnectionHandler connectionHandler;
+    private final Map<String, SchemaState> schemaStates = new THashMap<String, SchemaState>();
+    private final Set<String> usedKeys = new THashSet<String>();
+    private final Object snapshotLock = new Object();
+    private boolean isDisposed;
+
+    public DatabaseMetadataCache(ConnectionHandler connectionHandler) {
+        this.connectionHandler = connectionHandler;
+    }
+
+    public boolean isEnabled() {
+        return !isDisposed && connectionHandler.getSettings().getDetailSettings().isMetadataCacheEnabled();
+    }
+
+    /**
+     * Only the contents of schemas are cached. The object bundle contents (schemas, users, privileges...)
+     * are cheap to load and there is no reliable way to find out if they changed.
+     */
+    public boolean isCacheable(DynamicContent dynamicContent) {
+        return isEnabled() && dynamicContent.getParent() instanceof DBSchema;
+    }
+
+    @Nullable
+    private static String getCacheKey(DynamicContent dynamicContent) {
+        GenericDatabaseElement parent = dynamicContent.getParent();
+        if (parent instanceof DBSchema) {
+            // contents loaded with different name filters are different result sets
+            String key = ((DBSchema) parent).getName() + "/" + dynamicContent.getName();
+            String nameCondition = DynamicContentResultSetLoader.getNameCondition(dynamicContent);
+            return nameCondition == null ? key : key + "#" + Integer.toHexString(nameCondition.hashCode());
+        }
+        return null;
+    }
+
+    @Nullable
+    private static DynamicContentType getContentType(DynamicContent dynamicContent) {
+        return  dynamicContent instanceof DBObjectList ? ((DBObjectList) dynamicContent).getObjectType() :
+                dynamicContent instanceof DBObjectRelationList ? ((DBObjectRelationList) dynamicContent).getObjectRelationType() : null;
+    }
+
+    /**
+     * Returns the groups of object types whose changes may affect the given content, or null if all of them may.
+     */
+    @Nullable
+    private static String[] getDependencyGroups(DynamicContent dynamicContent) {
+        DynamicContentType contentType = getContentType(dynamicContent);
+        if (contentType == DBObjectRelationType.CONSTRAINT_COLUMN) return new String[]{DATASET_GROUP};
+        if (contentType == DBObjectRelationType.INDEX_COLUMN) return new String[]{DATASET_GROUP, INDEX_GROUP};
+        if (contentType instanceof DBObjectType) {
+            switch ((DBObjectType) contentType) {
+                case DATASET:
+                case TABLE:
+                case VIEW:
+                case MATERIALIZED_VIEW:
+                case COLUMN:
+                case CONSTRAINT:
+                case NESTED_TABLE: return new String[]{DATASET_GROUP};
+                case INDEX: return new String[]{DATASET_GROUP, INDEX_GROUP};
+                case TRIGGER: return new String[]{DATASET_GROUP, TRIGGER_GROUP};
+                case PROCEDURE:
+                case FUNCTION:
+                case PACKAGE:
+                case PACKAGE_FUNCTION:
+                case PACKAGE_PROCEDURE:
+                case PACKAGE_TYPE:
+                case TYPE:
+                case TYPE_ATTRIBUTE:
+                case TYPE_FUNCTION:
+                case TYPE_PROCEDURE:
+                case ARGUMENT: return new String[]{PROGRAM_GROUP};
+            }
+        }
+        return null;
+    }
+
+    private static String getObjectGroup(DBObjectType objectType) {
+        switch (objectType) {
+            case TABLE:
+            case VIEW:
+            case MATERIALIZED_VIEW: return DATASET_GROUP;
+            case INDEX: return INDEX_GROUP;
+            case TRIGGER: return TRIGGER_GROUP;
+            case PROCEDURE:
+            case FUNCTION:
+            case PACKAGE:
+            case TYPE: return PROGRAM_GROUP;
+        }
+        return OTHER_GROUP;
+    }
+
+    private static boolean dependsOn(@Nullable String[] groups, ObjectChange change) {
+        if (groups == null) return true;
+        String group = getObjectGroup(change.objectType);
+        for (String dependencyGroup : groups) {
+            if (dependencyGroup.equals(group)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the cached result set of the given content, or null if there is none (or it was already used in this session).
+     * The content is patched in background if objects of the schema changed since the entry was stored.
+     */
+    @Nullable
+    public ResultSet getResultSet(DynamicContent dynamicContent) {
+        if (!isCacheable(dynamicContent)) return null;
+
+        String key = getCacheKey(dynamicContent);
+        if (key == null) return null;
+
+        DBSchema schema = (DBSchema) dynamicContent.getParent();
+        SchemaState state;
+        File entryFile;
+        int settingsHash;
+        int generation;
+        synchronized (this) {
+            if (isDisposed || !usedKeys.add(key)) return null;
+            state = getSchemaState(schema.getName());
+            // entries are only valid along with the snapshot they are revalidated against
+            if (!getSnapshotFile(state.schemaName).exists()) return null;
+            entryFile = getEntryFile(state.schemaName, key);
+            settingsHash = getSettingsHash();
+            generation = state.generation;
+        }
+
+        CachedResultSet resultSet = readEntry(entryFile, key, settingsHash);
+        if (resultSet == null) return null;
+
+        boolean revalidate;
+        synchronized (this) {
+            // entries of the schema discarded meanwhile
+            if (isDisposed || state.generation != generation) return null;
+            revalidate = state.changes == null || !state.changes.isEmpty();
+            if (revalidate) state.servedContents.add(dynamicContent);
+        }
+
+        if (SettingsUtil.isDebugEnabled) {
+            LOGGER.info("[DBN-INFO] Serving " + dynamicContent.getContentDescription() + " from metadata cache (" + resultSet.getRowCount() + " rows)");
+        }
+        if (revalidate) {
+            scheduleRevalidation(schema, state);
+        }
+        return resultSet;
+    }
+
+    /**
+     * Returns the snapshot of the object change timestamps of the schema owning the given content, to be passed
+     * to store() along with the result set of the content. Must be invoked before the actual data dictionary query,
+     * so that changes made in between are not masked. The snapshot is taken from database once, when the schema
+     * has no cached entries yet.
+     * @return null if the snapshot could not be taken, in which case the content is not cached
+     */
+    @Nullable
+    public SchemaSnapshot getSchemaSnapshot(DynamicContent dynamicContent, Connection connection) {
+        if (!isCacheable(dynamicContent)) return null;
+
+        String schemaName = ((DBSchema) dynamicContent.getParent()).getName();
+        synchronized (snapshotLock) {
+            File schemaDirectory;
+            File snapshotFile;
+            int settingsHash;
+            ConnectionHandler connectionHandler;
+            synchronized (this) {
+                if (isDisposed) return null;
+                SchemaState state = getSchemaState(schemaName);
+                if (state.snapshot != null) return state.snapshot;
+                schemaDirectory = getSchemaDirectory(schemaName);
+                snapshotFile = getSnapshotFile(schemaName);
+                settingsHash = getSettingsHash();
+                connectionHandler = this.connectionHandler;
+            }
+
+            // the snapshot of a previous session stays valid as long as its entries are
+            if (!isValidSnapshot(snapshotFile, schemaName, settingsHash)) {
+                synchronized (this) {
+                    // entries left without snapshot cannot be revalidated
+                    deleteDirectory(schemaDirectory);
+                    getSchemaState(schemaName).generation++;
+                }
+                if (!writeSnapshot(connectionHandler, snapshotFile, schemaName, settingsHash, connection)) {
+                    return null;
+                }
+            }
+
+            synchronized (this) {
+                if (isDisposed) return null;
+                SchemaState state = getSchemaState(schemaName);
+                if (state.snapshot == null) state.snapshot = new SchemaSnapshot(schemaName);
+                return state.snapshot;
+            }
+        }
+    }
+
+    /**
+     * Writes the result set of the given content to disk, provided the entries of the schema were not discarded
+     * since the snapshot was taken. The result set is not retained.
+     */
+    public void store(DynamicContent dynamicContent, @NotNull SchemaSnapshot snapshot, CachedResultSet resultSet) {
+        String key = getCacheKey(dynamicContent);
+        if (key == null) return;
+
+        File entryFile;
+        int settingsHash;
+        synchronized (this) {
+            if (isDisposed || getSchemaState(snapshot.schemaName).snapshot != snapshot) return;
+            usedKeys.add(key);
+            entryFile = getEntryFile(snapshot.schemaName, key);
+            settingsHash = getSettingsHash();
+        }
+
+        File temporaryFile = new File(entryFile.getPath() + ".tmp");
+        DataOutputStream output = null;
+        try {
+            output = createOutput(temporaryFile);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(settingsHash);
+            output.writeUTF(key);
+            resultSet.write(output);
+            output.close();
+            output = null;
+
+            synchronized (this) {
+                // the snapshot may have been discarded while writing
+                if (!isDisposed && getSchemaState(snapshot.schemaName).snapshot == snapshot) {
+                    replace(temporaryFile, entryFile);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error writing metadata cache entry " + key + ": " + e.getMessage());
+        } finally {
+            close(output);
+            temporaryFile.delete();
+        }
+    }
+
+    public synchronized void clear() {
+        if (connectionHandler != null) {
+            deleteDirectory(getConnectionDirectory());
+        }
+        schemaStates.clear();
+        usedKeys.clear();
+    }
+
+    private SchemaState getSchemaState(String schemaName) {
+        SchemaState state = schemaStates.get(schemaName);
+        if (state == null) {
+            state = new SchemaState(schemaName);
+            schemaStates.put(schemaName, state);
+        }
+        return state;
+    }
+
+    /*********************************************************
+     *                     Revalidation                      *
+     *********************************************************/
+    private void scheduleRevalidation(final DBSchema schema, final SchemaState state) {
+        DatabaseLoaderScheduler loaderScheduler;
+        synchronized (this) {
+            if (isDisposed) return;
+            loaderScheduler = connectionHandler.getLoaderScheduler();
+        }
+        // requests of the same schema are coalesced while queued
+        loaderScheduler.schedule(state, DatabaseLoaderScheduler.Priority.PREFETCH, new DatabaseLoaderScheduler.LoadTask() {
+            protected void execute(@NotNull ProgressIndicator progressIndicator) {
+                revalidate(schema, state, progressIndicator);
+            }
+        });
+    }
+
+    private void revalidate(DBSchema schema, SchemaState state, ProgressIndicator progressIndicator) {
+        List<ObjectChange> changes;
+        synchronized (this) {
+            if (isDisposed || schemaStates.get(state.schemaName) != state) return;
+            changes = state.changes;
+        }
+
+        if (changes == null) {
+            changes = loadChanges(state.schemaName);
+            List<DynamicContent> discardedContents = null;
+            synchronized (this) {
+                if (isDisposed || schemaStates.get(state.schemaName) != state) return;
+                if (changes == null || changes.size() > MAX_PATCHED_OBJECTS) {
+                    deleteDirectory(getSchemaDirectory(state.schemaName));
+                    state.generation++;
+                    state.snapshot = null;
+                    state.changes = Collections.emptyList();
+                    discardedContents = state.takeServedContents();
+                } else {
+                    state.changes = changes;
+                }
+            }
+
+            if (discardedContents != null) {
+                // too many changes to be patched (or no way to find them out), reload the served contents when next used
+                for (DynamicContent dynamicContent : discardedContents) {
+                    dynamicContent.setDirty(true);
+                }
+                if (SettingsUtil.isDebugEnabled) {
+                    LOGGER.info("[DBN-INFO] Discarded metadata cache of schema " + state.schemaName +
+                            (changes == null ? " (changes unknown)" : " (" + changes.size() + "+ changed objects)"));
+                }
+                return;
+            }
+        }
+
+        List<DynamicContent> contents;
+        synchronized (this) {
+            contents = state.takeServedContents();
+        }
+        if (changes.size() > 0 && contents.size() > 0) {
+            patch(schema, contents, changes, progressIndicator);
+        }
+    }
+
+    /**
+     * Compares the current object change timestamps of the schema with the stored snapshot.
+     * @return the changed objects, or null if the snapshot or the timestamps could not be loaded.
+     * Stops after MAX_PATCHED_OBJECTS + 1 changes.
+     */
+    @Nullable
+    private List<ObjectChange> loadChanges(String schemaName) {
+        File snapshotFile;
+        int settingsHash;
+        ConnectionHandler connectionHandler;
+        synchronized (this) {
+            if (isDisposed) return null;
+            snapshotFile = getSnapshotFile(schemaName);
+            settingsHash = getSettingsHash();
+            connectionHandler = this.connectionHandler;
+        }
+
+        TObjectLongHashMap<String> snapshot = readSnapshot(snapshotFile, schemaName, settingsHash);
+        if (snapshot == null) return null;
+
+        Connection connection = null;
+        ResultSet resultSet = null;
+        try {
+            connection = connectionHandler.getPoolConnection();
+            DatabaseMetadataInterface metadataInterface = connectionHandler.getInterfaceProvider().getMetadataInterface();
+            resultSet = metadataInterface.loadSchemaObjectChangeTimestamps(schemaName, connection);
+            List<ObjectChange> changes = new ArrayList<ObjectChange>();
+            while (changes.size() <= MAX_PATCHED_OBJECTS && resultSet.next()) {
+                String objectType = resultSet.getString("OBJECT_TYPE");
+                String objectName = resultSet.getString("OBJECT_NAME");
+                long changeTime = getTime(resultSet.getTimestamp("CHANGE_TIMESTAMP"));
+                String snapshotKey = objectType + "/" + objectName;
+                if (!snapshot.containsKey(snapshotKey)) {
+                    addChange(changes, objectType, objectName, ObjectChange.CREATED);
+                } else if (snapshot.remove(snapshotKey) != changeTime) {
+                    addChange(changes, objectType, objectName, ObjectChange.ALTERED);
+                }
+            }
+            if (changes.size() <= MAX_PATCHED_OBJECTS) {
+                for (Object snapshotKey : snapshot.keys()) {
+                    String key = (String) snapshotKey;
+                    int index = key.indexOf('/');
+                    addChange(changes, key.substring(0, index), key.substring(index + 1), ObjectChange.DROPPED);
+                }
+            }
+            return changes;
+        } catch (SQLException e) {
+            LOGGER.warn("Error loading change timestamps of schema " + schemaName + ": " + e.getMessage());
+            return null;
+        } finally {
+            ConnectionUtil.closeResultSet(resultSet);
+            connectionHandler.freePoolConnection(connection);
+        }
+    }
+
+    private static void addChange(List<ObjectChange> changes, String objectType, String objectName, int kind) {
+        DBObjectType type = OBJECT_TYPES.get(objectType);
+        if (type != null) {
+            changes.add(new ObjectChange(type, objectName, kind));
+        }
+    }
+
+    /**
+     * Brings the given served contents up to date with the changed objects:
+     * <li> lists the changed objects are elements of are reloaded if objects were created or dropped
+     * <li> for an altered object, the own contents of the object (e.g. the columns of a table) are reloaded using their
+     *      per-object loader, replacing the elements of the object in the schema level lists (e.g. all columns)
+     * <li> schema level lists with elements of objects which are not loaded or have no per-object loader are reloaded
+     */
+    private void patch(DBSchema schema, List<DynamicContent> contents, List<ObjectChange> changes, ProgressIndicator progressIndicator) {
+        long startTimestamp = System.currentTimeMillis();
+        Set<DynamicContent> reloadedContents = new THashSet<DynamicContent>();
+
+        // new or dropped objects first, for the new objects to be found when patching the lists of their elements
+        for (DynamicContent dynamicContent : contents) {
+            DynamicContentType contentType = getContentType(dynamicContent);
+            for (ObjectChange change : changes) {
+                if (change.kind != ObjectChange.ALTERED && change.objectType == contentType) {
+                    reloadedContents.add(dynamicContent);
+                    break;
+                }
+            }
+        }
+        reload(reloadedContents, progressIndicator);
+
+        Set<DynamicContent> listReloads = new THashSet<DynamicContent>();
+        Set<DynamicContent> objectReloads = new THashSet<DynamicContent>();
+        for (DynamicContent dynamicContent : contents) {
+            if (dynamicContent.isDisposed() || reloadedContents.contains(dynamicContent)) continue;
+
+            DynamicContentType contentType = getContentType(dynamicContent);
+            String[] groups = getDependencyGroups(dynamicContent);
+            for (ObjectChange change : changes) {
+                if (!dependsOn(groups, change)) continue;
+
+                if (change.objectType == contentType) {
+                    // altered element (top level objects are kept, their elements are patched in the other lists)
+                    DBObject object = (DBObject) dynamicContent.getElement(change.objectName);
+                    if (object != null && object.getParentObject() != schema) {
+                        // e.g. index or trigger of a table
+                        collectReloads(object.getParentObject(), dynamicContent, listReloads, objectReloads);
+                    }
+                } else {
+                    DBObject object = null;
+                    DynamicContent objectList = schema.getDynamicContent(change.objectType);
+                    if (objectList != null && objectList.isLoaded() && !objectList.isDisposed()) {
+                        object = (DBObject) objectList.getElement(change.objectName);
+                    }
+                    if (object == null) {
+                        // elements of a dropped object, or of an object not known yet
+                        listReloads.add(dynamicContent);
+                    } else {
+                        collectReloads(object, dynamicContent, listReloads, objectReloads);
+                    }
+                }
+            }
+        }
+
+        List<DynamicContent> ownReloads = new ArrayList<DynamicContent>();
+        for (DynamicContent objectContent : objectReloads) {
+            DynamicContent sourceContent = getSourceContent(objectContent);
+            if (sourceContent == null || !listReloads.contains(sourceContent)) {
+                ownReloads.add(objectContent);
+            }
+        }
+        reload(ownReloads, progressIndicator);
+        reload(listReloads, progressIndicator);
+
+        if (SettingsUtil.isDebugEnabled) {
+            LOGGER.info("[DBN-INFO] Patched metadata cache of schema " + schema.getName() + ": " +
+                    changes.size() + " changed objects, " +
+                    (reloadedContents.size() + listReloads.size()) + " lists and " +
+                    ownReloads.size() + " object contents reloaded - " +
+                    (System.currentTimeMillis() - startTimestamp) + "ms");
+        }
+    }
+
+    private static void collectReloads(DBObject object, DynamicContent sourceContent, Set<DynamicContent> listReloads, Set<DynamicContent> objectReloads) {
+        DynamicContent objectContent = object.getDynamicContent(getContentType(sourceContent));
+        if (objectContent != null) {
+            DynamicContentLoader loader = objectContent.getLoader();
+            if (loader instanceof DynamicSubcontentLoader && ((DynamicSubcontentLoader) loader).getAlternativeLoader() != null) {
+                objectReloads.add(objectContent);
+            } else {
+                listReloads.add(sourceContent);
+            }
+        }
+    }
+
+    @Nullable
+    private static DynamicContent getSourceContent(DynamicContent dynamicContent) {
+        ContentDependencyAdapter dependencyAdapter = dynamicContent.getDependencyAdapter();
+        return dependencyAdapter instanceof SubcontentDependencyAdapter ?
+                ((SubcontentDependencyAdapter) dependencyAdapter).getSourceContent() : null;
+    }
+
+    private static void reload(Collection<DynamicContent> contents, ProgressIndicator progressIndicator) {
+        for (DynamicContent dynamicContent : contents) {
+            progressIndicator.checkCanceled();
+            if (!dynamicContent.isDisposed()) {
+                dynamicContent.reload(false);
+            }
+        }
+    }
+
+    /*********************************************************
+     *                      Persistence                      *
+     *********************************************************/
+    private File getConnectionDirectory() {
+        return new File(PathManager.getSystemPath(), "dbn" + File.separator + "metadata" + File.separator + connectionHandler.getId());
+    }
+
+    private File getSchemaDirectory(String schemaName) {
+        String directoryName = schemaName.replaceAll("\\W", "_") + "-" + Integer.toHexString(schemaName.hashCode());
+        return new File(getConnectionDirectory(), directoryName);
+    }
+
+    private File getSnapshotFile(String schemaName) {
+        return new File(getSchemaDirectory(schemaName), SNAPSHOT_FILE_NAME);
+    }
+
+    private File getEntryFile(String schemaName, String key) {
+        return new File(getSchemaDirectory(schemaName), Integer.toHexString(key.hashCode()) + ENTRY_FILE_EXTENSION);
+    }
+
+    private int getSettingsHash() {
+        return connectionHandler.getSettings().getDatabaseSettings().hashCode();
+    }
+
+    @Nullable
+    private static CachedResultSet readEntry(File entryFile, String key, int settingsHash) {
+        if (!entryFile.exists()) return null;
+
+        DataInputStream input = null;
+        try {
+            input = createInput(entryFile);
+            // a different key is an entry of another content with the same hash
+            if (input.readInt() == FORMAT_VERSION && input.readInt() == settingsHash && input.readUTF().equals(key)) {
+                return CachedResultSet.read(input);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error reading metadata cache entry " + key + ": " + e.getMessage());
+            close(input);
+            input = null;
+            entryFile.delete();
+        } finally {
+            close(input);
+        }
+        return null;
+    }
+
+    private static boolean isValidSnapshot(File snapshotFile, String schemaName, int settingsHash) {
+        if (!snapshotFile.exists()) return false;
+
+        DataInputStream input = null;
+        try {
+            input = createInput(snapshotFile);
+            return input.readInt() == FORMAT_VERSION && input.readInt() == settingsHash && input.readUTF().equals(schemaName);
+        } catch (IOException e) {
+            return false;
+        } finally {
+            close(input);
+        }
+    }
+
+    /**
+     * @return the change timestamps of the objects of the snapshot, by object type and name ("TABLE/EMPLOYEES")
+     */
+    @Nullable
+    private static TObjectLongHashMap<String> readSnapshot(File snapshotFile, String schemaName, int settingsHash) {
+        if (!snapshotFile.exists()) return null;
+
+        DataInputStream input = null;
+        try {
+            input = createInput(snapshotFile);
+            if (input.readInt() == FORMAT_VERSION && input.readInt() == settingsHash && input.readUTF().equals(schemaName)) {
+                TObjectLongHashMap<String> snapshot = new TObjectLongHashMap<String>();
+                while (input.readBoolean()) {
+                    snapshot.put(input.readUTF(), input.readLong());
+                }
+                return snapshot;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error reading object snapshot of schema " + schemaName + ": " + e.getMessage());
+        } finally {
+            close(input);
+        }
+        return null;
+    }
+
+    private static boolean writeSnapshot(ConnectionHandler connectionHandler, File snapshotFile, String schemaName, int settingsHash, Connection connection) {
+        File temporaryFile = new File(snapshotFile.getPath() + ".tmp");
+        ResultSet resultSet = null;
+        DataOutputStream output = null;
+        try {
+            DatabaseMetadataInterface metadataInterface = connectionHandler.getInterfaceProvider().getMetadataInterface();
+            resultSet = metadataInterface.loadSchemaObjectChangeTimestamps(schemaName, connection);
+            output = createOutput(temporaryFile);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(settingsHash);
+            output.writeUTF(schemaName);
+            while (resultSet.next()) {
+                String objectType = resultSet.getString("OBJECT_TYPE");
+                String objectName = resultSet.getString("OBJECT_NAME");
+                long changeTime = getTime(resultSet.getTimestamp("CHANGE_TIMESTAMP"));
+                output.writeBoolean(true);
+                output.writeUTF(objectType + "/" + objectName);
+                output.writeLong(changeTime);
+            }
+            output.writeBoolean(false);
+            output.close();
+            output = null;
+            return replace(temporaryFile, snapshotFile);
+        } catch (SQLException e) {
+            LOGGER.warn("Error loading change timestamps of schema " + schemaName + ": " + e.getMessage());
+        } catch (IOException e) {
+            LOGGER.warn("Error writing object snapshot of schema " + schemaName + ": " + e.getMessage());
+        } finally {
+            ConnectionUtil.closeResultSet(resultSet);
+            close(output);
+            temporaryFile.delete();
+        }
+        return false;
+    }
+
+    private static long getTime(@Nullable Timestamp timestamp) {
+        return timestamp == null ? 0 : timestamp.getTime();
+    }
+
+    private static DataInputStream createInput(File file) throws IOException {
+        return new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+    }
+
+    private static DataOutputStream createOutput(File file) throws IOException {
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory.getPath());
+        }
+        return new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))));
+    }
+
+    private static boolean replace(File source, File target) {
+        if (target.exists() && !target.delete()) {
+            LOGGER.warn("Could not replace metadata cache file " + target.getPath());
+            return false;
+        }
+        return source.renameTo(target);
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignore) {}
+        }
+    }
+
+    /*********************************************************
+     *                      Disposable                       *
+     *********************************************************/
+    public synchronized void dispose() {
+        if (!isDisposed) {
+            isDisposed = true;
+            schemaStates.clear();
+            usedKeys.clear();
+            connectionHandler = null;
+        }
+    }
+
+    /*********************************************************
+     *                     Inner classes                     *
+     *********************************************************/
+    /**
+     * Handle of the object snapshot the entries stored in this session are revalidated against.
+     * Invalid as soon as the entries of the schema are discarded.
+     */
+    public static class SchemaSnapshot {
+        private final String schemaName;
+
+        private SchemaSnapshot(String schemaName) {
+            this.schemaName = schemaName;
+        }
+    }
+
+    private static class SchemaState {
+        private final String schemaName;
+        private SchemaSnapshot snapshot;
+        private int generation;
+        // null until the schema is revalidated
+        private List<ObjectChange> changes;
+        // contents served from cache and not yet patched
+        private List<DynamicContent> servedContents = new ArrayList<DynamicContent>();
+
+        private SchemaState(String schemaName) {
+            this.schemaName = schemaName;
+        }
+
+        private List<DynamicContent> takeServedContents() {
+            List<DynamicContent> contents = servedContents;
+            servedContents = new ArrayList<DynamicContent>();
+            return contents;
+        }
+    }
+
+    private static class ObjectChange {
+        private static final int CREATED = 0;
+        private static final int ALTERED = 1;
+        private static final int DROPPED = 2;
+
+        private DBObjectType objectType;
+        private String objectName;
+        private int kind;
+
+        private ObjectChange(DBObjectType objectType, String objectName, int kind) {
+            this.objectType = objectType;
+            this.objectName = objectName;
+            this.kind = kind;
+        }
+    }
+}
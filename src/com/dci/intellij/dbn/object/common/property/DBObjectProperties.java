@@ -16,30 +16,22 @@
 
 package com.dci.intellij.dbn.object.common.property;
 
-import gnu.trove.THashSet;
-
-import java.util.Set;
-
 public class DBObjectProperties {
-    private Set<DBObjectProperty> properties;
+    private int properties;
+
+    private static int mask(DBObjectProperty property) {
+        return 1 << property.ordinal();
+    }
 
     public boolean is(DBObjectProperty property) {
-        return properties != null && properties.contains(property);
+        return (properties & mask(property)) != 0;
     }
 
     public void set(DBObjectProperty property) {
-        if (properties == null) {
-            properties = new THashSet<DBObjectProperty>();
-        }
-        properties.add(property);
+        properties |= mask(property);
     }
 
     public void unset(DBObjectProperty property) {
-        if (properties != null) {
-            properties.remove(property);
-            if (properties.isEmpty()) {
-                properties = null;
-            }
-        }
+        properties &= ~mask(property);
     }
 }
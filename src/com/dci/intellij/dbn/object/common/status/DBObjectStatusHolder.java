@@ -17,40 +17,38 @@
 package com.dci.intellij.dbn.object.common.status;
 
 import com.dci.intellij.dbn.editor.DBContentType;
-import gnu.trove.THashSet;
-
-import java.util.Set;
 
+/**
+ * Status flags of an object, per content type. Kept as two bit sets (flags explicitly set / flag values)
+ * indexed by content type and status, instead of a set of status entries per object.
+ */
 public class DBObjectStatusHolder {
+    private static final int STATUS_COUNT = DBObjectStatus.values().length;
+
     private DBContentType mainContentType;
-    private Set<DBObjectStatusEntry> statusEntries;
+    private long definedFlags;
+    private long valueFlags;
 
     public DBObjectStatusHolder(DBContentType mainContentType) {
         this.mainContentType = mainContentType;
     }
 
-    private synchronized DBObjectStatusEntry get(DBContentType contentType, DBObjectStatus status, boolean create) {
-        if (statusEntries != null) {
-            for (DBObjectStatusEntry statusEntry : statusEntries) {
-                if (statusEntry.getContentType() == contentType && statusEntry.getStatusType() == status) {
-                    return statusEntry;
-                }
-            }
-        }
-
-        if (create) {
-            DBObjectStatusEntry statusEntry = new DBObjectStatusEntry(contentType, status);
-            if (statusEntries == null) statusEntries = new THashSet<DBObjectStatusEntry>();
-            statusEntries.add(statusEntry);
-            return statusEntry;
-        }
-        return null;
+    private static long mask(DBContentType contentType, DBObjectStatus status) {
+        return 1L << (contentType.ordinal() * STATUS_COUNT + status.ordinal());
     }
 
-
-    public boolean set(DBContentType contentType, DBObjectStatus status, boolean value) {
-        DBObjectStatusEntry statusEntry = get(contentType, status, true);
-        return statusEntry.setValue(value);
+    /**
+     * returns true if status has changed
+     */
+    public synchronized boolean set(DBContentType contentType, DBObjectStatus status, boolean value) {
+        long mask = mask(contentType, status);
+        boolean oldValue = (valueFlags & mask) != 0;
+        definedFlags |= mask;
+        if (oldValue != value) {
+            valueFlags = value ? valueFlags | mask : valueFlags & ~mask;
+            return true;
+        }
+        return false;
     }
 
     public boolean set(DBObjectStatus status, boolean value) {
@@ -84,71 +82,23 @@ public class DBObjectStatusHolder {
         }
     }
 
-    public boolean is(DBContentType contentType, DBObjectStatus status) {
-        DBObjectStatusEntry statusEntry = get(contentType, status, false);
-        return statusEntry == null ?
+    public synchronized boolean is(DBContentType contentType, DBObjectStatus status) {
+        long mask = mask(contentType, status);
+        return (definedFlags & mask) == 0 ?
                 status.getDefaultValue() :
-                statusEntry.getValue();
+                (valueFlags & mask) != 0;
     }
 
-    public boolean has(DBContentType contentType, DBObjectStatus status) {
-        if (statusEntries != null)  {
-            for (DBObjectStatusEntry statusEntry : statusEntries) {
-                if (statusEntry.getContentType() == contentType && statusEntry.getStatusType() == status) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    public synchronized boolean has(DBContentType contentType, DBObjectStatus status) {
+        return (definedFlags & mask(contentType, status)) != 0;
     }
 
-    public boolean has(DBObjectStatus status) {
-        if (statusEntries != null) {
-            for (DBObjectStatusEntry statusEntry : statusEntries) {
-                if (statusEntry.getStatusType() == status) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    public class DBObjectStatusEntry {
-        private DBObjectStatus status;
-        private DBContentType contentType;
-        private boolean value;
-
-        public DBObjectStatusEntry(DBContentType contentType, DBObjectStatus status) {
-            this.contentType = contentType;
-            this.status = status;
-        }
-
-        public DBObjectStatus getStatusType() {
-            return status;
-        }
-
-        public DBContentType getContentType() {
-            return contentType;
-        }
-
-        public boolean getValue() {
-            return value;
-        }
-
-        /**
-         * returns true if status has changed
-         */
-        public boolean setValue(boolean value) {
-            if (this.value != value) {
-                this.value = value;
+    public synchronized boolean has(DBObjectStatus status) {
+        for (DBContentType contentType : DBContentType.values()) {
+            if ((definedFlags & mask(contentType, status)) != 0) {
                 return true;
             }
-            return false;
-        }
-
-        @Override
-        public String toString() {
-            return contentType + " " + status + ": " + value;
         }
+        return false;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.object.common.status;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.TimeUtil;
+import com.dci.intellij.dbn.connection.ConnectionHandler;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Refreshes the status (valid / debug) of the loaded objects of a connection in the background,
+ * at the interval configured in the connection details. Polling only happens while the connection is established.
+ */
+public class DBObjectStatusPoller implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+
+    private ConnectionHandler connectionHandler;
+    private Timer timer;
+    private int pollInterval;
+    private boolean isDisposed;
+
+    public DBObjectStatusPoller(ConnectionHandler connectionHandler) {
+        this.connectionHandler = connectionHandler;
+        reschedule();
+    }
+
+    /**
+     * Restarts polling if the configured interval changed.
+     */
+    public synchronized void reschedule() {
+        int pollInterval = isDisposed ? 0 : connectionHandler.getSettings().getDetailSettings().getObjectStatusPollInterval();
+        if (pollInterval != this.pollInterval) {
+            this.pollInterval = pollInterval;
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            if (pollInterval > 0) {
+                long period = (long) pollInterval * TimeUtil.ONE_SECOND;
+                timer = new Timer("Object status poller [" + connectionHandler.getName() + "]", true);
+                timer.schedule(new PollTask(), period, period);
+            }
+        }
+    }
+
+    private class PollTask extends TimerTask {
+        public void run() {
+            ConnectionHandler connectionHandler = DBObjectStatusPoller.this.connectionHandler;
+            if (isDisposed || connectionHandler == null || connectionHandler.isDisposed()) return;
+
+            if (connectionHandler.isActive() && connectionHandler.getConnectionStatus().isConnected()) {
+                try {
+                    connectionHandler.getObjectBundle().refreshObjectsStatus(null);
+                } catch (Exception e) {
+                    LOGGER.warn("Error polling objects status of connection " + connectionHandler.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /*********************************************************
+     *                      Disposable                       *
+     *********************************************************/
+    public synchronized void dispose() {
+        if (!isDisposed) {
+            isDisposed = true;
+            if (timer != null) {
+                timer.cancel();
+                timer = null;
+            }
+            connectionHandler = null;
+        }
+    }
+}
@@ -18,11 +18,13 @@ package com.dci.intellij.dbn.object.filter.name;
 
 import com.dci.intellij.dbn.common.filter.Filter;
 import com.dci.intellij.dbn.common.util.StringUtil;
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBObjectType;
 import com.intellij.openapi.util.InvalidDataException;
 import com.intellij.openapi.util.WriteExternalException;
 import org.jdom.Element;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -155,6 +157,32 @@ public class CompoundFilterCondition extends Filter<DBObject> implements FilterC
         return buffer.toString();
     }
 
+    /**
+     * Sub-conditions which cannot be expressed in SQL are left out of an AND condition (the query returns more rows,
+     * filtered in java anyway). An OR condition is not expressed in SQL at all if one of its sub-conditions is not.
+     */
+    @Nullable
+    public String getSqlCondition(DatabaseCompatibilityInterface compatibilityInterface) {
+        boolean or = joinType == ConditionJoinType.OR;
+        StringBuilder buffer = new StringBuilder("(");
+        for (FilterCondition condition : conditions) {
+            String sqlCondition = condition.getSqlCondition(compatibilityInterface);
+            if (sqlCondition == null) {
+                if (or) return null;
+                continue;
+            }
+            if (buffer.length() > 1) {
+                buffer.append(or ? " or " : " and ");
+            }
+            buffer.append(sqlCondition);
+        }
+        if (buffer.length() == 1) {
+            return or ? "1 = 0" : "1 = 1";
+        }
+        buffer.append(")");
+        return buffer.toString();
+    }
+
     public List<FilterCondition> getConditions() {
         return conditions;
     }
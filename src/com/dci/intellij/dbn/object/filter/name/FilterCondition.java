@@ -17,14 +17,24 @@
 package com.dci.intellij.dbn.object.filter.name;
 
 import com.dci.intellij.dbn.common.options.PersistentConfiguration;
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBObjectType;
+import org.jetbrains.annotations.Nullable;
 
 public interface FilterCondition extends PersistentConfiguration {
     void setParent(CompoundFilterCondition parent);
     CompoundFilterCondition getParent();
     DBObjectType getObjectType();
     String getConditionString();
+
+    /**
+     * The condition as SQL predicate, with "[NAME]" standing for the name column of the filtered query,
+     * and the literals escaped as required by the given database. Returns null if the condition cannot be expressed in SQL.
+     * It must match the same names as {@link #accepts(DBObject)}, which remains the reference (applied in java in all cases).
+     */
+    @Nullable
+    String getSqlCondition(DatabaseCompatibilityInterface compatibilityInterface);
     ObjectNameFilterSettings getSettings();
     boolean accepts(DBObject object);
 }
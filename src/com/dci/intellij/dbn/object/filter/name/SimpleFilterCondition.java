@@ -16,13 +16,17 @@
 
 package com.dci.intellij.dbn.object.filter.name;
 
+import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
 import com.dci.intellij.dbn.object.common.DBObject;
 import com.dci.intellij.dbn.object.common.DBObjectType;
 import com.intellij.openapi.util.InvalidDataException;
 import com.intellij.openapi.util.WriteExternalException;
 import com.intellij.openapi.util.text.StringUtil;
 import org.jdom.Element;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.StringTokenizer;
 
 public class SimpleFilterCondition implements FilterCondition {
@@ -30,6 +34,10 @@ public class SimpleFilterCondition implements FilterCondition {
     private ConditionOperator operator;
     private String text;
 
+    // compiled LIKE pattern (text split at the wildcards)
+    private String[] likeTokens;
+    private boolean likeStartsWithWildcard;
+
     public SimpleFilterCondition() {
     }
 
@@ -59,30 +67,74 @@ public class SimpleFilterCondition implements FilterCondition {
     }
 
     private boolean isLike(String name) {
-        StringTokenizer tokenizer = new StringTokenizer(text, "*%");
+        String[] likeTokens = getLikeTokens();
         int startIndex = 0;
-        while (tokenizer.hasMoreTokens()) {
-            String token = tokenizer.nextToken();
+        for (String token : likeTokens) {
             int index = StringUtil.indexOfIgnoreCase(name, token, startIndex);
-            if (index == -1 || (index > 0 && startIndex == 0 && !startsWithWildcard())) return false;
+            if (index == -1 || (index > 0 && startIndex == 0 && !likeStartsWithWildcard)) return false;
             startIndex = index + token.length();
         }
 
         return true;
     }
 
-    private boolean startsWithWildcard() {
-        return text.indexOf('*') == 0 || text.indexOf('%') == 0;
+    private String[] getLikeTokens() {
+        String[] likeTokens = this.likeTokens;
+        if (likeTokens == null) {
+            List<String> tokens = new ArrayList<String>();
+            StringTokenizer tokenizer = new StringTokenizer(text, "*%");
+            while (tokenizer.hasMoreTokens()) {
+                tokens.add(tokenizer.nextToken());
+            }
+            likeStartsWithWildcard = text.indexOf('*') == 0 || text.indexOf('%') == 0;
+            likeTokens = tokens.toArray(new String[tokens.size()]);
+            this.likeTokens = likeTokens;
+        }
+        return likeTokens;
+    }
+
+    @Nullable
+    public String getSqlCondition(DatabaseCompatibilityInterface compatibilityInterface) {
+        if (operator == null || text == null) return null;
+        switch (operator) {
+            case EQUAL: return "upper([NAME]) = '" + compatibilityInterface.escapeStringLiteral(text.toUpperCase()) + "'";
+            case NOT_EQUAL: return "upper([NAME]) <> '" + compatibilityInterface.escapeStringLiteral(text.toUpperCase()) + "'";
+            case LIKE: return "upper([NAME]) like '" + compatibilityInterface.escapeStringLiteral(createLikePattern()) + "' escape '!'";
+            case NOT_LIKE: return "upper([NAME]) not like '" + compatibilityInterface.escapeStringLiteral(createLikePattern()) + "' escape '!'";
+        }
+        return null;
+    }
+
+    /**
+     * The java LIKE matching is not anchored at the end of the name, and "_" is no wildcard.
+     */
+    private String createLikePattern() {
+        String text = this.text.toUpperCase();
+        StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char chr = text.charAt(i);
+            switch (chr) {
+                case '*':
+                case '%': buffer.append('%'); break;
+                case '_':
+                case '!': buffer.append('!').append(chr); break;
+                default: buffer.append(chr);
+            }
+        }
+        buffer.append('%');
+        return buffer.toString();
     }
 
 
 
+
     public void setOperator(ConditionOperator operator) {
         this.operator = operator;
     }
 
     public void setText(String text) {
         this.text = text;
+        this.likeTokens = null;
     }
 
     public void setParent(CompoundFilterCondition parent) {
@@ -119,6 +171,7 @@ public class SimpleFilterCondition implements FilterCondition {
     public void readConfiguration(Element element) throws InvalidDataException {
         operator = ConditionOperator.valueOf(element.getAttributeValue("operator"));
         text = element.getAttributeValue("text");
+        likeTokens = null;
     }
 
     public void writeConfiguration(Element element) throws WriteExternalException {
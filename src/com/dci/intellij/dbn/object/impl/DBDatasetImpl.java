@@ -19,6 +19,7 @@ package com.dci.intellij.dbn.object.impl;
 import com.dci.intellij.dbn.browser.ui.HtmlToolTipBuilder;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentElement;
+import com.dci.intellij.dbn.common.content.DynamicContentGrouping;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentResultSetLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicSubcontentLoader;
@@ -36,6 +37,7 @@ import com.dci.intellij.dbn.object.common.DBObjectType;
 import com.dci.intellij.dbn.object.common.DBSchemaObjectImpl;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
+import com.dci.intellij.dbn.object.common.loader.DBParentObjectGrouping;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -112,7 +114,13 @@ public abstract class DBDatasetImpl extends DBSchemaObjectImpl implements DBData
     /*********************************************************
      *                         Loaders                       *
      *********************************************************/
-    private static final DynamicSubcontentLoader CONSTRAINT_COLUMN_RELATION_LOADER = new DynamicSubcontentLoader(true) {
+    private static final DynamicContentGrouping<DBConstraintColumnRelation> CONSTRAINT_COLUMN_RELATION_GROUPING = new DynamicContentGrouping<DBConstraintColumnRelation>() {
+        public Object getGroupKey(DBConstraintColumnRelation constraintColumnRelation) {
+            return constraintColumnRelation.getColumn().getDataset();
+        }
+    };
+
+    private static final DynamicSubcontentLoader CONSTRAINT_COLUMN_RELATION_LOADER = new DynamicSubcontentLoader(true, CONSTRAINT_COLUMN_RELATION_GROUPING) {
         public DynamicContentLoader getAlternativeLoader() {
             return CONSTRAINT_COLUMN_RELATION_ALTERNATIVE_LOADER;
         }
@@ -147,7 +155,7 @@ public abstract class DBDatasetImpl extends DBSchemaObjectImpl implements DBData
         }
     };
 
-    private static final DynamicSubcontentLoader COLUMNS_LOADER = new DynamicSubcontentLoader<DBColumn>(true) {
+    private static final DynamicSubcontentLoader COLUMNS_LOADER = new DynamicSubcontentLoader<DBColumn>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBColumn column, DynamicContent dynamicContent) {
             DBDataset dataset = (DBDataset) dynamicContent.getParent();
             return column.getDataset().equals(dataset);
@@ -170,7 +178,7 @@ public abstract class DBDatasetImpl extends DBSchemaObjectImpl implements DBData
         }
     };
 
-    private static final DynamicSubcontentLoader<DBConstraint> CONSTRAINTS_LOADER = new DynamicSubcontentLoader<DBConstraint>(true) {
+    private static final DynamicSubcontentLoader<DBConstraint> CONSTRAINTS_LOADER = new DynamicSubcontentLoader<DBConstraint>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBConstraint constraint, DynamicContent dynamicContent) {
             DBDataset dataset = (DBDataset) dynamicContent.getParent();
             return constraint.getDataset().equals(dataset);
@@ -194,7 +202,7 @@ public abstract class DBDatasetImpl extends DBSchemaObjectImpl implements DBData
         }
     };
 
-    private static final DynamicSubcontentLoader TRIGGERS_LOADER = new DynamicSubcontentLoader<DBTrigger>(true) {
+    private static final DynamicSubcontentLoader TRIGGERS_LOADER = new DynamicSubcontentLoader<DBTrigger>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBTrigger trigger, DynamicContent dynamicContent) {
             DBDataset dataset = (DBDataset) dynamicContent.getParent();
             return trigger.getDataset().equals(dataset);
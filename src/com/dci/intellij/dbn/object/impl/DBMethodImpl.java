@@ -33,6 +33,7 @@ import com.dci.intellij.dbn.object.common.DBSchemaObject;
 import com.dci.intellij.dbn.object.common.DBSchemaObjectImpl;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
+import com.dci.intellij.dbn.object.common.loader.DBParentObjectGrouping;
 import com.dci.intellij.dbn.object.common.property.DBObjectProperty;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatusHolder;
@@ -186,7 +187,7 @@ public abstract class DBMethodImpl extends DBSchemaObjectImpl implements DBMetho
         }
     };
 
-    private static final DynamicSubcontentLoader<DBArgument> ARGUMENTS_LOADER = new DynamicSubcontentLoader<DBArgument>(true) {
+    private static final DynamicSubcontentLoader<DBArgument> ARGUMENTS_LOADER = new DynamicSubcontentLoader<DBArgument>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBArgument> getAlternativeLoader() {
             return ARGUMENTS_ALTERNATIVE_LOADER;
         }
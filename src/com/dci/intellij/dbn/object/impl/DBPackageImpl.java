@@ -39,6 +39,7 @@ import com.dci.intellij.dbn.object.common.DBObjectType;
 import com.dci.intellij.dbn.object.common.list.DBObjectList;
 import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.dci.intellij.dbn.object.common.loader.DBObjectTimestampLoader;
+import com.dci.intellij.dbn.object.common.loader.DBParentObjectGrouping;
 import com.dci.intellij.dbn.object.common.loader.DBSourceCodeLoader;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
 import org.jetbrains.annotations.NotNull;
@@ -129,7 +130,7 @@ public class DBPackageImpl extends DBProgramImpl implements DBPackage {
         }
     };
 
-    private static final DynamicSubcontentLoader FUNCTIONS_LOADER = new DynamicSubcontentLoader<DBPackageFunction>(true) {
+    private static final DynamicSubcontentLoader FUNCTIONS_LOADER = new DynamicSubcontentLoader<DBPackageFunction>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBPackageFunction> getAlternativeLoader() {
             return FUNCTIONS_ALTERNATIVE_LOADER;
         }
@@ -153,7 +154,7 @@ public class DBPackageImpl extends DBProgramImpl implements DBPackage {
         }
     };
 
-    private static final DynamicSubcontentLoader PROCEDURES_LOADER = new DynamicSubcontentLoader<DBPackageProcedure>(true) {
+    private static final DynamicSubcontentLoader PROCEDURES_LOADER = new DynamicSubcontentLoader<DBPackageProcedure>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBPackageProcedure> getAlternativeLoader() {
             return PROCEDURES_ALTERNATIVE_LOADER;
         }
@@ -177,7 +178,7 @@ public class DBPackageImpl extends DBProgramImpl implements DBPackage {
         }
     };
 
-    private static final DynamicSubcontentLoader TYPES_LOADER = new DynamicSubcontentLoader<DBPackageType>(true) {
+    private static final DynamicSubcontentLoader TYPES_LOADER = new DynamicSubcontentLoader<DBPackageType>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBPackageType> getAlternativeLoader() {
             return TYPES_ALTERNATIVE_LOADER;
         }
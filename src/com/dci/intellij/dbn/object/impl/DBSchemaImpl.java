@@ -17,15 +17,12 @@
 package com.dci.intellij.dbn.object.impl;
 
 import com.dci.intellij.dbn.browser.DatabaseBrowserUtils;
-import com.dci.intellij.dbn.browser.model.BrowserTreeChangeListener;
 import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.browser.ui.HtmlToolTipBuilder;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentElement;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentResultSetLoader;
-import com.dci.intellij.dbn.common.event.EventManager;
-import com.dci.intellij.dbn.common.ui.tree.TreeEventType;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.connection.ConnectionUtil;
 import com.dci.intellij.dbn.database.DatabaseCompatibilityInterface;
@@ -72,16 +69,19 @@ import com.dci.intellij.dbn.object.common.list.DBObjectNavigationList;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationListImpl;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelation;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelationListContainer;
+import com.dci.intellij.dbn.object.common.loader.DBSchemaSnapshotLoader;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatusHolder;
+import com.intellij.openapi.progress.ProgressIndicator;
+import gnu.trove.THashSet;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -103,6 +103,11 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
     boolean isPublicSchema;
     boolean isSystemSchema;
 
+    private final Object statusLock = new Object();
+    private Set<String> invalidObjectKeys;
+    private Set<String> debugObjectKeys;
+    private long statusRefreshTimestamp;
+
     public DBSchemaImpl(ConnectionHandler connectionHandler, ResultSet resultSet) throws SQLException {
         super(connectionHandler.getObjectBundle(), DBContentType.NONE, resultSet);
     }
@@ -385,95 +390,141 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         return getMethod(name, null);
     }
 
-    public synchronized void refreshObjectsStatus() {
-        final Set<BrowserTreeNode> refreshNodes = resetObjectsStatus();
-        Connection connection = null;
-        ResultSet resultSet = null;
-        try {
-            connection = getConnectionHandler().getPoolConnection();
-            resultSet = getConnectionHandler().getInterfaceProvider().getMetadataInterface().loadInvalidObjects(getName(), connection);
-            while (resultSet != null && resultSet.next()) {
-                String objectName = resultSet.getString("OBJECT_NAME");
-                DBSchemaObject schemaObject = (DBSchemaObject) getChildObjectNoLoad(objectName);
-                if (schemaObject != null && schemaObject.getStatus().has(DBObjectStatus.VALID)) {
-                    DBObjectStatusHolder objectStatus = schemaObject.getStatus();
-                    boolean statusChanged;
-
-                    if (schemaObject.getContentType().isBundle()) {
-                        String objectType = resultSet.getString("OBJECT_TYPE");
-                        statusChanged = objectType.contains("BODY") ?
-                                objectStatus.set(DBContentType.CODE_BODY, DBObjectStatus.VALID, false) :
-                                objectStatus.set(DBContentType.CODE_SPEC, DBObjectStatus.VALID, false);
-                    }
-                    else {
-                        statusChanged = objectStatus.set(DBObjectStatus.VALID, false);
-                    }
-                    if (statusChanged) {
-                        refreshNodes.add(schemaObject.getTreeParent());
-                    }
-                }
+    public void refreshObjectsStatus() {
+        Set<DBSchemaObject> changedObjects = new THashSet<DBSchemaObject>();
+        refreshObjectsStatus(changedObjects);
+        DatabaseBrowserUtils.notifyNodesChanged(getProject(), changedObjects);
+    }
+
+    /**
+     * Loads the invalid and debug objects of the schema and updates the status of the objects which changed since the previous refresh
+     * (difference to the previously loaded sets). Object lists (re)loaded since the previous refresh carry the status
+     * of their load time, hence all their objects are aligned with the loaded sets.
+     */
+    public void refreshObjectsStatus(@NotNull Set<DBSchemaObject> changedObjects) {
+        if (!hasLoadedObjects()) return;
+        synchronized (statusLock) {
+            long refreshTimestamp = System.currentTimeMillis();
+            Set<String> newInvalidObjectKeys = new THashSet<String>();
+            Set<String> newDebugObjectKeys = new THashSet<String>();
+            Connection connection = null;
+            ResultSet resultSet = null;
+            try {
+                connection = getConnectionHandler().getPoolConnection();
+                DatabaseMetadataInterface metadataInterface = getConnectionHandler().getInterfaceProvider().getMetadataInterface();
+                resultSet = metadataInterface.loadInvalidObjects(getName(), connection);
+                readObjectStatusKeys(resultSet, newInvalidObjectKeys);
+                ConnectionUtil.closeResultSet(resultSet);
+
+                resultSet = metadataInterface.loadDebugObjects(getName(), connection);
+                readObjectStatusKeys(resultSet, newDebugObjectKeys);
+            } catch (SQLException e) {
+                getLogger().error("Error loading data model. " + e.getMessage());
+                return;
+            } finally {
+                ConnectionUtil.closeResultSet(resultSet);
+                getConnectionHandler().freePoolConnection(connection);
             }
 
-            resultSet = getConnectionHandler().getInterfaceProvider().getMetadataInterface().loadDebugObjects(getName(), connection);
-            while (resultSet != null && resultSet.next()) {
-                String objectName = resultSet.getString("OBJECT_NAME");
-                DBSchemaObject schemaObject = (DBSchemaObject) getChildObjectNoLoad(objectName);
-                if (schemaObject != null && schemaObject.getStatus().has(DBObjectStatus.DEBUG)) {
-                    DBObjectStatusHolder objectStatus = schemaObject.getStatus();
-                    boolean statusChanged;
-
-                    if (schemaObject.getContentType().isBundle()) {
-                        String objectType = resultSet.getString("OBJECT_TYPE");
-                        statusChanged = objectType.contains("BODY") ?
-                                objectStatus.set(DBContentType.CODE_BODY, DBObjectStatus.DEBUG, true) :
-                                objectStatus.set(DBContentType.CODE_SPEC, DBObjectStatus.DEBUG, true);
-                    }
-                    else {
-                        statusChanged = objectStatus.set(DBObjectStatus.DEBUG, true);
-                    }
-                    if (statusChanged) {
-                        refreshNodes.add(schemaObject.getTreeParent());
-                    }
-                }
+            long alignTimestamp = invalidObjectKeys == null ? 0 : statusRefreshTimestamp;
+            ObjectStatusAligner aligner = new ObjectStatusAligner(newInvalidObjectKeys, newDebugObjectKeys, alignTimestamp, changedObjects);
+            initChildObjects().visitLists(aligner, true);
+
+            if (invalidObjectKeys != null) {
+                updateObjectsStatus(invalidObjectKeys, newInvalidObjectKeys, DBObjectStatus.VALID, false, changedObjects);
+                updateObjectsStatus(debugObjectKeys, newDebugObjectKeys, DBObjectStatus.DEBUG, true, changedObjects);
             }
 
-        } catch (SQLException e) {
-            getLogger().error("Error loading data model. " + e.getMessage());
-        } finally {
-            ConnectionUtil.closeResultSet(resultSet);
-            getConnectionHandler().freePoolConnection(connection);
+            invalidObjectKeys = newInvalidObjectKeys;
+            debugObjectKeys = newDebugObjectKeys;
+            statusRefreshTimestamp = refreshTimestamp;
+        }
+    }
+
+    /**
+     * Nothing to refresh if no object list of the schema has been loaded yet. The lists get the actual status when loaded,
+     * and are fully aligned on the first refresh following their load.
+     */
+    private boolean hasLoadedObjects() {
+        DBObjectListContainer childObjects = getChildObjects();
+        Collection<DBObjectList<DBObject>> objectLists = childObjects == null ? null : childObjects.getObjectLists();
+        if (objectLists != null) {
+            for (DBObjectList<DBObject> objectList : objectLists) {
+                if (objectList.isLoaded()) return true;
+            }
+        }
+        return false;
+    }
+
+    private static void readObjectStatusKeys(ResultSet resultSet, Set<String> objectKeys) throws SQLException {
+        while (resultSet != null && resultSet.next()) {
+            String objectName = resultSet.getString("OBJECT_NAME");
+            String objectType = resultSet.getString("OBJECT_TYPE");
+            objectKeys.add(getObjectStatusKey(objectName, objectType != null && objectType.contains("BODY")));
         }
+    }
 
-        for (BrowserTreeNode treeNode : refreshNodes) {
-            EventManager.notify(getProject(), BrowserTreeChangeListener.TOPIC).nodeChanged(treeNode, TreeEventType.NODES_CHANGED);
+    private static String getObjectStatusKey(String objectName, boolean body) {
+        return body ? objectName + "#BODY" : objectName + "#";
+    }
+
+    /**
+     * Applies the status to the objects entering the new set and reverts it for the ones leaving it.
+     */
+    private void updateObjectsStatus(Set<String> oldObjectKeys, Set<String> newObjectKeys, DBObjectStatus status, boolean memberValue, Set<DBSchemaObject> changedObjects) {
+        for (String objectKey : newObjectKeys) {
+            if (!oldObjectKeys.contains(objectKey)) {
+                updateObjectStatus(objectKey, status, memberValue, changedObjects);
+            }
+        }
+        for (String objectKey : oldObjectKeys) {
+            if (!newObjectKeys.contains(objectKey)) {
+                updateObjectStatus(objectKey, status, !memberValue, changedObjects);
+            }
         }
     }
 
-    private Set<BrowserTreeNode> resetObjectsStatus() {
-        ObjectStatusUpdater updater = new ObjectStatusUpdater();
-        initChildObjects().visitLists(updater, true);
-        return updater.getRefreshNodes();
+    private void updateObjectStatus(String objectKey, DBObjectStatus status, boolean value, Set<DBSchemaObject> changedObjects) {
+        int index = objectKey.lastIndexOf('#');
+        String objectName = objectKey.substring(0, index);
+        boolean body = index < objectKey.length() - 1;
+
+        DBObject object = getChildObjectNoLoad(objectName);
+        if (object instanceof DBSchemaObject) {
+            DBSchemaObject schemaObject = (DBSchemaObject) object;
+            DBObjectStatusHolder objectStatus = schemaObject.getStatus();
+            if (objectStatus.has(status)) {
+                boolean statusChanged = schemaObject.getContentType().isBundle() ?
+                        objectStatus.set(body ? DBContentType.CODE_BODY : DBContentType.CODE_SPEC, status, value) :
+                        objectStatus.set(status, value);
+                if (statusChanged) {
+                    changedObjects.add(schemaObject);
+                }
+            }
+        }
     }
 
-    class ObjectStatusUpdater implements DBObjectListVisitor {
-        private Set<BrowserTreeNode> refreshNodes = new HashSet<BrowserTreeNode>();
+    private class ObjectStatusAligner implements DBObjectListVisitor {
+        private Set<String> invalidObjectKeys;
+        private Set<String> debugObjectKeys;
+        private long sinceTimestamp;
+        private Set<DBSchemaObject> changedObjects;
+
+        private ObjectStatusAligner(Set<String> invalidObjectKeys, Set<String> debugObjectKeys, long sinceTimestamp, Set<DBSchemaObject> changedObjects) {
+            this.invalidObjectKeys = invalidObjectKeys;
+            this.debugObjectKeys = debugObjectKeys;
+            this.sinceTimestamp = sinceTimestamp;
+            this.changedObjects = changedObjects;
+        }
 
         public void visitObjectList(DBObjectList<DBObject> objectList) {
-            if (objectList.isLoaded() && !objectList.isDirty() && !objectList.isLoading()) {
-                List<DBObject> objects = objectList.getObjects();
-                for (DBObject object : objects) {
+            if (objectList.isLoaded() && !objectList.isDirty() && !objectList.isLoading() && objectList.getChangeTimestamp() >= sinceTimestamp) {
+                for (DBObject object : objectList.getObjects()) {
                     if (object instanceof DBSchemaObject) {
                         DBSchemaObject schemaObject = (DBSchemaObject) object;
-                        DBObjectStatusHolder objectStatus = schemaObject.getStatus();
-                        if (objectStatus.has(DBObjectStatus.VALID)) {
-                            if (objectStatus.set(DBObjectStatus.VALID, true)) {
-                                refreshNodes.add(object.getTreeParent());
-                            }
-                        }
-                        if (objectStatus.has(DBObjectStatus.DEBUG)) {
-                            if (objectStatus.set(DBObjectStatus.DEBUG, false)) {
-                                refreshNodes.add(object.getTreeParent());
-                            }
+                        if (align(schemaObject, DBObjectStatus.VALID, invalidObjectKeys, false) |
+                                align(schemaObject, DBObjectStatus.DEBUG, debugObjectKeys, true)) {
+                            changedObjects.add(schemaObject);
                         }
                     } else {
                         break;
@@ -482,9 +533,20 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
             }
         }
 
-
-        public Set<BrowserTreeNode> getRefreshNodes() {
-            return refreshNodes;
+        private boolean align(DBSchemaObject schemaObject, DBObjectStatus status, Set<String> objectKeys, boolean memberValue) {
+            DBObjectStatusHolder objectStatus = schemaObject.getStatus();
+            if (!objectStatus.has(status)) return false;
+
+            String specKey = getObjectStatusKey(schemaObject.getName(), false);
+            String bodyKey = getObjectStatusKey(schemaObject.getName(), true);
+            if (schemaObject.getContentType().isBundle()) {
+                boolean specChanged = objectStatus.set(DBContentType.CODE_SPEC, status, objectKeys.contains(specKey) == memberValue);
+                boolean bodyChanged = objectStatus.set(DBContentType.CODE_BODY, status, objectKeys.contains(bodyKey) == memberValue);
+                return specChanged || bodyChanged;
+            } else {
+                boolean member = objectKeys.contains(specKey) || objectKeys.contains(bodyKey);
+                return objectStatus.set(status, member == memberValue);
+            }
         }
     }
 
@@ -497,6 +559,13 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
     /*********************************************************
      *                     TreeElement                       *
      *********************************************************/
+    @Override
+    protected void preloadChildObjects(@NotNull ProgressIndicator progressIndicator) {
+        if (DBSchemaSnapshotLoader.isEnabled(getConnectionHandler())) {
+            new DBSchemaSnapshotLoader(this).load(progressIndicator);
+        }
+    }
+
     @NotNull
     public List<BrowserTreeNode> buildAllPossibleTreeChildren() {
         return DatabaseBrowserUtils.createList(
@@ -615,7 +684,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBTable> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadTables(schema.getName(), connection);
+            return metadataInterface.loadTables(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBTable createElement(DynamicContent<DBTable> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -628,7 +697,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBView> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadViews(schema.getName(), connection);
+            return metadataInterface.loadViews(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBView createElement(DynamicContent<DBView> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -641,7 +710,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBMaterializedView> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadMaterializedViews(schema.getName(), connection);
+            return metadataInterface.loadMaterializedViews(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBMaterializedView createElement(DynamicContent<DBMaterializedView> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -654,7 +723,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBSynonym> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadSynonyms(schema.getName(), connection);
+            return metadataInterface.loadSynonyms(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBSynonym createElement(DynamicContent<DBSynonym> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -667,7 +736,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBSequence> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadSequences(schema.getName(), connection);
+            return metadataInterface.loadSequences(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBSequence createElement(DynamicContent<DBSequence> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -680,7 +749,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBProcedure> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadProcedures(schema.getName(), connection);
+            return metadataInterface.loadProcedures(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBProcedure createElement(DynamicContent<DBProcedure> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -693,7 +762,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBFunction> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadFunctions(schema.getName(), connection);
+            return metadataInterface.loadFunctions(schema.getName(), getNameCondition(dynamicContent), connection);
         }
         public DBFunction createElement(DynamicContent<DBFunction> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
             DBSchema schema = (DBSchema) dynamicContent.getParent();
@@ -705,7 +774,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBPackage> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadPackages(schema.getName(), connection);
+            return metadataInterface.loadPackages(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBPackage createElement(DynamicContent<DBPackage> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -718,7 +787,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent<DBType> dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadTypes(schema.getName(), connection);
+            return metadataInterface.loadTypes(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBType createElement(DynamicContent<DBType> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
@@ -757,7 +826,7 @@ public class DBSchemaImpl extends DBObjectImpl implements DBSchema {
         public ResultSet createResultSet(DynamicContent dynamicContent, Connection connection) throws SQLException {
             DatabaseMetadataInterface metadataInterface = dynamicContent.getConnectionHandler().getInterfaceProvider().getMetadataInterface();
             DBSchema schema = (DBSchema) dynamicContent.getParent();
-            return metadataInterface.loadDatabaseLinks(schema.getName(), connection);
+            return metadataInterface.loadDatabaseLinks(schema.getName(), getNameCondition(dynamicContent), connection);
         }
 
         public DBDatabaseLink createElement(DynamicContent<DBDatabaseLink> dynamicContent, ResultSet resultSet, LoaderCache loaderCache) throws SQLException {
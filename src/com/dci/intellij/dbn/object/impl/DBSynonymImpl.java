@@ -51,8 +51,8 @@ public class DBSynonymImpl extends DBSchemaObjectImpl implements DBSynonym {
     @Override
     protected void initObject(ResultSet resultSet) throws SQLException {
         name = resultSet.getString("SYNONYM_NAME");
-        objectOwner = resultSet.getString("OBJECT_OWNER");
-        objectName = resultSet.getString("OBJECT_NAME");
+        objectOwner = internName(resultSet.getString("OBJECT_OWNER"));
+        objectName = internName(resultSet.getString("OBJECT_NAME"));
     }
 
     public void initStatus(ResultSet resultSet) throws SQLException {
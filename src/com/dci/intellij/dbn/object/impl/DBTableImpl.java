@@ -21,6 +21,7 @@ import com.dci.intellij.dbn.browser.model.BrowserTreeNode;
 import com.dci.intellij.dbn.common.Icons;
 import com.dci.intellij.dbn.common.content.DynamicContent;
 import com.dci.intellij.dbn.common.content.DynamicContentElement;
+import com.dci.intellij.dbn.common.content.DynamicContentGrouping;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicContentResultSetLoader;
 import com.dci.intellij.dbn.common.content.loader.DynamicSubcontentLoader;
@@ -38,6 +39,7 @@ import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationList;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationListImpl;
 import com.dci.intellij.dbn.object.common.list.DBObjectRelationListContainer;
+import com.dci.intellij.dbn.object.common.loader.DBParentObjectGrouping;
 import com.dci.intellij.dbn.object.properties.PresentableProperty;
 import com.dci.intellij.dbn.object.properties.SimplePresentableProperty;
 import org.jetbrains.annotations.NotNull;
@@ -187,7 +189,13 @@ public class DBTableImpl extends DBDatasetImpl implements DBTable {
         }
     };
 
-    private static final DynamicSubcontentLoader INDEX_COLUMN_RELATION_LOADER = new DynamicSubcontentLoader(true) {
+    private static final DynamicContentGrouping<DBIndexColumnRelation> INDEX_COLUMN_RELATION_GROUPING = new DynamicContentGrouping<DBIndexColumnRelation>() {
+        public Object getGroupKey(DBIndexColumnRelation indexColumnRelation) {
+            return indexColumnRelation.getColumn().getDataset();
+        }
+    };
+
+    private static final DynamicSubcontentLoader INDEX_COLUMN_RELATION_LOADER = new DynamicSubcontentLoader(true, INDEX_COLUMN_RELATION_GROUPING) {
         public DynamicContentLoader getAlternativeLoader() {
             return INDEX_COLUMN_RELATION_ALTERNATIVE_LOADER;
         }
@@ -225,7 +233,7 @@ public class DBTableImpl extends DBDatasetImpl implements DBTable {
      *                         Loaders                       *
      *********************************************************/
 
-    private static final DynamicSubcontentLoader NESTED_TABLES_LOADER = new DynamicSubcontentLoader<DBNestedTable>(true) {
+    private static final DynamicSubcontentLoader NESTED_TABLES_LOADER = new DynamicSubcontentLoader<DBNestedTable>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBNestedTable nestedTable, DynamicContent dynamicContent) {
             DBTable table = (DBTable) dynamicContent.getParent();
             return nestedTable.getTable().equals(table);
@@ -249,7 +257,7 @@ public class DBTableImpl extends DBDatasetImpl implements DBTable {
         }
     };
 
-    private static final DynamicSubcontentLoader INDEXES_LOADER = new DynamicSubcontentLoader<DBIndex>(true) {
+    private static final DynamicSubcontentLoader INDEXES_LOADER = new DynamicSubcontentLoader<DBIndex>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBIndex index, DynamicContent dynamicContent) {
             DBTable table = (DBTable) dynamicContent.getParent();
             return index.getTable().equals(table);
@@ -43,6 +43,7 @@ import com.dci.intellij.dbn.object.common.list.DBObjectListContainer;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationList;
 import com.dci.intellij.dbn.object.common.list.DBObjectNavigationListImpl;
 import com.dci.intellij.dbn.object.common.loader.DBObjectTimestampLoader;
+import com.dci.intellij.dbn.object.common.loader.DBParentObjectGrouping;
 import com.dci.intellij.dbn.object.common.loader.DBSourceCodeLoader;
 import com.dci.intellij.dbn.object.common.status.DBObjectStatus;
 import org.jetbrains.annotations.NotNull;
@@ -77,8 +78,8 @@ public class DBTypeImpl extends DBProgramImpl implements DBType {
     @Override
     protected void initObject(ResultSet resultSet) throws SQLException {
         name = resultSet.getString("TYPE_NAME");
-        superTypeOwner = resultSet.getString("SUPERTYPE_OWNER");
-        superTypeName = resultSet.getString("SUPERTYPE_NAME");
+        superTypeOwner = internName(resultSet.getString("SUPERTYPE_OWNER"));
+        superTypeName = internName(resultSet.getString("SUPERTYPE_NAME"));
 
         String typecode = resultSet.getString("TYPECODE");
         isCollection = "COLLECTION".equals(typecode);
@@ -179,7 +180,7 @@ public class DBTypeImpl extends DBProgramImpl implements DBType {
         }
     };
 
-    private static final DynamicSubcontentLoader ATTRIBUTES_LOADER = new DynamicSubcontentLoader<DBTypeAttribute>(true) {
+    private static final DynamicSubcontentLoader ATTRIBUTES_LOADER = new DynamicSubcontentLoader<DBTypeAttribute>(true, DBParentObjectGrouping.INSTANCE) {
         public boolean match(DBTypeAttribute typeAttribute, DynamicContent dynamicContent) {
             DBType type = (DBType) dynamicContent.getParent();
             return typeAttribute.getType().equals(type);
@@ -203,7 +204,7 @@ public class DBTypeImpl extends DBProgramImpl implements DBType {
         }
     };
 
-    private static final DynamicSubcontentLoader FUNCTIONS_LOADER = new DynamicSubcontentLoader<DBTypeFunction>(true) {
+    private static final DynamicSubcontentLoader FUNCTIONS_LOADER = new DynamicSubcontentLoader<DBTypeFunction>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBTypeFunction> getAlternativeLoader() {
             return FUNCTIONS_ALTERNATIVE_LOADER;
         }
@@ -227,7 +228,7 @@ public class DBTypeImpl extends DBProgramImpl implements DBType {
         }
     };
 
-    private static final DynamicSubcontentLoader PROCEDURES_LOADER = new DynamicSubcontentLoader<DBTypeProcedure>(true) {
+    private static final DynamicSubcontentLoader PROCEDURES_LOADER = new DynamicSubcontentLoader<DBTypeProcedure>(true, DBParentObjectGrouping.INSTANCE) {
         public DynamicContentLoader<DBTypeProcedure> getAlternativeLoader() {
             return PROCEDURES_ALTERNATIVE_LOADER;
         }
@@ -19,11 +19,14 @@ package com.dci.intellij.dbn.options.general.ui;
 import com.dci.intellij.dbn.DatabaseNavigator;
 import com.dci.intellij.dbn.common.Icons;
 import com.dci.intellij.dbn.common.options.ui.CompositeConfigurationEditorForm;
+import com.dci.intellij.dbn.common.options.ui.ConfigurationEditorUtil;
 import com.dci.intellij.dbn.options.general.GeneralProjectSettings;
+import com.intellij.openapi.options.ConfigurationException;
 
 import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 import java.awt.BorderLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -34,6 +37,7 @@ public class GeneralProjectSettingsForm extends CompositeConfigurationEditorForm
     private JCheckBox enableDebugCheckBox;
     private JPanel localeSettingsPanel;
     private JPanel environmentSettingsPanel;
+    private JTextField slowQueryThresholdTextField;
 
     public GeneralProjectSettingsForm(GeneralProjectSettings generalSettings) {
         super(generalSettings);
@@ -42,6 +46,7 @@ public class GeneralProjectSettingsForm extends CompositeConfigurationEditorForm
         resetChanges();
 
         registerComponent(enableDebugCheckBox);
+        registerComponent(slowQueryThresholdTextField);
 
         localeSettingsPanel.add(generalSettings.getRegionalSettings().createComponent(), BorderLayout.CENTER);
         environmentSettingsPanel.add(generalSettings.getEnvironmentSettings().createComponent(), BorderLayout.CENTER);
@@ -60,12 +65,15 @@ public class GeneralProjectSettingsForm extends CompositeConfigurationEditorForm
         return mainPanel;
     }
 
-    public void applyChanges() {
+    public void applyChanges() throws ConfigurationException {
         DatabaseNavigator.getInstance().setDebugModeEnabled(enableDebugCheckBox.isSelected());
+        int slowQueryThreshold = ConfigurationEditorUtil.validateIntegerInputValue(slowQueryThresholdTextField, "Slow Query Threshold", 0, 3600000, "Use 0 to disable the slow query log");
+        DatabaseNavigator.getInstance().setSlowQueryThreshold(slowQueryThreshold);
     }
 
     public void resetChanges() {
         enableDebugCheckBox.setSelected(DatabaseNavigator.getInstance().isDebugModeEnabled());
+        slowQueryThresholdTextField.setText(Integer.toString(DatabaseNavigator.getInstance().getSlowQueryThreshold()));
         debugInfoLabel.setVisible(enableDebugCheckBox.isSelected());
     }
 }
@@ -134,6 +134,50 @@ public class DatabaseEditableObjectFile extends DatabaseObjectFile<DBSchemaObjec
         return contentFiles;
     }
 
+    /**
+     * Length of the source code held by the content files and their documents (0 if not loaded or released).
+     */
+    public synchronized long getRetainedContentLength() {
+        long length = 0;
+        Document document = getUserData(FileDocumentManagerImpl.HARD_REF_TO_DOCUMENT_KEY);
+        if (document != null) {
+            length += document.getTextLength();
+        }
+        if (contentFiles != null) {
+            for (DatabaseContentFile contentFile : contentFiles) {
+                if (contentFile instanceof SourceCodeFile) {
+                    SourceCodeFile sourceCodeFile = (SourceCodeFile) contentFile;
+                    if (sourceCodeFile.getContent() != null) {
+                        length += sourceCodeFile.getLength();
+                    }
+                    Document contentDocument = sourceCodeFile.getUserData(FileDocumentManagerImpl.HARD_REF_TO_DOCUMENT_KEY);
+                    if (contentDocument != null && contentDocument != document) {
+                        length += contentDocument.getTextLength();
+                    }
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Disposes the source code content files of the (closed) file. The file itself stays valid,
+     * the content files are created again, and the source code loaded from the source cache or database, when needed.
+     * Content files with changes are not released.
+     * @return true if content was released
+     */
+    public synchronized boolean releaseContent() {
+        if (contentFiles == null || getMainContentType() == null) return false;
+        for (DatabaseContentFile contentFile : contentFiles) {
+            if (contentFile != null && contentFile.isModified()) return false;
+        }
+        DisposeUtil.disposeCollection(contentFiles);
+        contentFiles = null;
+        // the document of the main content is also held by this file (see SourceCodeFile.putUserData)
+        putUserData(FileDocumentManagerImpl.HARD_REF_TO_DOCUMENT_KEY, null);
+        return true;
+    }
+
     @Nullable
     public List<VirtualFile> getBoundDDLFiles() {
         DBSchemaObject object = getObject();
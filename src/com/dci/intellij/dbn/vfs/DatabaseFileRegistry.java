@@ -0,0 +1,167 @@
+/*
+ * Copyright 2012-2014 Dan Cioca
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.dci.intellij.dbn.vfs;
+
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.TimeUtil;
+import com.dci.intellij.dbn.common.options.setting.SettingsUtil;
+import com.dci.intellij.dbn.object.identifier.DBObjectIdentifier;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the database files, keeping one file instance per object for the lifetime of its project.
+ * Files are registered and looked up from background tasks and the dispatch thread, hence the concurrent maps.
+ * The file instances of closed editors are kept (their identity matters to the editor and document managers),
+ * but the source code they hold is released once they were closed for longer than {@link #MAX_IDLE_TIME},
+ * or, least recently closed first, when the source code retained by the closed files exceeds {@link #MAX_RETAINED_CONTENT}.
+ */
+public class DatabaseFileRegistry {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
+    public static final long MAX_RETAINED_CONTENT = 4 * 1024 * 1024; // characters
+    public static final long MAX_IDLE_TIME = 10 * TimeUtil.ONE_MINUTE;
+
+    private final ConcurrentMap<DBObjectIdentifier, DatabaseEditableObjectFile> files = new ConcurrentHashMap<DBObjectIdentifier, DatabaseEditableObjectFile>();
+    private final ConcurrentMap<DBObjectIdentifier, DatabaseEditableObjectFile> openFiles = new ConcurrentHashMap<DBObjectIdentifier, DatabaseEditableObjectFile>();
+    private final ConcurrentMap<DBObjectIdentifier, Long> closeTimestamps = new ConcurrentHashMap<DBObjectIdentifier, Long>();
+
+    public DatabaseEditableObjectFile get(DBObjectIdentifier identifier) {
+        return files.get(identifier);
+    }
+
+    /**
+     * Registers the file unless another one was registered meanwhile for the same object.
+     * @return the registered file
+     */
+    public DatabaseEditableObjectFile register(DBObjectIdentifier identifier, DatabaseEditableObjectFile file) {
+        DatabaseEditableObjectFile registeredFile = files.putIfAbsent(identifier, file);
+        if (registeredFile == null) {
+            closeTimestamps.put(identifier, System.currentTimeMillis());
+            return file;
+        }
+        file.dispose();
+        return registeredFile;
+    }
+
+    public boolean isOpened(DBObjectIdentifier identifier) {
+        return openFiles.containsKey(identifier);
+    }
+
+    public List<DatabaseEditableObjectFile> getOpenFiles() {
+        return new ArrayList<DatabaseEditableObjectFile>(openFiles.values());
+    }
+
+    public void fileOpened(DatabaseEditableObjectFile file) {
+        DBObjectIdentifier identifier = file.getObjectIdentifier();
+        openFiles.put(identifier, file);
+        closeTimestamps.remove(identifier);
+    }
+
+    public void fileClosed(DatabaseEditableObjectFile file) {
+        DBObjectIdentifier identifier = file.getObjectIdentifier();
+        openFiles.remove(identifier);
+        if (files.containsKey(identifier)) {
+            closeTimestamps.put(identifier, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Removes and disposes the files of the given project.
+     */
+    public void removeFiles(Project project) {
+        Iterator<Map.Entry<DBObjectIdentifier, DatabaseEditableObjectFile>> entries = files.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<DBObjectIdentifier, DatabaseEditableObjectFile> entry = entries.next();
+            DatabaseEditableObjectFile file = entry.getValue();
+            if (file.getProject() == project) {
+                entries.remove();
+                openFiles.remove(entry.getKey());
+                closeTimestamps.remove(entry.getKey());
+                file.dispose();
+            }
+        }
+    }
+
+    /**
+     * Releases the source code of the closed files according to the age and memory policy.
+     * To be called on the dispatch thread, so that no editor gets opened for a file while releasing its content.
+     */
+    public void releaseContent() {
+        long timestamp = System.currentTimeMillis();
+        List<Map.Entry<DBObjectIdentifier, Long>> closedFiles = new ArrayList<Map.Entry<DBObjectIdentifier, Long>>(closeTimestamps.entrySet());
+        Collections.sort(closedFiles, CLOSE_TIMESTAMP_COMPARATOR);
+
+        long retainedContent = 0;
+        for (Map.Entry<DBObjectIdentifier, Long> closedFile : closedFiles) {
+            DatabaseEditableObjectFile file = files.get(closedFile.getKey());
+            if (file != null) retainedContent += file.getRetainedContentLength();
+        }
+
+        int releasedFiles = 0;
+        long releasedContent = 0;
+        for (Map.Entry<DBObjectIdentifier, Long> closedFile : closedFiles) {
+            boolean expired = timestamp - closedFile.getValue() > MAX_IDLE_TIME;
+            if (!expired && retainedContent <= MAX_RETAINED_CONTENT) break;
+
+            DBObjectIdentifier identifier = closedFile.getKey();
+            DatabaseEditableObjectFile file = files.get(identifier);
+            if (file != null && !isOpened(identifier)) {
+                long contentLength = file.getRetainedContentLength();
+                if (file.releaseContent()) {
+                    retainedContent -= contentLength;
+                    releasedContent += contentLength;
+                    releasedFiles++;
+                }
+            }
+        }
+
+        if (SettingsUtil.isDebugEnabled && releasedFiles > 0) {
+            LOGGER.info("[DBN-INFO] Released source code of " + releasedFiles + " closed database files (" + releasedContent + " characters) - " + this);
+        }
+    }
+
+    /**
+     * Length of the source code held by the registered files (open and closed).
+     */
+    public long getRetainedContentLength() {
+        long length = 0;
+        for (DatabaseEditableObjectFile file : files.values()) {
+            length += file.getRetainedContentLength();
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return files.size() + " files (" + openFiles.size() + " open), " + getRetainedContentLength() + " characters of source code retained";
+    }
+
+    private static final Comparator<Map.Entry<DBObjectIdentifier, Long>> CLOSE_TIMESTAMP_COMPARATOR = new Comparator<Map.Entry<DBObjectIdentifier, Long>>() {
+        public int compare(Map.Entry<DBObjectIdentifier, Long> entry1, Map.Entry<DBObjectIdentifier, Long> entry2) {
+            return entry1.getValue().compareTo(entry2.getValue());
+        }
+    };
+}
@@ -17,6 +17,7 @@
 package com.dci.intellij.dbn.vfs;
 
 import com.dci.intellij.dbn.browser.DatabaseBrowserManager;
+import com.dci.intellij.dbn.common.TimeUtil;
 import com.dci.intellij.dbn.common.event.EventManager;
 import com.dci.intellij.dbn.common.thread.BackgroundTask;
 import com.dci.intellij.dbn.common.thread.ReadActionRunner;
@@ -52,18 +53,17 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.Timer;
+import java.util.TimerTask;
 
 public class DatabaseFileSystem extends VirtualFileSystem implements ApplicationComponent, FileEditorManagerListener{
     public static final String PROTOCOL = "db";
     public static final String PROTOCOL_PREFIX = PROTOCOL + "://";
 
     private static final String ERR = "File manipulation not allowed within database file system!";
-    private Map<DBObjectIdentifier, DatabaseEditableObjectFile> openFiles = new HashMap<DBObjectIdentifier, DatabaseEditableObjectFile>();
-    private Map<DBObjectIdentifier, DatabaseEditableObjectFile> filesCache = new HashMap<DBObjectIdentifier, DatabaseEditableObjectFile>();
+    private DatabaseFileRegistry fileRegistry = new DatabaseFileRegistry();
+    private Timer contentReleaser;
 
     public static DatabaseFileSystem getInstance() {
         return ApplicationManager.getApplication().getComponent(DatabaseFileSystem.class);
@@ -122,17 +122,19 @@ public class DatabaseFileSystem extends VirtualFileSystem implements Application
     @NotNull
     public DatabaseEditableObjectFile findDatabaseFile(DBSchemaObject object) {
         DBObjectIdentifier identifier = object.getIdentifier();
-        DatabaseEditableObjectFile databaseFile = filesCache.get(identifier);
+        DatabaseEditableObjectFile databaseFile = fileRegistry.get(identifier);
         if (databaseFile == null ){
-            databaseFile = createDatabaseFile(object);
-
-            filesCache.put(identifier, databaseFile);
+            databaseFile = fileRegistry.register(identifier, createDatabaseFile(object));
         }
         return databaseFile;
     }
 
     public boolean isFileOpened(DBSchemaObject object) {
-        return openFiles.containsKey(object.getIdentifier());
+        return fileRegistry.isOpened(object.getIdentifier());
+    }
+
+    public DatabaseFileRegistry getFileRegistry() {
+        return fileRegistry;
     }
 
     public static String createPath(DBObject object, DBContentType contentType) {
@@ -281,10 +283,24 @@ public class DatabaseFileSystem extends VirtualFileSystem implements Application
 
     public void initComponent() {
         EventManager.subscribe(ProjectLifecycleListener.TOPIC, projectLifecycleListener);
+        contentReleaser = new Timer("Database file content releaser", true);
+        contentReleaser.schedule(new ReleaseContentTask(), TimeUtil.ONE_MINUTE, TimeUtil.ONE_MINUTE);
     }
 
     public void disposeComponent() {
         EventManager.unsubscribe(projectLifecycleListener);
+        contentReleaser.cancel();
+        contentReleaser.purge();
+    }
+
+    private class ReleaseContentTask extends TimerTask {
+        public void run() {
+            new SimpleLaterInvocator() {
+                public void run() {
+                    fileRegistry.releaseContent();
+                }
+            }.start();
+        }
     }
 
     /*********************************************************
@@ -376,14 +392,14 @@ public class DatabaseFileSystem extends VirtualFileSystem implements Application
     public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
         if (file instanceof DatabaseEditableObjectFile) {
             DatabaseEditableObjectFile databaseFile = (DatabaseEditableObjectFile) file;
-            openFiles.put(databaseFile.getObjectIdentifier(), databaseFile);
+            fileRegistry.fileOpened(databaseFile);
         }
     }
 
     public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
         if (file instanceof DatabaseEditableObjectFile) {
             DatabaseEditableObjectFile databaseFile = (DatabaseEditableObjectFile) file;
-            openFiles.remove(databaseFile.getObjectIdentifier());
+            fileRegistry.fileClosed(databaseFile);
         }
     }
 
@@ -397,15 +413,7 @@ public class DatabaseFileSystem extends VirtualFileSystem implements Application
     private ProjectLifecycleListener projectLifecycleListener = new ProjectLifecycleListener.Adapter() {
         @Override
         public void afterProjectClosed(@NotNull Project project) {
-            Iterator<DBObjectIdentifier> identifiers = filesCache.keySet().iterator();
-            while (identifiers.hasNext()) {
-                DBObjectIdentifier identifier = identifiers.next();
-                DatabaseEditableObjectFile file = filesCache.get(identifier);
-                if (file.getProject() == project) {
-                    identifiers.remove();
-                    file.dispose();
-                }
-            }
+            fileRegistry.removeFiles(project);
         }
     };
 }
@@ -20,15 +20,20 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.Collections;
 
 import org.jetbrains.annotations.NotNull;
 import com.dci.intellij.dbn.common.DevNullStreams;
+import com.dci.intellij.dbn.common.LoggerFactory;
+import com.dci.intellij.dbn.common.thread.BackgroundTask;
+import com.dci.intellij.dbn.common.thread.WriteActionRunner;
 import com.dci.intellij.dbn.common.util.DocumentUtil;
 import com.dci.intellij.dbn.common.util.MessageUtil;
 import com.dci.intellij.dbn.common.util.StringUtil;
 import com.dci.intellij.dbn.connection.ConnectionHandler;
 import com.dci.intellij.dbn.database.DatabaseDDLInterface;
 import com.dci.intellij.dbn.editor.DBContentType;
+import com.dci.intellij.dbn.editor.code.SourceCodeCache;
 import com.dci.intellij.dbn.language.common.DBLanguageFile;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguage;
 import com.dci.intellij.dbn.language.common.SqlLikeLanguageVersion;
@@ -37,16 +42,20 @@ import com.dci.intellij.dbn.object.common.DBSchemaObject;
 import com.intellij.lang.LanguageParserDefinitions;
 import com.intellij.lang.LanguageVersion;
 import com.intellij.lang.ParserDefinition;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.event.DocumentEvent;
 import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.impl.FileDocumentManagerImpl;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.impl.PsiDocumentManagerImpl;
 
 public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile, DocumentListener {
+    private static final Logger LOGGER = LoggerFactory.createLogger();
     private static final Key<VirtualFile> FILE_KEY = Key.create("FILE_KEY");
 
     private String originalContent;
@@ -55,22 +64,94 @@ public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile,
     private Timestamp changeTimestamp;
     public int documentHashCode;
     private int hashCode;
+    private volatile boolean loading;
+    private Timestamp notifiedChangeTimestamp;
+    private boolean disposed;
 
+    /**
+     * The source code is not loaded in the constructor. If the source cache holds a version of the object,
+     * it is shown right away, otherwise the file starts empty (and its editors read-only) until the source is loaded.
+     */
     public SourceCodeFile(final DatabaseEditableObjectFile databaseFile, DBContentType contentType) {
         super(databaseFile, contentType);
         DBSchemaObject object = getObject();
         hashCode = (object.getQualifiedNameWithType() + contentType.getDescription()).hashCode();
-        updateChangeTimestamp();
         setCharset(databaseFile.getConnectionHandler().getSettings().getDetailSettings().getCharset());
-        try {
-            String content = object.loadCodeFromDatabase(contentType);
-            this.content = StringUtil.removeCharacter(content, '\r');
-        } catch (SQLException e) {
+
+        SourceCodeCache.Entry cacheEntry = SourceCodeCache.load(object, contentType);
+        if (cacheEntry == null) {
             content = "";
-            MessageUtil.showErrorDialog(
-                    "Could not load sourcecode for " +
-                            databaseFile.getObject().getQualifiedNameWithType() + " from database.", e);
+            loading = true;
+        } else {
+            content = cacheEntry.getContent();
+            changeTimestamp = cacheEntry.getChangeTimestamp();
         }
+        loadFromDatabase();
+    }
+
+    /**
+     * Loads the change timestamp of the object in background, and the source code if it is not loaded yet
+     * or if the cached version is outdated. The documents of the open editors are updated when done.
+     */
+    private void loadFromDatabase() {
+        final DBSchemaObject object = getObject();
+        new BackgroundTask(getProject(), "Loading source code of " + object.getQualifiedNameWithType(), true) {
+            protected void execute(@NotNull ProgressIndicator progressIndicator) {
+                try {
+                    Timestamp timestamp = object.loadChangeTimestamp(contentType);
+                    Timestamp cachedTimestamp = changeTimestamp;
+                    if (!loading && timestamp != null && cachedTimestamp != null && timestamp.getTime() == cachedTimestamp.getTime()) {
+                        // cached version is up to date
+                        return;
+                    }
+
+                    String content = StringUtil.removeCharacter(object.loadCodeFromDatabase(contentType), '\r');
+                    SourceCodeCache.store(object, contentType, timestamp, content);
+                    applyContent(content, timestamp);
+                } catch (SQLException e) {
+                    if (loading) {
+                        applyContent("", null);
+                        MessageUtil.showErrorDialog(
+                                "Could not load sourcecode for " +
+                                        object.getQualifiedNameWithType() + " from database.", e);
+                    }
+                }
+            }
+        }.start();
+    }
+
+    private void applyContent(final String content, final Timestamp timestamp) {
+        new WriteActionRunner() {
+            public void run() {
+                // keep the changes done meanwhile on the cached version (the outdated timestamp makes saving prompt for merge)
+                if (disposed || (!loading && isModified())) return;
+
+                SourceCodeFile.this.content = content;
+                originalContent = null;
+                lastSavedContent = null;
+                if (timestamp != null) {
+                    changeTimestamp = timestamp;
+                }
+                Document document = FileDocumentManager.getInstance().getCachedDocument(SourceCodeFile.this);
+                if (document != null) {
+                    document.setReadOnly(false);
+                    document.setText(content);
+                }
+                if (!loading) {
+                    // the database version replaced the one shown so far (as for reloadFromDatabase())
+                    getDatabaseFile().updateDDLFiles(getContentType());
+                }
+                loading = false;
+                setModified(false);
+            }
+        }.start();
+    }
+
+    /**
+     * True while the source code is not available yet (there was no cached version of it).
+     */
+    public boolean isLoading() {
+        return loading;
     }
 
     public PsiFile initializePsiFile(DatabaseFileViewProvider fileViewProvider, SqlLikeLanguage language) {
@@ -112,15 +193,45 @@ public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile,
 
     public void updateChangeTimestamp() {
         try {
-            Timestamp timestamp = getObject().loadChangeTimestamp(getContentType());
-            if (timestamp != null) {
-                changeTimestamp = timestamp;
-            }
+            getConnectionHandler().getSourceCodeChangeChecker().updateChangeTimestamps(Collections.singletonList(this));
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    public void setChangeTimestamp(Timestamp changeTimestamp) {
+        this.changeTimestamp = changeTimestamp;
+    }
+
+    /**
+     * Called when the object was changed in the database by a third party. Unmodified source code is reloaded,
+     * for modified source code the user is informed (once per change) that the changes will have to be merged on save.
+     */
+    public void changeDetected(final Timestamp timestamp) {
+        if (disposed || loading) return;
+        final DBSchemaObject object = getObject();
+        if (isModified()) {
+            if (notifiedChangeTimestamp == null || timestamp.after(notifiedChangeTimestamp)) {
+                notifiedChangeTimestamp = timestamp;
+                MessageUtil.showInfoMessage(
+                        "The " + object.getQualifiedNameWithType() + " has been changed by another user. \n" +
+                        "You will be prompted to merge the changes when saving.", "Source code changed");
+            }
+        } else {
+            new BackgroundTask(getProject(), "Reloading source code of " + object.getQualifiedNameWithType(), true) {
+                protected void execute(@NotNull ProgressIndicator progressIndicator) {
+                    try {
+                        String content = StringUtil.removeCharacter(object.loadCodeFromDatabase(contentType), '\r');
+                        SourceCodeCache.store(object, contentType, timestamp, content);
+                        applyContent(content, timestamp);
+                    } catch (SQLException e) {
+                        LOGGER.warn("Error reloading source code of " + object.getQualifiedNameWithType() + ": " + e.getMessage());
+                    }
+                }
+            }.start();
+        }
+    }
+
     public Timestamp getChangeTimestamp() {
         return changeTimestamp;
     }
@@ -150,6 +261,7 @@ public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile,
 
         String content = getObject().loadCodeFromDatabase(contentType);
         this.content = StringUtil.removeCharacter(content, '\r');
+        SourceCodeCache.store(getObject(), contentType, changeTimestamp, this.content);
 
         getDatabaseFile().updateDDLFiles(getContentType());
         setModified(false);
@@ -159,6 +271,7 @@ public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile,
         DBSchemaObject object = getObject();
         object.executeUpdateDDL(getContentType(), getLastSavedContent(), content);
         updateChangeTimestamp();
+        SourceCodeCache.store(object, getContentType(), changeTimestamp, content);
         getDatabaseFile().updateDDLFiles(getContentType());
         setModified(false);
         lastSavedContent = content;
@@ -233,6 +346,7 @@ public class SourceCodeFile extends DatabaseContentFile implements DatabaseFile,
 
     @Override
     public void dispose() {
+        disposed = true;
         originalContent = null;
         lastSavedContent = null;
         content = null;